@@ -0,0 +1,98 @@
+package com.assessment.ClientManagementSystem;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic client fixtures shared by the benchmarks.
+ */
+public final class BenchmarkClients {
+
+  private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1950, 1, 1);
+  private static final DateTimeFormatter BIRTH_DATE = DateTimeFormatter.ofPattern("yyMMdd");
+
+  private BenchmarkClients() {
+  }
+
+  public static Client client(final int i) {
+    var client = new Client();
+    client.setClientId(i);
+    client.setFirstName("Name" + i);
+    client.setLastName("Surname" + i);
+    client.setIdNumber(idNumber(i));
+    client.setMobileNumber(mobileNumber(i));
+    client.setPhysicalAddress(i + " Main Road, Cape Town");
+    return client;
+  }
+
+  public static List<Client> clients(final int count) {
+    var clients = new ArrayList<Client>(count);
+    for (int i = 1; i <= count; i++) {
+      clients.add(client(i));
+    }
+    return clients;
+  }
+
+  public static List<ClientModel> models(final int count) {
+    var models = new ArrayList<ClientModel>(count);
+    for (int i = 1; i <= count; i++) {
+      models.add(new ClientModel(client(i)));
+    }
+    return models;
+  }
+
+  public static List<ClientSummary> summaries(final int count) {
+    var summaries = new ArrayList<ClientSummary>(count);
+    for (int i = 1; i <= count; i++) {
+      var client = client(i);
+      summaries.add(new ClientSummary(client.getClientId(), client.getFirstName(), client.getLastName(),
+          client.getIdNumber(), client.getMobileNumber(), client.getPhysicalAddress()));
+    }
+    return summaries;
+  }
+
+  public static ClientCreateRequest request() {
+    var request = new ClientCreateRequest();
+    request.setFirstName("John");
+    request.setLastName("Snow");
+    request.setIdNumber("8001015009087");
+    request.setMobileNumber("0821234567");
+    request.setPhysicalAddress("1 Main Road, Cape Town");
+    return request;
+  }
+
+  public static String idNumber(final int i) {
+    return String.format("%013d", i);
+  }
+
+  /**
+   * A South African ID number that passes validation, unique for every {@code i}: ten thousand sequence numbers
+   * per birth date, starting at 1 January 1950.
+   */
+  public static String validIdNumber(final int i) {
+    var prefix = FIRST_BIRTH_DATE.plusDays(i / 10_000).format(BIRTH_DATE) + String.format("%04d08", i % 10_000);
+    var sum = 0;
+    for (int position = 0; position < prefix.length(); position++) {
+      var d = prefix.charAt(prefix.length() - 1 - position) - '0';
+      if ((position & 1) == 0) {
+        d *= 2;
+        if (d > 9) {
+          d -= 9;
+        }
+      }
+      sum += d;
+    }
+    return prefix + (10 - sum % 10) % 10;
+  }
+
+  public static String mobileNumber(final int i) {
+    return String.format("07%08d", i);
+  }
+}
@@ -0,0 +1,199 @@
+package com.assessment.ClientManagementSystem;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Time from launching the application's JVM until it answers its first list request, for the default
+ * configuration, the {@code fast-start} profile, and the {@code fast-start} profile with an AppCDS archive from a
+ * training run. The {@code rssMb} counter reports the resident set size of the application at that point; it is
+ * read from {@code /proc} and left at zero on other platforms.
+ * <p>
+ * Every measurement launches a fresh JVM on the benchmark's own classpath, so the benchmark process itself is
+ * never measured. AppCDS only archives classes loaded from jars, so class directories on that classpath are
+ * packed into temporary jars first, for every mode alike.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+  private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+  @Param({"default", "fast-start", "fast-start-cds"})
+  private String mode;
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofMillis(200))
+      .build();
+  private Path workDirectory;
+  private String classpath;
+  private Path archive;
+  private Process application;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, InterruptedException {
+    workDirectory = Files.createTempDirectory("clients-startup");
+    classpath = jarredClasspath(workDirectory);
+    if (!"fast-start-cds".equals(mode)) {
+      return;
+    }
+    archive = workDirectory.resolve("clients.jsa");
+    var training = launch(List.of("-XX:ArchiveClassesAtExit=" + archive),
+        List.of("--server.port=0", "--client.startup.training-run=true"));
+    if (!training.waitFor(STARTUP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS) || !Files.exists(archive)) {
+      training.destroyForcibly();
+      throw new IllegalStateException("The training run did not write " + archive);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteWorkDirectory() throws IOException {
+    try (var paths = Files.walk(workDirectory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+    archive = null;
+  }
+
+  @Benchmark
+  public int firstRequest(final Footprint footprint) throws IOException, InterruptedException {
+    var port = freePort();
+    var jvmArgs = archive == null ? List.<String>of() : List.of("-XX:SharedArchiveFile=" + archive);
+    application = launch(jvmArgs, List.of("--server.port=" + port));
+
+    var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/clients?size=1")).GET().build();
+    var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      try {
+        var status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+          throw new IllegalStateException("The first request was answered with " + status);
+        }
+        footprint.rssMb = residentSetMb(application.pid());
+        return status;
+      } catch (ConnectException e) {
+        if (!application.isAlive()) {
+          throw new IllegalStateException("The application exited with " + application.exitValue());
+        }
+        Thread.sleep(5);
+      }
+    }
+    throw new IllegalStateException("The application did not answer within " + STARTUP_TIMEOUT);
+  }
+
+  @TearDown(Level.Invocation)
+  public void stopApplication() throws InterruptedException {
+    if (application != null) {
+      application.destroy();
+      if (!application.waitFor(30, TimeUnit.SECONDS)) {
+        application.destroyForcibly().waitFor();
+      }
+      application = null;
+    }
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public double rssMb;
+  }
+
+  private Process launch(final List<String> jvmArgs, final List<String> applicationArgs) throws IOException {
+    var command = new ArrayList<String>();
+    command.add(ProcessHandle.current().info().command().orElse("java"));
+    command.addAll(jvmArgs);
+    command.add("-cp");
+    command.add(classpath);
+    command.add(ClientManagementSystemApplication.class.getName());
+    if (!"default".equals(mode)) {
+      command.add("--spring.profiles.active=fast-start");
+    }
+    command.add("--logging.level.root=WARN");
+    command.addAll(applicationArgs);
+    return new ProcessBuilder(command)
+        .redirectErrorStream(true)
+        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+        .start();
+  }
+
+  private static String jarredClasspath(final Path workDirectory) throws IOException {
+    var entries = new ArrayList<String>();
+    for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      var path = Path.of(entry);
+      if (!Files.isDirectory(path)) {
+        entries.add(entry);
+        continue;
+      }
+      var jar = workDirectory.resolve("classes-" + entries.size() + ".jar");
+      try (var out = new JarOutputStream(Files.newOutputStream(jar)); var files = Files.walk(path)) {
+        for (Path file : files.filter(file -> !file.equals(path)).toList()) {
+          var name = path.relativize(file).toString().replace(File.separatorChar, '/');
+          if (Files.isDirectory(file)) {
+            out.putNextEntry(new JarEntry(name + "/"));
+          } else {
+            out.putNextEntry(new JarEntry(name));
+            Files.copy(file, out);
+          }
+          out.closeEntry();
+        }
+      }
+      entries.add(jar.toString());
+    }
+    return String.join(File.pathSeparator, entries);
+  }
+
+  private static int freePort() throws IOException {
+    try (var socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static double residentSetMb(final long pid) throws IOException {
+    var status = Path.of("/proc", Long.toString(pid), "status");
+    if (!Files.exists(status)) {
+      return 0;
+    }
+    for (String line : Files.readAllLines(status)) {
+      if (line.startsWith("VmRSS:")) {
+        var kilobytes = Long.parseLong(line.replaceAll("[^0-9]", ""));
+        return kilobytes / 1024.0;
+      }
+    }
+    return 0;
+  }
+}
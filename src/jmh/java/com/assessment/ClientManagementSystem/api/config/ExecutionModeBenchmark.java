@@ -0,0 +1,135 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import com.assessment.ClientManagementSystem.BenchmarkClients;
+import com.assessment.ClientManagementSystem.ClientManagementSystemApplication;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the running application under {@code connections} concurrent requests, on Tomcat's platform
+ * thread pool against virtual threads ({@code client.execution.mode}). Every invocation sends one wave of
+ * concurrent page reads and waits for all of them, so each request holds a database connection. The
+ * {@code requests} counter reports requests per second.
+ * <p>
+ * The virtual mode needs the benchmarks to run on a Java 21 JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExecutionModeBenchmark {
+
+  private static final int ROWS = 10_000;
+  private static final int PAGE_SIZE = 20;
+
+  @Param({"platform", "virtual"})
+  private String mode;
+
+  @Param({"1000", "2000"})
+  private int connections;
+
+  private ConfigurableApplicationContext context;
+  private ExecutorService clientExecutor;
+  private HttpClient httpClient;
+  private String baseUri;
+
+  @Setup
+  public void setUp() {
+    var application = new SpringApplicationBuilder(ClientManagementSystemApplication.class)
+        .properties(
+            "server.port=0",
+            "spring.datasource.url=jdbc:h2:mem:execution-mode;DB_CLOSE_DELAY=-1",
+            "client.rate-limit.enabled=false",
+            "logging.level.root=WARN");
+    if ("virtual".equals(mode)) {
+      application.profiles("virtual");
+    }
+    context = application.run();
+    seed(context.getBean(JdbcTemplate.class));
+
+    var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    baseUri = "http://localhost:" + port + "/api/clients";
+    clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(clientExecutor)
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    clientExecutor.shutdownNow();
+    context.close();
+  }
+
+  @Benchmark
+  public int wave(final Requests requests) {
+    var responses = new ArrayList<CompletableFuture<HttpResponse<Void>>>(connections);
+    for (int i = 0; i < connections; i++) {
+      var after = (i * PAGE_SIZE) % ROWS;
+      var request = HttpRequest.newBuilder(URI.create(baseUri + "?after=" + after + "&size=" + PAGE_SIZE)).GET().build();
+      responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+    }
+    var failed = 0;
+    for (CompletableFuture<HttpResponse<Void>> response : responses) {
+      if (response.join().statusCode() != 200) {
+        failed++;
+      }
+    }
+    requests.requests += connections - failed;
+    requests.failures += failed;
+    return failed;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Requests {
+    public long requests;
+    public long failures;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      requests = 0;
+      failures = 0;
+    }
+  }
+
+  private void seed(final JdbcTemplate jdbcTemplate) {
+    var sql = "insert into client (client_id, first_name, last_name, id_number, mobile_number, physical_address, version) values (?, ?, ?, ?, ?, ?, 0)";
+    var batch = new ArrayList<Object[]>(ROWS);
+    for (int i = 1; i <= ROWS; i++) {
+      var client = BenchmarkClients.client(i);
+      batch.add(new Object[]{client.getClientId(), client.getFirstName(), client.getLastName(), client.getIdNumber(),
+          client.getMobileNumber(), client.getPhysicalAddress()});
+    }
+    jdbcTemplate.batchUpdate(sql, batch);
+  }
+}
@@ -0,0 +1,63 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.BenchmarkClients;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientListResponse;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a list response, configured the way Spring Boot configures the application mapper:
+ * linked {@link ClientModel}s against the {@link ClientListResponse} the list endpoints return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientSerializationBenchmark {
+
+  @Param({"100", "1000"})
+  private int clients;
+
+  private ObjectMapper objectMapper;
+  private List<ClientModel> models;
+  private ClientListResponse response;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    models = BenchmarkClients.models(clients);
+    for (ClientModel model : models) {
+      model.add(Link.of("http://localhost:8081/api/clients/" + model.getClientId()).withSelfRel());
+    }
+    response = new ClientListResponse(BenchmarkClients.summaries(clients), "http://localhost:8081/api/clients");
+  }
+
+  @Benchmark
+  public byte[] serializeClientList() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(models);
+  }
+
+  @Benchmark
+  public byte[] serializeClientListResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+}
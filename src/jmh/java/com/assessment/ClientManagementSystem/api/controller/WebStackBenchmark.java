@@ -0,0 +1,164 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.BenchmarkClients;
+import com.assessment.ClientManagementSystem.ClientManagementSystemApplication;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The servlet stack (Tomcat, JPA) against the reactive stack (Netty, R2DBC) under {@code connections} concurrent
+ * page reads. Every invocation sends one wave of requests and waits for all of them; the score is the time per
+ * wave. For each iteration the counters report the 99th percentile request latency in milliseconds, the peak heap
+ * use in megabytes and the peak number of live threads, so memory and latency can be read against concurrency.
+ * <p>
+ * The application shares the benchmark's JVM, so heap and thread counts include the client side, which is the
+ * same for both stacks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WebStackBenchmark {
+
+  private static final int ROWS = 10_000;
+  private static final int PAGE_SIZE = 20;
+
+  @Param({"servlet", "reactive"})
+  private String stack;
+
+  @Param({"500", "1000", "2000", "4000"})
+  private int connections;
+
+  private ConfigurableApplicationContext context;
+  private ExecutorService clientExecutor;
+  private HttpClient httpClient;
+  private String baseUri;
+
+  @Setup
+  public void setUp() {
+    var application = new SpringApplicationBuilder(ClientManagementSystemApplication.class)
+        .properties(
+            "server.port=0",
+            "client.rate-limit.enabled=false",
+            "logging.level.root=WARN");
+    if ("reactive".equals(stack)) {
+      application.profiles("reactive")
+          .properties(
+              "spring.main.web-application-type=reactive",
+              "spring.datasource.url=jdbc:h2:mem:web-stack;DB_CLOSE_DELAY=-1",
+              "client.reactive.r2dbc-url=r2dbc:h2:mem:///web-stack?options=DB_CLOSE_DELAY=-1");
+    } else {
+      application.properties("spring.datasource.url=jdbc:h2:mem:web-stack;DB_CLOSE_DELAY=-1");
+    }
+    context = application.run();
+    seed(context.getBean(JdbcTemplate.class));
+
+    var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    baseUri = "http://localhost:" + port + "/api/clients";
+    clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(clientExecutor)
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    clientExecutor.shutdownNow();
+    context.close();
+  }
+
+  @Benchmark
+  public int wave(final Footprint footprint) {
+    var latencies = new long[connections];
+    var responses = new ArrayList<CompletableFuture<Integer>>(connections);
+    for (int i = 0; i < connections; i++) {
+      var index = i;
+      var after = (i * PAGE_SIZE) % ROWS;
+      var request = HttpRequest.newBuilder(URI.create(baseUri + "?after=" + after + "&size=" + PAGE_SIZE)).GET().build();
+      var start = System.nanoTime();
+      responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .thenApply(response -> {
+            latencies[index] = System.nanoTime() - start;
+            return response.statusCode();
+          }));
+    }
+    var failed = 0;
+    for (CompletableFuture<Integer> response : responses) {
+      if (response.join() != 200) {
+        failed++;
+      }
+    }
+    footprint.record(latencies, failed);
+    return failed;
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public double p99LatencyMs;
+    public double peakHeapMb;
+    public long peakThreads;
+    public long failures;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      p99LatencyMs = 0;
+      peakHeapMb = 0;
+      peakThreads = 0;
+      failures = 0;
+      ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    void record(final long[] latencies, final int failed) {
+      Arrays.sort(latencies);
+      var p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1_000_000.0;
+      var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0);
+      p99LatencyMs = Math.max(p99LatencyMs, p99);
+      peakHeapMb = Math.max(peakHeapMb, heap);
+      peakThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+      failures += failed;
+    }
+  }
+
+  private void seed(final JdbcTemplate jdbcTemplate) {
+    var sql = "insert into client (client_id, first_name, last_name, id_number, mobile_number, physical_address, version) values (?, ?, ?, ?, ?, ?, 0)";
+    var batch = new ArrayList<Object[]>(ROWS);
+    for (int i = 1; i <= ROWS; i++) {
+      var client = BenchmarkClients.client(i);
+      batch.add(new Object[]{client.getClientId(), client.getFirstName(), client.getLastName(), client.getIdNumber(),
+          client.getMobileNumber(), client.getPhysicalAddress()});
+    }
+    jdbcTemplate.batchUpdate(sql, batch);
+  }
+}
@@ -0,0 +1,37 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import com.assessment.ClientManagementSystem.BenchmarkClients;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientModelMappingBenchmark {
+
+  private Client client;
+
+  @Setup
+  public void setUp() {
+    client = BenchmarkClients.client(1);
+  }
+
+  @Benchmark
+  public ClientModel clientModelFromClient() {
+    return new ClientModel(client);
+  }
+}
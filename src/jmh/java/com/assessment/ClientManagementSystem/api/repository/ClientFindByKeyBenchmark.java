@@ -0,0 +1,84 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.BenchmarkClients;
+import com.assessment.ClientManagementSystem.ClientManagementSystemApplication;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JpaClientRepository#findByKey(String)} against an in-memory H2 database seeded with {@code rows} clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ClientFindByKeyBenchmark {
+
+  private static final int SEED_BATCH_SIZE = 10_000;
+
+  @Param({"1000000"})
+  private int rows;
+
+  @Param({"Name123456", "Name12345%", "%2345%"})
+  private String key;
+
+  private ConfigurableApplicationContext context;
+  private JpaClientRepository clientRepository;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(ClientManagementSystemApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "logging.level.root=WARN")
+        .run();
+    clientRepository = context.getBean(JpaClientRepository.class);
+    seed(context.getBean(JdbcTemplate.class));
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Client> findByKey() {
+    return clientRepository.findByKey(key);
+  }
+
+  private void seed(final JdbcTemplate jdbcTemplate) {
+    var sql = "insert into client (client_id, first_name, last_name, id_number, mobile_number, physical_address)"
+        + " values (?, ?, ?, ?, ?, ?)";
+    for (int start = 1; start <= rows; start += SEED_BATCH_SIZE) {
+      var batch = new ArrayList<Object[]>(SEED_BATCH_SIZE);
+      for (int i = start; i < start + SEED_BATCH_SIZE && i <= rows; i++) {
+        var client = BenchmarkClients.client(i);
+        batch.add(new Object[]{client.getClientId(), client.getFirstName(), client.getLastName(), client.getIdNumber(),
+            client.getMobileNumber(), client.getPhysicalAddress()});
+      }
+      jdbcTemplate.batchUpdate(sql, batch);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.BenchmarkClients;
+import com.assessment.ClientManagementSystem.ClientManagementSystemApplication;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for {@link JpaClientRepository#saveAll(Iterable)} to insert {@code rows} new clients in one transaction, with
+ * ids drawn one at a time and every insert sent on its own ({@code incrementSize} 1) against ids reserved in blocks
+ * of 50 and inserts sent in JDBC batches of 50. The database is reached through H2's TCP server, so every
+ * statement sent costs a round trip as it would against a database server. The table is emptied after every
+ * iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ClientInsertBenchmark {
+
+  @Param({"1", "50"})
+  private int incrementSize;
+
+  @Param({"10", "100", "1000"})
+  private int rows;
+
+  private int sequence;
+  private Server server;
+  private ConfigurableApplicationContext context;
+  private JpaClientRepository clientRepository;
+  private JdbcTemplate jdbcTemplate;
+
+  @Setup
+  public void setUp() throws SQLException {
+    server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+    context = new SpringApplicationBuilder(ClientManagementSystemApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:client-insert;DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "client.id.increment-size=" + incrementSize,
+            "spring.jpa.properties.hibernate.jdbc.batch_size=" + incrementSize,
+            "logging.level.root=WARN")
+        .run();
+    clientRepository = context.getBean(JpaClientRepository.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+    server.stop();
+  }
+
+  @TearDown(Level.Iteration)
+  public void emptyTable() {
+    jdbcTemplate.execute("truncate table client");
+  }
+
+  @Benchmark
+  public List<Client> saveAll() {
+    var clients = new ArrayList<Client>(rows);
+    for (int i = 0; i < rows; i++) {
+      var client = BenchmarkClients.client(++sequence);
+      client.setClientId(null);
+      clients.add(client);
+    }
+    return clientRepository.saveAll(clients);
+  }
+}
@@ -0,0 +1,48 @@
+package com.assessment.ClientManagementSystem.api.service.validation;
+
+import com.assessment.ClientManagementSystem.BenchmarkClients;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientValidatorBenchmark {
+
+  private final ClientValidator clientValidator = new ClientValidator();
+  private ClientCreateRequest validRequest;
+  private ClientCreateRequest invalidRequest;
+
+  @Setup
+  public void setUp() {
+    validRequest = BenchmarkClients.request();
+    invalidRequest = BenchmarkClients.request();
+    invalidRequest.setFirstName(" ");
+    invalidRequest.setIdNumber("80010150090AA");
+    invalidRequest.setMobileNumber("082123456A");
+  }
+
+  @Benchmark
+  public ValidationResult validRequest() {
+    return clientValidator.validate(validRequest);
+  }
+
+  @Benchmark
+  public ValidationResult invalidRequest() {
+    return clientValidator.validate(invalidRequest);
+  }
+}
@@ -0,0 +1,88 @@
+package com.assessment.ClientManagementSystem.api.service.write;
+
+import com.assessment.ClientManagementSystem.BenchmarkClients;
+import com.assessment.ClientManagementSystem.ClientManagementSystemApplication;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.exception.DatabaseException;
+import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
+import com.assessment.ClientManagementSystem.api.service.ClientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ClientService#createClient} throughput from 64 concurrent callers with each write committed on its own
+ * ({@code direct}) against group commits of up to {@code batchSize} writes ({@code batched}). The database is a
+ * file so that every commit reaches the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ClientWriteBenchmark {
+
+  @Param({"direct", "batched"})
+  private String mode;
+
+  @Param({"16", "64"})
+  private int batchSize;
+
+  private final AtomicInteger sequence = new AtomicInteger();
+  private Path databaseDirectory;
+  private ConfigurableApplicationContext context;
+  private ClientService clientService;
+
+  @Setup
+  public void setUp() throws IOException {
+    databaseDirectory = Files.createTempDirectory("client-write-benchmark");
+    context = new SpringApplicationBuilder(ClientManagementSystemApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:file:" + databaseDirectory.resolve("clients"),
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.datasource.hikari.maximum-pool-size=64",
+            "client.write.mode=" + mode,
+            "client.write.batch-size=" + batchSize,
+            "logging.level.root=WARN")
+        .run();
+    clientService = context.getBean(ClientService.class);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    context.close();
+    FileSystemUtils.deleteRecursively(databaseDirectory);
+  }
+
+  @Benchmark
+  public ClientModel createClient() throws InvalidFieldException, DatabaseException {
+    var i = sequence.incrementAndGet();
+    var request = BenchmarkClients.request();
+    request.setIdNumber(BenchmarkClients.validIdNumber(i));
+    request.setMobileNumber(BenchmarkClients.mobileNumber(i));
+    return clientService.createClient(request);
+  }
+}
@@ -2,8 +2,13 @@ package com.assessment.ClientManagementSystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * R2DBC is configured by the reactive stack itself: an R2DBC connection factory bean would make the JDBC
+ * datasource, and with it JPA, back off.
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class ClientManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,25 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Lazy initialization for the {@code fast-start} profile. Beans are created on first use, except the entity manager
+ * factory: Hibernate creates the schema when it is built, and the reactive stack reads the table without JPA. With
+ * deferred repository bootstrap it is built on a background thread while the web server starts.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "spring.main.lazy-initialization", havingValue = "true")
+public class FastStartConfiguration {
+
+  @Bean
+  public static LazyInitializationExcludeFilter eagerEntityManagerFactory() {
+    return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class,
+        AbstractEntityManagerFactoryBean.class);
+  }
+}
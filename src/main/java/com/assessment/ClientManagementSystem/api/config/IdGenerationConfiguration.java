@@ -0,0 +1,21 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import com.assessment.ClientManagementSystem.api.repository.PooledSequenceGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hands {@code client.id.increment-size} to Hibernate, where {@link PooledSequenceGenerator} reads it to size the
+ * blocks of ids it reserves from the sequences.
+ */
+@Configuration(proxyBeanMethods = false)
+public class IdGenerationConfiguration {
+
+  @Bean
+  public HibernatePropertiesCustomizer idIncrementSizeCustomizer(
+      @Value("${client.id.increment-size:50}") final int incrementSize) {
+    return properties -> properties.put(PooledSequenceGenerator.INCREMENT_SIZE_SETTING, incrementSize);
+  }
+}
@@ -0,0 +1,36 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import com.assessment.ClientManagementSystem.api.controller.ClientRateLimitInterceptor;
+import com.assessment.ClientManagementSystem.api.service.ratelimit.ClientRateLimitProperties;
+import com.assessment.ClientManagementSystem.api.service.ratelimit.ClientRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Rate limits every {@code api/clients} route with the {@link ClientRateLimiter} when
+ * {@code client.rate-limit.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "client.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+  private final ClientRateLimiter clientRateLimiter;
+  private final ClientRateLimitProperties properties;
+
+  public RateLimitConfiguration(final ClientRateLimiter clientRateLimiter,
+                                final ClientRateLimitProperties properties) {
+    this.clientRateLimiter = clientRateLimiter;
+    this.properties = properties;
+  }
+
+  @Override
+  public void addInterceptors(final InterceptorRegistry registry) {
+    registry.addInterceptor(new ClientRateLimitInterceptor(clientRateLimiter, properties.getClientKeyHeader(),
+            properties.getTrustedCallers()))
+        .addPathPatterns("/api/clients", "/api/clients/**");
+  }
+}
@@ -0,0 +1,48 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Runs the reactive stack on Netty with {@code client.reactive.event-loop-threads} event-loop threads instead of
+ * one per core. Handlers never block, so a few threads serve any number of connections.
+ * <p>
+ * The server factory is declared here because Tomcat is also on the classpath for the servlet stack, and Spring
+ * Boot would otherwise serve the reactive stack from Tomcat. Spring HATEOAS swaps the JSON encoder for its own,
+ * which does not write NDJSON, so one is registered back for the streaming routes.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfiguration {
+
+  @Bean(destroyMethod = "dispose")
+  public LoopResources clientEventLoops(@Value("${client.reactive.event-loop-threads:4}") final int threads) {
+    return LoopResources.create("client-event-loop", threads, true);
+  }
+
+  @Bean
+  public NettyReactiveWebServerFactory clientWebServerFactory(final LoopResources clientEventLoops) {
+    var factory = new NettyReactiveWebServerFactory();
+    factory.addServerCustomizers(server -> server.runOn(clientEventLoops));
+    return factory;
+  }
+
+  @Bean
+  public WebFluxConfigurer ndjsonCodecConfigurer(final ObjectMapper objectMapper) {
+    return new WebFluxConfigurer() {
+      @Override
+      public void configureHttpMessageCodecs(final ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_NDJSON));
+      }
+    };
+  }
+}
@@ -0,0 +1,44 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Training run for the AppCDS archive, enabled with {@code client.startup.training-run=true}. Once the application
+ * is ready it sends one list request to itself, so the classes on the request path are loaded as well, and then
+ * exits so the JVM writes the archive.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "client.startup.training-run", havingValue = "true")
+public class StartupTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+  @Override
+  public void onApplicationEvent(final ApplicationReadyEvent event) {
+    var context = event.getApplicationContext();
+    if (context instanceof WebServerApplicationContext webServerContext) {
+      var port = webServerContext.getWebServer().getPort();
+      var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/clients?size=1")).GET().build();
+      try {
+        var status = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        log.info("Training request answered with {}", status);
+      } catch (IOException e) {
+        log.warn("Training request failed", e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    System.exit(SpringApplication.exit(context));
+  }
+}
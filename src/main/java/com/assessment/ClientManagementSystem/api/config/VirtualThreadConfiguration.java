@@ -0,0 +1,56 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs request handling on virtual threads when {@code client.execution.mode=virtual}. Tomcat hands every request
+ * to a new virtual thread instead of its bounded worker pool, and streamed responses are written on one as well.
+ * Repository calls are made on the request thread, so the Hikari pool, not the thread count, becomes the limit
+ * on concurrent database work.
+ * <p>
+ * Virtual threads need a Java 21 runtime. The executor is looked up reflectively so the code still compiles for
+ * Java 17, and startup fails if the mode is selected on an older runtime.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "client.execution.mode", havingValue = "virtual")
+public class VirtualThreadConfiguration {
+
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService virtualThreadExecutor() {
+    return newVirtualThreadPerTaskExecutor();
+  }
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(final ExecutorService virtualThreadExecutor) {
+    return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+  }
+
+  @Bean
+  public WebMvcConfigurer virtualThreadAsyncSupport(final ExecutorService virtualThreadExecutor) {
+    return new WebMvcConfigurer() {
+      @Override
+      public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadExecutor));
+      }
+    };
+  }
+
+  static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("client.execution.mode=virtual requires Java 21 or later", e);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not create a virtual thread executor", e);
+    }
+  }
+}
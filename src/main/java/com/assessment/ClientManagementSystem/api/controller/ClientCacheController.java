@@ -0,0 +1,23 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCacheStatsModel;
+import com.assessment.ClientManagementSystem.api.service.cache.ClientCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("api/cache/clients")
+public class ClientCacheController {
+
+  private final ClientCache clientCache;
+
+  public ClientCacheController(final ClientCache clientCache) {
+    this.clientCache = clientCache;
+  }
+
+  @GetMapping
+  public ClientCacheStatsModel getStats() {
+    return new ClientCacheStatsModel(clientCache.size(), clientCache.stats());
+  }
+}
@@ -0,0 +1,93 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientChangeModel;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientChangesResponse;
+import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
+import com.assessment.ClientManagementSystem.api.service.changes.ClientChangeLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * Incremental sync for downstream systems: the client changes committed after a sequence number, from the
+ * {@link ClientChangeLog}.
+ */
+@RestController
+@RequestMapping("api/clients/changes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!memory")
+@ConditionalOnProperty(name = "client.storage", havingValue = "database", matchIfMissing = true)
+public class ClientChangeController {
+
+  private final ClientChangeLog clientChangeLog;
+  private final int defaultLimit;
+  private final int maxLimit;
+  private final Duration maxWait;
+
+  public ClientChangeController(final ClientChangeLog clientChangeLog,
+                                @Value("${client.changes.default-limit:500}") final int defaultLimit,
+                                @Value("${client.changes.max-limit:5000}") final int maxLimit,
+                                @Value("${client.changes.max-wait:25s}") final Duration maxWait) {
+    this.clientChangeLog = clientChangeLog;
+    this.defaultLimit = defaultLimit;
+    this.maxLimit = maxLimit;
+    this.maxWait = maxWait;
+  }
+
+  /**
+   * Returns up to {@code limit} changes numbered after {@code since}, oldest first, with the cursor to pass as
+   * {@code since} next time. When there are no changes yet, a {@code wait} in seconds long-polls: the request is
+   * answered as soon as a change commits, or empty after at most {@code client.changes.max-wait}. The next link
+   * is built up front because the response may be completed on another thread.
+   */
+  @GetMapping
+  public CompletableFuture<ResponseEntity<ClientChangesResponse>> getChanges(@RequestParam(defaultValue = "0") final long since,
+                                                                             @RequestParam(required = false) final Integer limit,
+                                                                             @RequestParam(defaultValue = "0") final int wait) throws InvalidFieldException {
+    if (since < 0) {
+      throw new InvalidFieldException("Since should not be negative");
+    }
+    if (wait < 0) {
+      throw new InvalidFieldException("Wait should not be negative");
+    }
+    var batchSize = resolveLimit(limit);
+    var waitFor = Duration.ofSeconds(wait).compareTo(maxWait) > 0 ? maxWait : Duration.ofSeconds(wait);
+    var nextLink = linkTo(ClientChangeController.class).toUriComponentsBuilder()
+        .queryParam("since", "{since}")
+        .queryParam("limit", batchSize);
+    return clientChangeLog.changesAfter(since, batchSize, waitFor).thenApply(changes -> {
+      var next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequenceNumber();
+      var response = ResponseEntity.ok();
+      if (changes.size() == batchSize) {
+        response.header(HttpHeaders.LINK, Link.of(nextLink.build(next).toString(), IanaLinkRelations.NEXT).toString());
+      }
+      var models = changes.stream().map(ClientChangeModel::new).collect(Collectors.toList());
+      return response.body(new ClientChangesResponse(models, next));
+    });
+  }
+
+  private int resolveLimit(final Integer limit) throws InvalidFieldException {
+    if (limit == null) {
+      return defaultLimit;
+    }
+    if (limit < 1) {
+      throw new InvalidFieldException("Limit should be greater than 0");
+    }
+    return Math.min(limit, maxLimit);
+  }
+}
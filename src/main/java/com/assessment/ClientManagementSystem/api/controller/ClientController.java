@@ -1,14 +1,43 @@
 package com.assessment.ClientManagementSystem.api.controller;
 
+import com.assessment.ClientManagementSystem.api.controller.model.ClientBatchRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientBatchResponse;
 import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientImportReport;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientJsonWriter;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientListResponse;
 import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSearchBatchResponse;
 import com.assessment.ClientManagementSystem.api.exception.DatabaseException;
 import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
 import com.assessment.ClientManagementSystem.api.exception.NotFoundException;
+import com.assessment.ClientManagementSystem.api.exception.PreconditionFailedException;
+import com.assessment.ClientManagementSystem.api.service.ClientImportService;
 import com.assessment.ClientManagementSystem.api.service.ClientService;
+import com.assessment.ClientManagementSystem.api.service.export.ClientExportFormat;
+import com.assessment.ClientManagementSystem.api.service.export.ClientExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
 import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -16,12 +45,42 @@ import static org.springframework.http.HttpStatus.CREATED;
 
 @RestController
 @RequestMapping("api/clients")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ClientController {
-  
+
+  private static final String TEXT_CSV_VALUE = "text/csv";
+  private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+  private static final CsvMapper CSV_MAPPER = (CsvMapper) new CsvMapper()
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
   private final ClientService clientService;
+  private final ClientImportService clientImportService;
+  private final ClientExportService clientExportService;
+  private final ObjectMapper objectMapper;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final int streamBatchSize;
+  private final int defaultSearchLimit;
+  private final int maxSearchLimit;
 
-  public ClientController(final ClientService clientService) {
+  public ClientController(final ClientService clientService,
+                          final ClientImportService clientImportService,
+                          final ClientExportService clientExportService,
+                          final ObjectMapper objectMapper,
+                          @Value("${client.pagination.default-size:100}") final int defaultPageSize,
+                          @Value("${client.pagination.max-size:1000}") final int maxPageSize,
+                          @Value("${client.stream.batch-size:500}") final int streamBatchSize,
+                          @Value("${client.search.default-limit:20}") final int defaultSearchLimit,
+                          @Value("${client.search.max-limit:100}") final int maxSearchLimit) {
     this.clientService = clientService;
+    this.clientImportService = clientImportService;
+    this.clientExportService = clientExportService;
+    this.objectMapper = objectMapper;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+    this.streamBatchSize = streamBatchSize;
+    this.defaultSearchLimit = defaultSearchLimit;
+    this.maxSearchLimit = maxSearchLimit;
   }
 
   @PostMapping
@@ -29,38 +88,180 @@ public class ClientController {
     var result = clientService.createClient(request);
     return ResponseEntity
         .status(CREATED)
+        .eTag(ClientETags.of(result.getVersion()))
         .body(result);
   }
 
+  @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ClientImportReport importClients(final InputStream body) throws IOException {
+    MappingIterator<ClientCreateRequest> records = objectMapper.readerFor(ClientCreateRequest.class).readValues(body);
+    return clientImportService.importClients(records);
+  }
+
+  @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE)
+  public ClientImportReport importClientsFromCsv(final InputStream body) throws IOException {
+    MappingIterator<ClientCreateRequest> records = CSV_MAPPER.readerFor(ClientCreateRequest.class)
+        .with(CsvSchema.emptySchema().withHeader())
+        .readValues(body);
+    return clientImportService.importClients(records);
+  }
+
   @GetMapping()
-  public List<ClientModel> getClients() {
-    var clients = clientService.getAllClients();
-    return addSelfLinks(clients);
+  public ResponseEntity<ClientListResponse> getClients(@RequestParam(required = false) final Integer after,
+                                                       @RequestParam(required = false) final Integer size) throws InvalidFieldException {
+    var pageSize = resolvePageSize(size);
+    var clients = clientService.getClients(after, pageSize);
+    var response = ResponseEntity.ok();
+    if (clients.size() == pageSize) {
+      var cursor = clients.get(clients.size() - 1).clientId();
+      var next = linkTo(ClientController.class).toUriComponentsBuilder()
+          .queryParam("after", cursor)
+          .queryParam("size", pageSize)
+          .toUriString();
+      response.header(HttpHeaders.LINK, Link.of(next, IanaLinkRelations.NEXT).toString());
+    }
+    return response.body(new ClientListResponse(clients, clientsBaseHref()));
   }
 
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamClients() {
+    var baseHref = clientsBaseHref();
+    StreamingResponseBody body = outputStream -> {
+      var generator = objectMapper.getFactory().createGenerator(outputStream);
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      try {
+        clientService.forEachClient(streamBatchSize, client -> {
+          try {
+            ClientJsonWriter.writeClient(generator, client, baseHref);
+            generator.writeRaw('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      generator.close();
+    };
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  /**
+   * Downloads every client as a gzip-compressed CSV or NDJSON file, without links, for bulk consumers.
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportClients(@RequestParam(defaultValue = "csv") final String format) throws InvalidFieldException {
+    var exportFormat = ClientExportFormat.from(format);
+    StreamingResponseBody body = outputStream -> clientExportService.export(exportFormat, Channels.newChannel(outputStream));
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_GZIP)
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(exportFormat.fileName()).build().toString())
+        .body(body);
+  }
+
+  /**
+   * Looks up many clients in one call, by {@code ids} and by {@code idNumbers}. Values that match no client are
+   * listed in the response instead of failing the request.
+   */
+  @GetMapping("/batch")
+  public ClientBatchResponse getClientsByIds(@RequestParam(required = false) final List<Integer> ids,
+                                             @RequestParam(required = false) final List<String> idNumbers) throws InvalidFieldException {
+    return clientService.getClientsByIds(ids, idNumbers);
+  }
+
+  /**
+   * The batch lookup with the ids and ID numbers in the body, for sets too large for a query string.
+   */
+  @PostMapping("/batch")
+  public ClientBatchResponse findClientsByIds(@RequestBody final ClientBatchRequest request) throws InvalidFieldException {
+    return clientService.getClientsByIds(request.getIds(), request.getIdNumbers());
+  }
+
+  /**
+   * Returns the best matches for the words of {@code key}, best first: exact words, then prefixes, then words
+   * with a typo.
+   */
+  @GetMapping("/search/ranked")
+  public ClientListResponse searchRankedForClientsByKey(@RequestParam final String key,
+                                                        @RequestParam(required = false) final Integer limit) throws InvalidFieldException {
+    var clients = clientService.searchRankedForClientsByKey(key, resolveSearchLimit(limit));
+    return new ClientListResponse(clients, clientsBaseHref());
+  }
+
+  /**
+   * Returns the clients each key matches.
+   */
+  @PostMapping("/search/batch")
+  public ClientSearchBatchResponse searchForClientsByKeys(@RequestBody final List<String> keys) throws InvalidFieldException {
+    return new ClientSearchBatchResponse(clientService.searchForClientsByKeys(keys), clientsBaseHref());
+  }
+
+  /**
+   * Returns the client with its version as a strong ETag. A matching {@code If-None-Match} is answered with
+   * 304 Not Modified after looking up only the version.
+   */
   @GetMapping("/{id}")
-  public ClientModel getClientById(@PathVariable final Integer id) throws NotFoundException, InvalidFieldException {
-    return clientService.getClientById(id);
+  public ResponseEntity<ClientModel> getClientById(@PathVariable final Integer id, final WebRequest webRequest) throws NotFoundException, InvalidFieldException {
+    if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        && webRequest.checkNotModified(ClientETags.of(clientService.getClientVersion(id)))) {
+      return null;
+    }
+    var client = clientService.getClientById(id);
+    return ResponseEntity.ok()
+        .eTag(ClientETags.of(client.getVersion()))
+        .body(client);
   }
 
+  /**
+   * Edits the fields supplied in the body and leaves the rest unchanged. With {@code If-Match} the edit is applied only if the client is still at that version,
+   * and fails with 412 Precondition Failed otherwise.
+   */
   @PatchMapping("/{id}")
-  public ClientModel editClient(@PathVariable Integer id, @RequestBody ClientCreateRequest request) throws NotFoundException, InvalidFieldException, DatabaseException {
-    return clientService.editClient(id, request);
+  public ResponseEntity<ClientModel> editClient(@PathVariable Integer id,
+                                                @RequestBody ClientCreateRequest request,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) throws NotFoundException, InvalidFieldException, DatabaseException, PreconditionFailedException {
+    var client = clientService.editClient(id, request, ClientETags.parseIfMatch(ifMatch));
+    return ResponseEntity.ok()
+        .eTag(ClientETags.of(client.getVersion()))
+        .body(client);
   }
 
   @GetMapping("/search")
-  public List<ClientModel> searchForClientsByKey(@RequestParam final String key) {
+  public ClientListResponse searchForClientsByKey(@RequestParam final String key) {
     var clients = clientService.searchForClientByKey(key);
-    return addSelfLinks(clients);
+    return new ClientListResponse(clients, clientsBaseHref());
   }
 
-  private List<ClientModel> addSelfLinks(final List<ClientModel> clients) {
-    for(ClientModel model: clients) {
-      var clientId = model.getClientId().toString();
-      var selfLink = linkTo(ClientController.class).slash(clientId).withSelfRel();
-      model.add(selfLink);
+  private int resolvePageSize(final Integer size) throws InvalidFieldException {
+    if (size == null) {
+      return defaultPageSize;
+    }
+    if (size < 1) {
+      throw new InvalidFieldException("Page size should be greater than 0");
     }
-    return clients;
+    return Math.min(size, maxPageSize);
+  }
+
+  private int resolveSearchLimit(final Integer limit) throws InvalidFieldException {
+    if (limit == null) {
+      return defaultSearchLimit;
+    }
+    if (limit < 1) {
+      throw new InvalidFieldException("Limit should be greater than 0");
+    }
+    return Math.min(limit, maxSearchLimit);
+  }
+
+  /**
+   * Resolves the clients base URI from the current request. This is the expensive part of link building, so it is
+   * done once per response and every row's self link is a string concatenation.
+   */
+  private static String clientsBaseHref() {
+    return linkTo(ClientController.class).toUri().toString();
   }
 
 }
@@ -0,0 +1,47 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Maps a client's version to a strong entity tag and back.
+ */
+final class ClientETags {
+
+  private static final String ANY = "*";
+  private static final String WEAK_PREFIX = "W/";
+
+  private ClientETags() {
+  }
+
+  static String of(final Long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Returns the versions an {@code If-Match} header accepts, or {@code null} when the header is absent or
+   * {@code *} and any version will do. Weak and malformed tags never match, so a header made only of those
+   * returns an empty set.
+   */
+  static Set<Long> parseIfMatch(final String header) {
+    if (header == null) {
+      return null;
+    }
+    var versions = new HashSet<Long>();
+    for (String tag : header.split(",")) {
+      tag = tag.trim();
+      if (ANY.equals(tag)) {
+        return null;
+      }
+      if (tag.startsWith(WEAK_PREFIX) || tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+        continue;
+      }
+      try {
+        versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+      } catch (NumberFormatException e) {
+        // not one of ours, so it cannot match
+      }
+    }
+    return versions;
+  }
+}
@@ -0,0 +1,25 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientRateLimitStatsModel;
+import com.assessment.ClientManagementSystem.api.service.ratelimit.ClientRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("api/rate-limit/clients")
+@ConditionalOnProperty(name = "client.rate-limit.enabled", havingValue = "true")
+public class ClientRateLimitController {
+
+  private final ClientRateLimiter clientRateLimiter;
+
+  public ClientRateLimitController(final ClientRateLimiter clientRateLimiter) {
+    this.clientRateLimiter = clientRateLimiter;
+  }
+
+  @GetMapping
+  public ClientRateLimitStatsModel getStats() {
+    return new ClientRateLimitStatsModel(clientRateLimiter);
+  }
+}
@@ -0,0 +1,87 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.api.exception.TooManyRequestsException;
+import com.assessment.ClientManagementSystem.api.service.ratelimit.ClientRateLimiter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Set;
+
+/**
+ * Puts the {@link ClientRateLimiter} in front of the client controllers. It runs after the handler is resolved and
+ * before it is called, so a rejected request never reaches the service or the database; the rejection is thrown to
+ * {@link GenericControllerAdvice}, which answers 429. Callers are told apart by their authenticated name, or else by
+ * their address. The client key header is only read from trusted callers, since anyone else could send a new value
+ * with every request to get a fresh bucket each time.
+ * <p>
+ * The concurrency permit is held until the response is complete. Requests that continue asynchronously (streams,
+ * exports and long polls) give it back when the handler returns, since they no longer hold a request thread.
+ */
+public class ClientRateLimitInterceptor implements AsyncHandlerInterceptor {
+
+  private static final String PERMIT_ATTRIBUTE = ClientRateLimitInterceptor.class.getName() + ".permit";
+
+  private final ClientRateLimiter clientRateLimiter;
+  private final String clientKeyHeader;
+  private final Set<String> trustedCallers;
+
+  public ClientRateLimitInterceptor(final ClientRateLimiter clientRateLimiter, final String clientKeyHeader,
+                                    final Set<String> trustedCallers) {
+    this.clientRateLimiter = clientRateLimiter;
+    this.clientKeyHeader = clientKeyHeader;
+    this.trustedCallers = Set.copyOf(trustedCallers);
+  }
+
+  @Override
+  public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+                           final Object handler) throws TooManyRequestsException {
+    if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod method)) {
+      return true;
+    }
+    var endpoint = ClientRateLimiter.endpointName(method.getMethod().getName());
+    request.setAttribute(PERMIT_ATTRIBUTE, clientRateLimiter.acquire(endpoint, clientKey(request)));
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(final HttpServletRequest request, final HttpServletResponse response,
+                                             final Object handler) {
+    var permit = takePermit(request);
+    if (permit != null) {
+      permit.discard();
+    }
+  }
+
+  @Override
+  public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                              final Object handler, final Exception ex) {
+    var permit = takePermit(request);
+    if (permit != null) {
+      permit.release();
+    }
+  }
+
+  private String clientKey(final HttpServletRequest request) {
+    var principal = request.getUserPrincipal();
+    if (principal != null) {
+      return "user:" + principal.getName();
+    }
+    var address = request.getRemoteAddr();
+    if (trustedCallers.contains(address)) {
+      var clientKey = request.getHeader(clientKeyHeader);
+      if (clientKey != null && !clientKey.isBlank()) {
+        return "key:" + clientKey;
+      }
+    }
+    return address;
+  }
+
+  private static ClientRateLimiter.Permit takePermit(final HttpServletRequest request) {
+    var permit = (ClientRateLimiter.Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+    request.removeAttribute(PERMIT_ATTRIBUTE);
+    return permit;
+  }
+}
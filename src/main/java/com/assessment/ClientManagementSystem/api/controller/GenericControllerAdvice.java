@@ -5,21 +5,38 @@ import com.assessment.ClientManagementSystem.api.controller.model.error.ApiError
 import com.assessment.ClientManagementSystem.api.exception.GenericException;
 import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
 import com.assessment.ClientManagementSystem.api.exception.NotFoundException;
+import com.assessment.ClientManagementSystem.api.exception.PreconditionFailedException;
+import com.assessment.ClientManagementSystem.api.exception.TooManyRequestsException;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.stream.Collectors;
+
 import static com.assessment.ClientManagementSystem.api.controller.model.error.ApiErrorType.NOT_FOUND_ERROR;
+import static com.assessment.ClientManagementSystem.api.controller.model.error.ApiErrorType.PRECONDITION_FAILED_ERROR;
+import static com.assessment.ClientManagementSystem.api.controller.model.error.ApiErrorType.RATE_LIMIT_ERROR;
 import static com.assessment.ClientManagementSystem.api.controller.model.error.ApiErrorType.VALIDATION_ERROR;
 import static org.springframework.http.HttpStatus.*;
 
 @ControllerAdvice(assignableTypes = {
-        ClientController.class
+        ClientController.class,
+        ClientChangeController.class,
+        ReactiveClientController.class
 })
 public class GenericControllerAdvice {
 
+    private final ClientMetrics clientMetrics;
+
+    public GenericControllerAdvice(final ClientMetrics clientMetrics) {
+      this.clientMetrics = clientMetrics;
+    }
+
     @ExceptionHandler({
         InvalidFieldException.class,
         DataIntegrityViolationException.class
@@ -27,8 +44,15 @@ public class GenericControllerAdvice {
     @ResponseBody
     @ResponseStatus(BAD_REQUEST)
     private ApiErrorResponse validationErrors(Exception e) {
+      clientMetrics.recordError(VALIDATION_ERROR, e);
       var cause = e.getCause();
 
+      if (e instanceof InvalidFieldException ife && !ife.getFieldErrors().isEmpty()) {
+        return new ApiErrorResponse(ife.getFieldErrors().stream()
+            .map(error -> new ApiError(VALIDATION_ERROR, ife.getErrorCode(), error.message(), null, error.field()))
+            .collect(Collectors.toList()));
+      }
+
       var ipe = (GenericException) e;
       if (hasUnderlyingCause(cause)) {
         return new ApiErrorResponse(new ApiError(VALIDATION_ERROR, ipe.getErrorCode(), cause.getCause().getMessage(), null));
@@ -42,6 +66,7 @@ public class GenericControllerAdvice {
     @ResponseBody
     @ResponseStatus(NOT_FOUND)
     private ApiErrorResponse handleNotFoundError(Exception e) {
+      clientMetrics.recordError(NOT_FOUND_ERROR, e);
       var cause = e.getCause();
 
       var ipe = (GenericException) e;
@@ -51,6 +76,27 @@ public class GenericControllerAdvice {
       return new ApiErrorResponse(new ApiError(NOT_FOUND_ERROR, ipe.getErrorCode(),  e.getMessage(), null));
     }
 
+    @ExceptionHandler({
+        PreconditionFailedException.class
+    })
+    @ResponseBody
+    @ResponseStatus(PRECONDITION_FAILED)
+    private ApiErrorResponse handlePreconditionFailedError(PreconditionFailedException e) {
+      clientMetrics.recordError(PRECONDITION_FAILED_ERROR, e);
+      return new ApiErrorResponse(new ApiError(PRECONDITION_FAILED_ERROR, e.getErrorCode(), e.getMessage(), null));
+    }
+
+    @ExceptionHandler({
+        TooManyRequestsException.class
+    })
+    @ResponseBody
+    @ResponseStatus(TOO_MANY_REQUESTS)
+    private ApiErrorResponse handleTooManyRequestsError(TooManyRequestsException e, HttpServletResponse response) {
+      clientMetrics.recordError(RATE_LIMIT_ERROR, e);
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+      return new ApiErrorResponse(new ApiError(RATE_LIMIT_ERROR, e.getErrorCode(), e.getMessage(), null));
+    }
+
     private boolean hasUnderlyingCause(Throwable cause) {
       return cause != null && cause.getCause() != null;
     }
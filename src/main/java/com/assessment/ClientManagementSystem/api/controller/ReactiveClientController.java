@@ -0,0 +1,129 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
+import com.assessment.ClientManagementSystem.api.service.reactive.ReactiveClientService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.HttpStatus.CREATED;
+
+/**
+ * The {@code api/clients} routes of {@link ClientController} on WebFlux, served when the application runs as a
+ * reactive web application (the {@code reactive} profile). Lists and searches are streamed as {@link Flux}es, so
+ * rows are written as they arrive from the database and a slow client slows the read down.
+ */
+@RestController
+@RequestMapping("api/clients")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveClientController {
+
+  private final ReactiveClientService clientService;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final int streamBatchSize;
+
+  public ReactiveClientController(final ReactiveClientService clientService,
+                                  @Value("${client.pagination.default-size:100}") final int defaultPageSize,
+                                  @Value("${client.pagination.max-size:1000}") final int maxPageSize,
+                                  @Value("${client.stream.batch-size:500}") final int streamBatchSize) {
+    this.clientService = clientService;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+    this.streamBatchSize = streamBatchSize;
+  }
+
+  @PostMapping
+  public Mono<ResponseEntity<ClientModel>> createClient(@RequestBody final ClientCreateRequest request) {
+    return clientService.createClient(request)
+        .map(client -> ResponseEntity.status(CREATED)
+            .eTag(ClientETags.of(client.getVersion()))
+            .body(client));
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<Flux<ClientModel>>> getClients(@RequestParam(required = false) final Integer after,
+                                                            @RequestParam(required = false) final Integer size,
+                                                            final ServerHttpRequest request) {
+    int pageSize;
+    try {
+      pageSize = resolvePageSize(size);
+    } catch (InvalidFieldException e) {
+      return Mono.error(e);
+    }
+    var baseHref = clientsBaseHref(request);
+    var next = UriComponentsBuilder.fromHttpUrl(baseHref)
+        .queryParam("after", "{after}")
+        .queryParam("size", pageSize);
+    return clientService.getClients(after, pageSize, baseHref)
+        .collectList()
+        .map(clients -> {
+          var response = ResponseEntity.ok();
+          if (clients.size() == pageSize) {
+            var cursor = clients.get(clients.size() - 1).getClientId();
+            response.header(HttpHeaders.LINK, Link.of(next.build(cursor).toString(), IanaLinkRelations.NEXT).toString());
+          }
+          return response.body(Flux.fromIterable(clients));
+        });
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<ClientModel> streamClients(final ServerHttpRequest request) {
+    return clientService.streamClients(streamBatchSize, clientsBaseHref(request));
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<ClientModel>> getClientById(@PathVariable final Integer id) {
+    return clientService.getClientById(id)
+        .map(client -> ResponseEntity.ok()
+            .eTag(ClientETags.of(client.getVersion()))
+            .body(client));
+  }
+
+  /**
+   * Edits the client. With {@code If-Match} the edit is applied only if the client is still at that version,
+   * and fails with 412 Precondition Failed otherwise.
+   */
+  @PatchMapping("/{id}")
+  public Mono<ResponseEntity<ClientModel>> editClient(@PathVariable final Integer id,
+                                                      @RequestBody final ClientCreateRequest request,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+    return clientService.editClient(id, request, ClientETags.parseIfMatch(ifMatch))
+        .map(client -> ResponseEntity.ok()
+            .eTag(ClientETags.of(client.getVersion()))
+            .body(client));
+  }
+
+  @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public Flux<ClientModel> searchForClientsByKey(@RequestParam final String key, final ServerHttpRequest request) {
+    return clientService.searchForClientByKey(key, clientsBaseHref(request));
+  }
+
+  private int resolvePageSize(final Integer size) throws InvalidFieldException {
+    if (size == null) {
+      return defaultPageSize;
+    }
+    if (size < 1) {
+      throw new InvalidFieldException("Page size should be greater than 0");
+    }
+    return Math.min(size, maxPageSize);
+  }
+
+  private static String clientsBaseHref(final ServerHttpRequest request) {
+    return UriComponentsBuilder.fromUri(request.getURI())
+        .replacePath(request.getPath().contextPath().value() + "/api/clients")
+        .replaceQuery(null)
+        .toUriString();
+  }
+}
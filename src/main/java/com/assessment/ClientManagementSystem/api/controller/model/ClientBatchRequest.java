@@ -0,0 +1,13 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ClientBatchRequest {
+  private List<Integer> ids;
+  private List<String> idNumbers;
+}
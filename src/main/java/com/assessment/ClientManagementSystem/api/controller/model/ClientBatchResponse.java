@@ -0,0 +1,17 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The clients found by a batch lookup, in id order, and the requested ids and ID numbers that matched no client.
+ */
+@Getter
+@AllArgsConstructor
+public class ClientBatchResponse {
+  private final List<ClientModel> clients;
+  private final List<Integer> missingIds;
+  private final List<String> missingIdNumbers;
+}
@@ -0,0 +1,21 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+
+@Getter
+public class ClientCacheStatsModel {
+  private final long size;
+  private final long hitCount;
+  private final long missCount;
+  private final double hitRate;
+  private final long evictionCount;
+
+  public ClientCacheStatsModel(final long size, final CacheStats stats) {
+    this.size = size;
+    this.hitCount = stats.hitCount();
+    this.missCount = stats.missCount();
+    this.hitRate = stats.hitRate();
+    this.evictionCount = stats.evictionCount();
+  }
+}
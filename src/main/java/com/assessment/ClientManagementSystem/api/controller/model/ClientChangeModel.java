@@ -0,0 +1,34 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChange;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChangeType;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+public class ClientChangeModel {
+  private final Long sequenceNumber;
+  private final ClientChangeType type;
+  private final Instant changedAt;
+  private final Integer clientId;
+  private final Long version;
+  private final String firstName;
+  private final String lastName;
+  private final String idNumber;
+  private final String mobileNumber;
+  private final String physicalAddress;
+
+  public ClientChangeModel(final ClientChange change) {
+    this.sequenceNumber = change.getSequenceNumber();
+    this.type = change.getType();
+    this.changedAt = change.getChangedAt();
+    this.clientId = change.getClientId();
+    this.version = change.getVersion();
+    this.firstName = change.getFirstName();
+    this.lastName = change.getLastName();
+    this.idNumber = change.getIdNumber();
+    this.mobileNumber = change.getMobileNumber();
+    this.physicalAddress = change.getPhysicalAddress();
+  }
+}
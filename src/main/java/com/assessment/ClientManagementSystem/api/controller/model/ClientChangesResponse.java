@@ -0,0 +1,16 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A batch of client changes in sequence order, and the {@code since} cursor that continues after it.
+ */
+@Getter
+@AllArgsConstructor
+public class ClientChangesResponse {
+  private final List<ClientChangeModel> changes;
+  private final long next;
+}
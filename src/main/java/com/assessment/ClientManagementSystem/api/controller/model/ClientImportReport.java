@@ -0,0 +1,29 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Getter
+public class ClientImportReport {
+  private int total;
+  private int created;
+  private int rejected;
+  private final List<ClientImportResult> results = new ArrayList<>();
+
+  public void add(final ClientImportResult result) {
+    results.add(result);
+    total++;
+    if (result.getStatus() == ClientImportResult.Status.CREATED) {
+      created++;
+    } else {
+      rejected++;
+    }
+  }
+
+  public void sortByRow() {
+    results.sort(Comparator.comparingInt(ClientImportResult::getRow));
+  }
+}
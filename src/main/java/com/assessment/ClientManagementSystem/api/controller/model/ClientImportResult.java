@@ -0,0 +1,29 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientImportResult {
+
+  public enum Status {
+    CREATED,
+    REJECTED
+  }
+
+  private final int row;
+  private final Status status;
+  private final Integer clientId;
+  private final String message;
+
+  public static ClientImportResult created(final int row, final Integer clientId) {
+    return new ClientImportResult(row, Status.CREATED, clientId, null);
+  }
+
+  public static ClientImportResult rejected(final int row, final String message) {
+    return new ClientImportResult(row, Status.REJECTED, null, message);
+  }
+}
@@ -0,0 +1,32 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Writes clients straight to a {@link JsonGenerator} in the same shape the list endpoints render,
+ * so rows need no intermediate link objects.
+ */
+public final class ClientJsonWriter {
+
+  private ClientJsonWriter() {
+  }
+
+  public static void writeClient(final JsonGenerator generator, final ClientSummary client, final String baseHref) throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("clientId", client.clientId());
+    generator.writeStringField("firstName", client.firstName());
+    generator.writeStringField("lastName", client.lastName());
+    generator.writeStringField("idNumber", client.idNumber());
+    generator.writeStringField("mobileNumber", client.mobileNumber());
+    generator.writeStringField("physicalAddress", client.physicalAddress());
+    generator.writeArrayFieldStart("links");
+    generator.writeStartObject();
+    generator.writeStringField("rel", "self");
+    generator.writeStringField("href", baseHref + "/" + client.clientId());
+    generator.writeEndObject();
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+}
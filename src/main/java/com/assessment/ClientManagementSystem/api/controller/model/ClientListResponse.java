@@ -0,0 +1,39 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A list of clients rendered as a JSON array with a self link on every row. The links are written from
+ * {@code baseHref} while serializing, so a response holds one {@link ClientSummary} per row and nothing else.
+ */
+@Getter
+@JsonSerialize(using = ClientListResponse.Serializer.class)
+public class ClientListResponse {
+  private final List<ClientSummary> clients;
+  private final String baseHref;
+
+  public ClientListResponse(final List<ClientSummary> clients, final String baseHref) {
+    this.clients = clients;
+    this.baseHref = baseHref;
+  }
+
+  static class Serializer extends JsonSerializer<ClientListResponse> {
+
+    @Override
+    public void serialize(final ClientListResponse response, final JsonGenerator generator,
+                          final SerializerProvider provider) throws IOException {
+      generator.writeStartArray();
+      for (ClientSummary client : response.getClients()) {
+        ClientJsonWriter.writeClient(generator, client, response.getBaseHref());
+      }
+      generator.writeEndArray();
+    }
+  }
+}
@@ -14,6 +14,7 @@ public class ClientModel extends RepresentationModel<ClientModel> {
   private String idNumber;
   private String mobileNumber;
   private String physicalAddress;
+  private Long version;
 
   public ClientModel(final Client client) {
     this.clientId = client.getClientId();
@@ -22,5 +23,6 @@ public class ClientModel extends RepresentationModel<ClientModel> {
     this.idNumber = client.getIdNumber();
     this.mobileNumber = client.getMobileNumber();
     this.physicalAddress = client.getPhysicalAddress();
+    this.version = client.getVersion();
   }
 }
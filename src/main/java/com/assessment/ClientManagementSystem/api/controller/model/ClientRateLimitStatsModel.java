@@ -0,0 +1,25 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import com.assessment.ClientManagementSystem.api.service.ratelimit.ClientRateLimiter;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Getter
+public class ClientRateLimitStatsModel {
+  private final int concurrencyLimit;
+  private final int inFlight;
+  private final long clientKeys;
+  private final Map<String, Double> endpointTokens;
+  private final Map<String, Long> rejections = new LinkedHashMap<>();
+
+  public ClientRateLimitStatsModel(final ClientRateLimiter limiter) {
+    this.concurrencyLimit = limiter.getConcurrencyLimit();
+    this.inFlight = limiter.getInFlight();
+    this.clientKeys = limiter.getClientKeyCount();
+    this.endpointTokens = limiter.getAvailableEndpointTokens();
+    limiter.getRejections().forEach((type, count) -> rejections.put(type.name().toLowerCase(Locale.ROOT), count));
+  }
+}
@@ -0,0 +1,44 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of several searches rendered as one JSON object, with each key mapped to the array of clients it
+ * matched in the same shape as {@link ClientListResponse}.
+ */
+@Getter
+@JsonSerialize(using = ClientSearchBatchResponse.Serializer.class)
+public class ClientSearchBatchResponse {
+  private final Map<String, List<ClientSummary>> results;
+  private final String baseHref;
+
+  public ClientSearchBatchResponse(final Map<String, List<ClientSummary>> results, final String baseHref) {
+    this.results = results;
+    this.baseHref = baseHref;
+  }
+
+  static class Serializer extends JsonSerializer<ClientSearchBatchResponse> {
+
+    @Override
+    public void serialize(final ClientSearchBatchResponse response, final JsonGenerator generator,
+                          final SerializerProvider provider) throws IOException {
+      generator.writeStartObject();
+      for (Map.Entry<String, List<ClientSummary>> result : response.getResults().entrySet()) {
+        generator.writeArrayFieldStart(result.getKey());
+        for (ClientSummary client : result.getValue()) {
+          ClientJsonWriter.writeClient(generator, client, response.getBaseHref());
+        }
+        generator.writeEndArray();
+      }
+      generator.writeEndObject();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.assessment.ClientManagementSystem.api.controller.model;
+
+/**
+ * Read-only view of a client, selected straight into this record by the repository's constructor-expression
+ * queries so list and search responses never load managed entities.
+ */
+public record ClientSummary(Integer clientId,
+                            String firstName,
+                            String lastName,
+                            String idNumber,
+                            String mobileNumber,
+                            String physicalAddress) {
+}
@@ -13,4 +13,8 @@ public class ApiErrorResponse {
     public ApiErrorResponse(ApiError error) {
         this.errors = Collections.singletonList(error);
     }
+
+    public ApiErrorResponse(List<ApiError> errors) {
+        this.errors = errors;
+    }
 }
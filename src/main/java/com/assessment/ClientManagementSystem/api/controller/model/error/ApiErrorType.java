@@ -9,6 +9,8 @@ public enum ApiErrorType {
     AUTHORISATION_ERROR("authorisationError"),
     BACKEND_ERROR("backendError"),
     VALIDATION_ERROR("validationError"),
+    PRECONDITION_FAILED_ERROR("preconditionFailedError"),
+    RATE_LIMIT_ERROR("rateLimitError"),
     UNIT_PRICING_ERROR("unitPricingError"),
     NOT_IMPLEMENTED_ERROR("notImplementedError");
 
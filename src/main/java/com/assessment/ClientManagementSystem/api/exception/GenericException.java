@@ -17,4 +17,8 @@ public class GenericException extends Exception {
         super(message);
         this.errorCode = errorCode;
     }
+
+    protected GenericException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -1,15 +1,32 @@
 package com.assessment.ClientManagementSystem.api.exception;
 
+import com.assessment.ClientManagementSystem.api.service.validation.FieldError;
 import lombok.Getter;
 
+import java.util.Collections;
+import java.util.List;
+
 @Getter
 public class InvalidFieldException extends GenericException {
 
+    private final List<FieldError> fieldErrors;
+
     public InvalidFieldException(String message) {
         super(message);
+        this.fieldErrors = Collections.emptyList();
+    }
+
+    /**
+     * Reports rejected request fields. The first error is used as the message, and no stack trace is captured
+     * since the failure is about the input rather than the code path.
+     */
+    public InvalidFieldException(List<FieldError> fieldErrors) {
+        super(fieldErrors.get(0).message(), false);
+        this.fieldErrors = fieldErrors;
     }
 
     public InvalidFieldException(String message, int errorCode) {
         super(message, errorCode);
+        this.fieldErrors = Collections.emptyList();
     }
 }
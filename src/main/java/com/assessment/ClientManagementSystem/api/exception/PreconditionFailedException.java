@@ -0,0 +1,15 @@
+package com.assessment.ClientManagementSystem.api.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PreconditionFailedException extends GenericException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String message, int errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -0,0 +1,18 @@
+package com.assessment.ClientManagementSystem.api.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is shed by the rate limiter. Rejections are expected under load and must be cheap, so no
+ * stack trace is taken.
+ */
+@Getter
+public class TooManyRequestsException extends GenericException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Set-based client writes that bypass the per-entity persist path.
+ */
+public interface ClientBatchRepository {
+
+  /**
+   * Inserts all clients in a single transaction, in JDBC batches, and sets the generated {@code clientId} and
+   * the initial version on each of them. The clients are left detached.
+   */
+  void insertBatch(List<Client> clients);
+
+  /**
+   * Writes the non-null fields of {@code changes}, and only those, to the client with its {@code clientId}, in a
+   * single statement that also increments the version. The row is only updated while it is at one of
+   * {@code expectedVersions}; {@code null} accepts any version. Returns the client as it was before the update, or
+   * empty if no row matched, without reading the client first.
+   */
+  Optional<Client> patch(Client changes, Collection<Long> expectedVersions);
+
+  Set<String> findExistingIdNumbers(Collection<String> idNumbers);
+
+  Set<String> findExistingMobileNumbers(Collection<String> mobileNumbers);
+}
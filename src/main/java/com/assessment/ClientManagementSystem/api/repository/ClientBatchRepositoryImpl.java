@@ -0,0 +1,112 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of {@link ClientBatchRepository}. Inserts are persisted through Hibernate, which takes their ids
+ * from the pooled sequence and sends them as JDBC batches of {@code hibernate.jdbc.batch_size}, and detached once
+ * flushed, so no client stays managed by the persistence context.
+ * <p>
+ * A patch reads the client with a row lock, so it is still the row as it was before when the patch returns it, and
+ * then updates only the columns it changes in one bulk {@code update}.
+ */
+public class ClientBatchRepositoryImpl implements ClientBatchRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final EntityManager entityManager;
+
+  public ClientBatchRepositoryImpl(final NamedParameterJdbcTemplate jdbcTemplate, final EntityManager entityManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  @Transactional
+  public void insertBatch(final List<Client> clients) {
+    if (clients.isEmpty()) {
+      return;
+    }
+    for (Client client : clients) {
+      entityManager.persist(client);
+    }
+    entityManager.flush();
+    for (Client client : clients) {
+      entityManager.detach(client);
+    }
+  }
+
+  @Override
+  @Transactional
+  public Optional<Client> patch(final Client changes, final Collection<Long> expectedVersions) {
+    if (expectedVersions != null && expectedVersions.isEmpty()) {
+      return Optional.empty();
+    }
+    var previous = entityManager.createQuery("select c from Client c where c.clientId = :clientId", Client.class)
+        .setParameter("clientId", changes.getClientId())
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultStream()
+        .findFirst();
+    if (previous.isEmpty()) {
+      return previous;
+    }
+    entityManager.detach(previous.get());
+    if (expectedVersions != null && !expectedVersions.contains(previous.get().getVersion())) {
+      return Optional.empty();
+    }
+    var parameters = new HashMap<String, Object>();
+    var set = new StringBuilder();
+    set(set, parameters, "firstName", changes.getFirstName());
+    set(set, parameters, "lastName", changes.getLastName());
+    set(set, parameters, "idNumber", changes.getIdNumber());
+    set(set, parameters, "mobileNumber", changes.getMobileNumber());
+    set(set, parameters, "physicalAddress", changes.getPhysicalAddress());
+    var update = entityManager.createQuery("update Client c set " + set
+        + "c.version = coalesce(c.version, 0) + 1 where c.clientId = :clientId");
+    update.setParameter("clientId", changes.getClientId());
+    parameters.forEach(update::setParameter);
+    return update.executeUpdate() == 0 ? Optional.empty() : previous;
+  }
+
+  @Override
+  public Set<String> findExistingIdNumbers(final Collection<String> idNumbers) {
+    return findExisting("id_number", idNumbers);
+  }
+
+  @Override
+  public Set<String> findExistingMobileNumbers(final Collection<String> mobileNumbers) {
+    return findExisting("mobile_number", mobileNumbers);
+  }
+
+  private static void set(final StringBuilder set, final Map<String, Object> parameters, final String field,
+                          final String value) {
+    if (value != null) {
+      set.append("c.").append(field).append(" = :").append(field).append(", ");
+      parameters.put(field, value);
+    }
+  }
+
+  private Set<String> findExisting(final String column, final Collection<String> values) {
+    var existing = new HashSet<String>();
+    if (values.isEmpty()) {
+      return existing;
+    }
+    jdbcTemplate.query("select " + column + " from client where " + column + " in (:values)",
+        Map.of("values", values),
+        resultSet -> {
+          existing.add(resultSet.getString(1));
+        });
+    return existing;
+  }
+}
@@ -0,0 +1,18 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ClientChangeRepository extends JpaRepository<ClientChange, Long> {
+
+  List<ClientChange> findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(Long sequenceNumber, Pageable pageable);
+
+  @Query("select coalesce(max(c.sequenceNumber), 0) from ClientChange c")
+  long findMaxSequenceNumber();
+}
@@ -1,20 +1,47 @@
 package com.assessment.ClientManagementSystem.api.repository;
 
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
 import com.assessment.ClientManagementSystem.api.repository.entity.Client;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-import org.springframework.stereotype.Repository;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-@Repository
-public interface ClientRepository extends JpaRepository<Client, Integer> {
+/**
+ * The client reads and writes the services make, implemented over the database by {@link JpaClientRepository} and
+ * over other backends by {@link StoreClientRepository}.
+ */
+public interface ClientRepository extends ClientBatchRepository {
 
-  @Query("select c" +
-         "  from Client c" +
-         " where c.firstName like :key " +
-         "    or c.mobileNumber like :key" +
-         "    or c.idNumber like :key")
-  List<Client> findByKey(@Param("key") String key);
+  /**
+   * Inserts a client without a version and updates any other, failing with an optimistic locking failure if the
+   * stored client has moved on.
+   */
+  <S extends Client> S save(S client);
+
+  Optional<Client> findById(Integer clientId);
+
+  List<Client> findAllById(Iterable<Integer> clientIds);
+
+  List<Client> findByIdNumberIn(Collection<String> idNumbers);
+
+  int findMaxClientId();
+
+  Optional<Long> findVersionById(Integer clientId);
+
+  List<Client> findByClientIdGreaterThanOrderByClientIdAsc(Integer clientId, Pageable pageable);
+
+  /**
+   * Keyset page of the clients with an id greater than {@code after}, in id order.
+   */
+  List<ClientSummary> findSummariesAfter(Integer after, Pageable pageable);
+
+  /**
+   * Keyset page of the clients with an id greater than {@code after} and at most {@code last}, so an id range can
+   * be read in pages independently of the ranges around it.
+   */
+  List<ClientSummary> findSummariesBetween(Integer after, Integer last, Pageable pageable);
+
+  List<ClientSummary> findSummariesByIds(Collection<Integer> ids);
 }
@@ -0,0 +1,61 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Client rows kept outside the database, keyed by a {@code clientId} the store hands out in sequence. ID and mobile
+ * numbers are unique among the stored clients.
+ */
+public interface ClientStore {
+
+  int size();
+
+  /**
+   * Highest id handed out so far, or 0 if none has been.
+   */
+  int maxId();
+
+  Client find(int clientId);
+
+  Long findVersion(int clientId);
+
+  /**
+   * Returns up to {@code limit} clients with an id greater than {@code after} in id order, skipping the first
+   * {@code skip} of them.
+   */
+  List<Client> findAfter(int after, long skip, int limit);
+
+  /**
+   * Decodes every client in id order and returns those that match.
+   */
+  List<Client> findMatching(Predicate<Client> filter);
+
+  /**
+   * The client holding {@code idNumber}, looked up in the store's ID number index, or {@code null} if none does.
+   */
+  Client findByIdNumber(String idNumber);
+
+  boolean containsIdNumber(String idNumber);
+
+  boolean containsMobileNumber(String mobileNumber);
+
+  /**
+   * Inserts the clients as new rows, giving each the next id and version 0. Nothing is inserted if any of their
+   * ID or mobile numbers is already taken, or repeated among them.
+   */
+  void insert(List<Client> clients);
+
+  /**
+   * Replaces the rows of clients that are still at their {@code version} and increments it, like a version-checked
+   * SQL update. Returns the number of rows updated per client, so a {@code 0} marks a client that was changed or
+   * deleted by someone else. Nothing is updated if the new ID or mobile numbers clash with other clients.
+   */
+  int[] update(List<Client> clients);
+
+  boolean delete(int clientId);
+
+  void clear();
+}
@@ -0,0 +1,77 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+/**
+ * Brings the id sequences in line with the ids already stored, once at startup and before any write. Client and
+ * client change ids used to come from identity columns, so a database written before the move to
+ * {@link PooledSequenceGenerator} has rows but no sequence, and one written with another
+ * {@code client.id.increment-size} has a sequence with the wrong increment.
+ * <p>
+ * Each sequence is created if it is missing, given the configured increment, and restarted after the highest id in
+ * its table. Identity columns left in such a database keep working, since ids are now always supplied. Restarting
+ * a sequence is only safe while no other instance draws from it, which the rest of the in-process state already
+ * assumes.
+ * <p>
+ * Clients stored before the {@code version} column was added are given version 0, and the column is made
+ * {@code not null} with a default of 0, so every client has an ETag that an {@code If-Match} can match.
+ * <p>
+ * Kept eager under lazy initialization, and not started by the {@code memory} profile, which runs without a
+ * database.
+ */
+@Component
+@Lazy(false)
+@Profile("!memory")
+public class IdSequenceMigration {
+
+  private static final List<IdSequence> SEQUENCES = List.of(
+      new IdSequence("client_seq", "client", "client_id"),
+      new IdSequence("client_change_seq", "client_change", "sequence_number"));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManagerFactory entityManagerFactory;
+  private final int incrementSize;
+
+  public IdSequenceMigration(final JdbcTemplate jdbcTemplate,
+                             final EntityManagerFactory entityManagerFactory,
+                             @Value("${client.id.increment-size:50}") final int incrementSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManagerFactory = entityManagerFactory;
+    this.incrementSize = incrementSize;
+  }
+
+  @PostConstruct
+  public void migrate() {
+    // Waits for a deferred entity manager factory, so the schema exists before it is read.
+    entityManagerFactory.getMetamodel();
+    for (IdSequence sequence : SEQUENCES) {
+      align(sequence);
+    }
+    backfillVersions();
+  }
+
+  private void backfillVersions() {
+    jdbcTemplate.update("update client set version = 0 where version is null");
+    jdbcTemplate.execute("alter table client alter column version set default 0");
+    jdbcTemplate.execute("alter table client alter column version set not null");
+  }
+
+  private void align(final IdSequence sequence) {
+    jdbcTemplate.execute("create sequence if not exists " + sequence.name() + " start with 1 increment by " + incrementSize);
+    var maxId = jdbcTemplate.queryForObject(
+        "select coalesce(max(" + sequence.column() + "), 0) from " + sequence.table(), Long.class);
+    var restart = maxId == null || maxId == 0 ? "" : " restart with " + (maxId + 1);
+    jdbcTemplate.execute("alter sequence " + sequence.name() + restart + " increment by " + incrementSize);
+  }
+
+  private record IdSequence(String name, String table, String column) {
+  }
+}
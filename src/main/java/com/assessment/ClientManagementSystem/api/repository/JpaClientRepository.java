@@ -0,0 +1,71 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link ClientRepository} over the client table. {@link ClientBatchRepository} is extended directly, as Spring Data
+ * only looks for fragment implementations of directly extended interfaces.
+ */
+@Repository
+public interface JpaClientRepository extends JpaRepository<Client, Integer>, ClientRepository, ClientBatchRepository {
+
+  /**
+   * Clients whose first name, mobile number or ID number is like {@code key}, in id order. Each column is matched
+   * by its own select, so a key with a literal prefix is a range seek on that column's index; one {@code or} over
+   * the three columns scans the table.
+   */
+  @Query(nativeQuery = true, value =
+      "select c.* from client c where c.first_name like :key" +
+      " union select c.* from client c where c.mobile_number like :key" +
+      " union select c.* from client c where c.id_number like :key" +
+      " order by client_id")
+  List<Client> findByKey(@Param("key") String key);
+
+  @Override
+  @Query("select coalesce(max(c.clientId), 0) from Client c")
+  int findMaxClientId();
+
+  @Override
+  @Query("select c.version from Client c where c.clientId = :clientId")
+  Optional<Long> findVersionById(@Param("clientId") Integer clientId);
+
+  /**
+   * Selects straight into {@link ClientSummary} records. Constructor expressions are never managed, so no entities
+   * or dirty-checking snapshots are kept in the persistence context.
+   */
+  @Override
+  @Query("select new com.assessment.ClientManagementSystem.api.controller.model.ClientSummary(" +
+         "       c.clientId, c.firstName, c.lastName, c.idNumber, c.mobileNumber, c.physicalAddress)" +
+         "  from Client c" +
+         " where c.clientId > :after" +
+         " order by c.clientId")
+  List<ClientSummary> findSummariesAfter(@Param("after") Integer after, Pageable pageable);
+
+  @Override
+  @Query("select new com.assessment.ClientManagementSystem.api.controller.model.ClientSummary(" +
+         "       c.clientId, c.firstName, c.lastName, c.idNumber, c.mobileNumber, c.physicalAddress)" +
+         "  from Client c" +
+         " where c.clientId > :after" +
+         "   and c.clientId <= :last" +
+         " order by c.clientId")
+  List<ClientSummary> findSummariesBetween(@Param("after") Integer after, @Param("last") Integer last,
+                                           Pageable pageable);
+
+  @Override
+  @Query("select new com.assessment.ClientManagementSystem.api.controller.model.ClientSummary(" +
+         "       c.clientId, c.firstName, c.lastName, c.idNumber, c.mobileNumber, c.physicalAddress)" +
+         "  from Client c" +
+         " where c.clientId in :ids" +
+         " order by c.clientId")
+  List<ClientSummary> findSummariesByIds(@Param("ids") Collection<Integer> ids);
+}
@@ -0,0 +1,34 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence id generator with the pooled-lo optimizer: each call to the sequence reserves a block of
+ * {@code client.id.increment-size} ids, which are then handed out in memory. Unlike identity columns, ids are known
+ * before the insert runs, so Hibernate can send the inserts of a flush as JDBC batches.
+ * <p>
+ * The sequence is named by the {@code sequence_name} parameter of the mapping. Its increment must match the block
+ * size, which {@link IdSequenceMigration} makes sure of at startup.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+  public static final String INCREMENT_SIZE_SETTING = "client.id.increment-size";
+  public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+  @Override
+  public void configure(final Type type, final Properties params, final ServiceRegistry serviceRegistry) throws MappingException {
+    var settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+    var incrementSize = ConfigurationHelper.getInt(INCREMENT_SIZE_SETTING, settings, DEFAULT_INCREMENT_SIZE);
+    params.put(INCREMENT_PARAM, Integer.toString(incrementSize));
+    params.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+    super.configure(type, params, serviceRegistry);
+  }
+}
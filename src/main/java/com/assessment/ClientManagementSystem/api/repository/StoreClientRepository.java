@@ -0,0 +1,161 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ClientRepository} over a {@link ClientStore}, for backends that keep clients outside the database.
+ * Clients come back in id order.
+ */
+public abstract class StoreClientRepository implements ClientRepository {
+
+  private final ClientStore store;
+
+  protected StoreClientRepository(final ClientStore store) {
+    this.store = store;
+  }
+
+  @Override
+  public List<Client> findByIdNumberIn(final Collection<String> idNumbers) {
+    var clients = new ArrayList<Client>(idNumbers.size());
+    for (String idNumber : new HashSet<>(idNumbers)) {
+      var client = store.findByIdNumber(idNumber);
+      if (client != null) {
+        clients.add(client);
+      }
+    }
+    clients.sort(Comparator.comparing(Client::getClientId));
+    return clients;
+  }
+
+  @Override
+  public int findMaxClientId() {
+    return store.maxId();
+  }
+
+  @Override
+  public Optional<Long> findVersionById(final Integer clientId) {
+    return Optional.ofNullable(store.findVersion(clientId));
+  }
+
+  @Override
+  public List<Client> findByClientIdGreaterThanOrderByClientIdAsc(final Integer clientId, final Pageable pageable) {
+    return store.findAfter(clientId, pageable.getOffset(), pageable.getPageSize());
+  }
+
+  @Override
+  public List<ClientSummary> findSummariesAfter(final Integer after, final Pageable pageable) {
+    return findByClientIdGreaterThanOrderByClientIdAsc(after, pageable).stream()
+        .map(StoreClientRepository::toSummary)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<ClientSummary> findSummariesBetween(final Integer after, final Integer last, final Pageable pageable) {
+    return findSummariesAfter(after, pageable).stream()
+        .filter(summary -> summary.clientId() <= last)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<ClientSummary> findSummariesByIds(final Collection<Integer> ids) {
+    var summaries = new ArrayList<ClientSummary>(ids.size());
+    for (Integer id : new TreeSet<>(ids)) {
+      var client = store.find(id);
+      if (client != null) {
+        summaries.add(toSummary(client));
+      }
+    }
+    return summaries;
+  }
+
+  @Override
+  public void insertBatch(final List<Client> clients) {
+    store.insert(clients);
+  }
+
+  /**
+   * Reads the client and applies the patch as a version-checked update of the whole row. A write that lands in
+   * between makes the update match nothing rather than be overwritten; the patch is then applied again to the client
+   * as that write left it, so it only matches nothing once the client is gone or no longer at an expected version.
+   */
+  @Override
+  public Optional<Client> patch(final Client changes, final Collection<Long> expectedVersions) {
+    while (true) {
+      var previous = store.find(changes.getClientId());
+      if (previous == null || (expectedVersions != null && !expectedVersions.contains(previous.getVersion()))) {
+        return Optional.empty();
+      }
+      var patched = previous.patched(changes);
+      patched.setVersion(previous.getVersion());
+      if (store.update(List.of(patched))[0] != 0) {
+        return Optional.of(previous);
+      }
+    }
+  }
+
+  @Override
+  public Set<String> findExistingIdNumbers(final Collection<String> idNumbers) {
+    return idNumbers.stream().filter(store::containsIdNumber).collect(Collectors.toSet());
+  }
+
+  @Override
+  public Set<String> findExistingMobileNumbers(final Collection<String> mobileNumbers) {
+    return mobileNumbers.stream().filter(store::containsMobileNumber).collect(Collectors.toSet());
+  }
+
+  /**
+   * Inserts clients without a version and updates the rest, failing like a versioned entity if the stored
+   * client has moved on or gone.
+   */
+  @Override
+  public <S extends Client> S save(final S entity) {
+    Assert.notNull(entity, "Entity must not be null");
+    if (entity.getClientId() == null || entity.getVersion() == null) {
+      store.insert(List.of(entity));
+    } else if (store.update(List.of(entity))[0] == 0) {
+      throw new ObjectOptimisticLockingFailureException(Client.class, entity.getClientId());
+    }
+    return entity;
+  }
+
+  @Override
+  public Optional<Client> findById(final Integer id) {
+    Assert.notNull(id, "The given id must not be null");
+    return Optional.ofNullable(store.find(id));
+  }
+
+  @Override
+  public List<Client> findAllById(final Iterable<Integer> ids) {
+    var clients = new ArrayList<Client>();
+    for (Integer id : ids) {
+      findById(id).ifPresent(clients::add);
+    }
+    return clients;
+  }
+
+  /**
+   * Number of clients held.
+   */
+  public long count() {
+    return store.size();
+  }
+
+  private static ClientSummary toSummary(final Client client) {
+    return new ClientSummary(client.getClientId(), client.getFirstName(), client.getLastName(),
+        client.getIdNumber(), client.getMobileNumber(), client.getPhysicalAddress());
+  }
+}
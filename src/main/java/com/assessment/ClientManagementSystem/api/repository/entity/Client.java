@@ -2,15 +2,29 @@ package com.assessment.ClientManagementSystem.api.repository.entity;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 
+/**
+ * A client. {@code idNumber} and {@code mobileNumber} are indexed by their unique constraints and the first name by
+ * its own index, the three columns key searches match.
+ * <p>
+ * Updates write only the columns that changed.
+ */
 @Entity
+@DynamicUpdate
+@Table(indexes = @Index(name = "idx_client_first_name", columnList = "firstName"))
 @Getter
 @Setter
 public class Client {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "client_seq")
+  @GenericGenerator(name = "client_seq", strategy = "com.assessment.ClientManagementSystem.api.repository.PooledSequenceGenerator",
+      parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "client_seq"))
   private Integer clientId;
   private String firstName;
   private String lastName;
@@ -19,4 +33,22 @@ public class Client {
   @Column(unique = true)
   private String mobileNumber;
   private String physicalAddress;
+  @Version
+  private Long version;
+
+  /**
+   * Returns a copy of this client with the non-null fields of {@code changes} written over its own, at the next
+   * version: the client as a partial update leaves it. A client without a version is taken to be at version 0.
+   */
+  public Client patched(final Client changes) {
+    var patched = new Client();
+    patched.setClientId(clientId);
+    patched.setFirstName(changes.getFirstName() != null ? changes.getFirstName() : firstName);
+    patched.setLastName(changes.getLastName() != null ? changes.getLastName() : lastName);
+    patched.setIdNumber(changes.getIdNumber() != null ? changes.getIdNumber() : idNumber);
+    patched.setMobileNumber(changes.getMobileNumber() != null ? changes.getMobileNumber() : mobileNumber);
+    patched.setPhysicalAddress(changes.getPhysicalAddress() != null ? changes.getPhysicalAddress() : physicalAddress);
+    patched.setVersion(version == null ? 1L : version + 1);
+    return patched;
+  }
 }
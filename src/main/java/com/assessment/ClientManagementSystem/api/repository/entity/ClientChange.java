@@ -0,0 +1,49 @@
+package com.assessment.ClientManagementSystem.api.repository.entity;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * A row of the client change outbox: the client as it was written by one create or edit, numbered in commit order
+ * by {@code sequenceNumber}.
+ */
+@Entity
+@Getter
+@Setter
+public class ClientChange {
+  @Id
+  @GeneratedValue(generator = "client_change_seq")
+  @GenericGenerator(name = "client_change_seq", strategy = "com.assessment.ClientManagementSystem.api.repository.PooledSequenceGenerator",
+      parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "client_change_seq"))
+  private Long sequenceNumber;
+  @Enumerated(EnumType.STRING)
+  private ClientChangeType type;
+  private Instant changedAt;
+  private Integer clientId;
+  private Long version;
+  private String firstName;
+  private String lastName;
+  private String idNumber;
+  private String mobileNumber;
+  private String physicalAddress;
+
+  public static ClientChange of(final ClientChangeType type, final Client client, final Instant changedAt) {
+    var change = new ClientChange();
+    change.setType(type);
+    change.setChangedAt(changedAt);
+    change.setClientId(client.getClientId());
+    change.setVersion(client.getVersion());
+    change.setFirstName(client.getFirstName());
+    change.setLastName(client.getLastName());
+    change.setIdNumber(client.getIdNumber());
+    change.setMobileNumber(client.getMobileNumber());
+    change.setPhysicalAddress(client.getPhysicalAddress());
+    return change;
+  }
+}
@@ -0,0 +1,5 @@
+package com.assessment.ClientManagementSystem.api.repository.entity;
+
+public enum ClientChangeType {
+  CREATED, UPDATED
+}
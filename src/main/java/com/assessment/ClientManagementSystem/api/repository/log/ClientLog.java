@@ -0,0 +1,918 @@
+package com.assessment.ClientManagementSystem.api.repository.log;
+
+import com.assessment.ClientManagementSystem.api.repository.ClientStore;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * {@link ClientStore} persisted as a memory-mapped, append-only log with an on-disk index from client id to log
+ * position.
+ * <p>
+ * Every write appends one record per client to {@code clients.log}: the id, the version, the byte length of each
+ * of the five text fields and their UTF-8 bytes, guarded by a CRC32. A delete appends a record that marks the
+ * client deleted. Each record also carries the highest id handed out and the number of clients once it is
+ * applied, so a write commits with a single aligned 8-byte store of its last record's position into the log
+ * header. {@code clients.idx} holds the position of each client's latest record and is updated after the commit;
+ * its header holds the position of the last record it has applied.
+ * <p>
+ * Opening maps both files and reads their headers, with no replay. Records past the committed one belong to
+ * writes that never returned and are ignored. Committed records the index has not applied yet are applied again.
+ * An index that is missing, or belongs to another generation of the log, is rebuilt from the log.
+ * <p>
+ * {@link #compact()} drops superseded and deleted records by writing the next generation of both files beside
+ * the old ones and renaming them into place, log first. A crash between the renames leaves a log whose index is
+ * from the previous generation, so opening rebuilds the index.
+ * <p>
+ * Unique ID and mobile numbers are checked against maps built from the log on first use, and the bytes taken by
+ * superseded and deleted records are counted from the index the first time compaction is considered. Reads,
+ * including lookups in the number maps once they are built, share a lock and writes take it exclusively. The page cache is enough to survive a process crash; with
+ * {@code forceWrites} each record is also forced to disk before it is committed, and the index entries a write
+ * changed are forced before the index header moves past it, to survive power loss.
+ */
+final class ClientLog implements ClientStore, Closeable {
+
+  static final String LOG_FILE = "clients.log";
+  static final String INDEX_FILE = "clients.idx";
+  static final String COMPACTING = ".compacting";
+
+  static final int LAST = 16;
+  static final int INDEXED = 16;
+  static final int DEFAULT_SEGMENT_SHIFT = 26;
+
+  private static final int LOG_MAGIC = 0x434C4C47;
+  private static final int INDEX_MAGIC = 0x434C4958;
+  private static final int FORMAT = 1;
+  private static final int GENERATION = 8;
+  private static final int BASE_MAX_ID = 24;
+  private static final int LOG_HEADER = 32;
+  private static final int INDEX_HEADER = 24;
+  private static final int INDEX_SEGMENT_SHIFT = 22;
+
+  private static final int LENGTH = 0;
+  private static final int CRC = 4;
+  private static final int CLIENT_ID = 8;
+  private static final int FLAGS = 12;
+  private static final int VERSION = 16;
+  private static final int MAX_ID = 24;
+  private static final int SIZE = 28;
+  private static final int FIELD_LENGTHS = 32;
+
+  private static final int FIRST_NAME = 0;
+  private static final int LAST_NAME = 1;
+  private static final int ID_NUMBER = 2;
+  private static final int MOBILE_NUMBER = 3;
+  private static final int PHYSICAL_ADDRESS = 4;
+  private static final int FIELDS = 5;
+  private static final int RECORD_HEADER = FIELD_LENGTHS + FIELDS * Short.BYTES;
+  private static final int NULL_LENGTH = 0xFFFF;
+  private static final int MAX_FIELD_LENGTH = NULL_LENGTH - 1;
+  private static final byte[][] NO_FIELDS = new byte[FIELDS][];
+
+  private static final int LIVE = 0;
+  private static final int DELETED = 1;
+  private static final long MIN_COMPACTION_GARBAGE = 1 << 20;
+
+  private final Path directory;
+  private final boolean forceWrites;
+  private final int segmentShift;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private MappedFile log;
+  private MappedFile index;
+  private long generation;
+  private long last;
+  private long end;
+  private int maxId;
+  private int size;
+  private long garbage = -1;
+  private long dirtyFrom = Long.MAX_VALUE;
+  private long dirtyTo;
+  private volatile Map<String, Integer> idNumbers;
+  private volatile Map<String, Integer> mobileNumbers;
+
+  private ClientLog(final Path directory, final boolean forceWrites, final int segmentShift) {
+    this.directory = directory;
+    this.forceWrites = forceWrites;
+    this.segmentShift = segmentShift;
+  }
+
+  static ClientLog open(final Path directory, final boolean forceWrites) throws IOException {
+    return open(directory, forceWrites, DEFAULT_SEGMENT_SHIFT);
+  }
+
+  /**
+   * Opens the log in {@code directory}, creating it if there is none, with log segments of
+   * {@code 1 << segmentShift} bytes.
+   */
+  static ClientLog open(final Path directory, final boolean forceWrites, final int segmentShift) throws IOException {
+    Files.createDirectories(directory);
+    var clientLog = new ClientLog(directory, forceWrites, segmentShift);
+    try {
+      clientLog.recover();
+    } catch (IOException | RuntimeException e) {
+      clientLog.close();
+      throw e;
+    }
+    return clientLog;
+  }
+
+  @Override
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int maxId() {
+    lock.readLock().lock();
+    try {
+      return maxId;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Client find(final int clientId) {
+    lock.readLock().lock();
+    try {
+      var position = indexedPosition(clientId);
+      return position == 0 ? null : decode(clientId, position);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Long findVersion(final int clientId) {
+    lock.readLock().lock();
+    try {
+      var position = indexedPosition(clientId);
+      return position == 0 ? null : version(position);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Client> findAfter(final int after, final long skip, final int limit) {
+    var clients = new ArrayList<Client>(Math.min(limit, 1024));
+    var skipped = 0L;
+    lock.readLock().lock();
+    try {
+      for (long id = Math.max(after, 0) + 1L; id <= maxId && clients.size() < limit; id++) {
+        var position = indexedPosition((int) id);
+        if (position == 0) {
+          continue;
+        }
+        if (skipped < skip) {
+          skipped++;
+        } else {
+          clients.add(decode((int) id, position));
+        }
+      }
+      return clients;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Client> findMatching(final Predicate<Client> filter) {
+    var clients = new ArrayList<Client>();
+    lock.readLock().lock();
+    try {
+      for (int id = 1; id <= maxId; id++) {
+        var position = indexedPosition(id);
+        if (position != 0) {
+          var client = decode(id, position);
+          if (filter.test(client)) {
+            clients.add(client);
+          }
+        }
+      }
+      return clients;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Client findByIdNumber(final String idNumber) {
+    if (idNumber == null) {
+      return null;
+    }
+    ensureUniqueNumbers();
+    lock.readLock().lock();
+    try {
+      var clientId = idNumbers.get(idNumber);
+      return clientId == null ? null : decode(clientId, indexedPosition(clientId));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean containsIdNumber(final String idNumber) {
+    return contains(true, idNumber);
+  }
+
+  @Override
+  public boolean containsMobileNumber(final String mobileNumber) {
+    return contains(false, mobileNumber);
+  }
+
+  @Override
+  public void insert(final List<Client> clients) {
+    if (clients.isEmpty()) {
+      return;
+    }
+    var encoded = encodeAll(clients);
+    lock.writeLock().lock();
+    try {
+      loadUniqueNumbers();
+      checkUnique(clients, false);
+
+      var positions = new long[clients.size()];
+      var nextId = maxId;
+      var nextSize = size;
+      var position = end;
+      for (int i = 0; i < clients.size(); i++) {
+        if (nextId == Integer.MAX_VALUE) {
+          throw new IllegalStateException("Client ids are exhausted");
+        }
+        var fields = encoded.get(i);
+        position = reserve(log, position, recordLength(fields));
+        positions[i] = position;
+        position += align(writeRecord(log, position, ++nextId, LIVE, 0L, nextId, ++nextSize, fields));
+      }
+      commit(positions[positions.length - 1], position, nextId, nextSize);
+
+      var clientId = nextId - clients.size();
+      for (int i = 0; i < clients.size(); i++) {
+        var client = clients.get(i);
+        client.setClientId(++clientId);
+        client.setVersion(0L);
+        index(clientId, positions[i]);
+        putNumbers(client, clientId);
+      }
+      markIndexed();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public int[] update(final List<Client> clients) {
+    var encoded = encodeAll(clients);
+    var updated = new int[clients.size()];
+    lock.writeLock().lock();
+    try {
+      loadUniqueNumbers();
+      var applied = new ArrayList<Client>();
+      var appliedFields = new ArrayList<byte[][]>();
+      for (int i = 0; i < clients.size(); i++) {
+        var client = clients.get(i);
+        var position = client.getClientId() == null ? 0 : indexedPosition(client.getClientId());
+        if (position != 0 && Objects.equals(client.getVersion(), version(position))) {
+          updated[i] = 1;
+          applied.add(client);
+          appliedFields.add(encoded.get(i));
+        }
+      }
+      checkUnique(applied, true);
+      if (applied.isEmpty()) {
+        return updated;
+      }
+
+      var positions = new long[applied.size()];
+      var versions = new long[applied.size()];
+      var position = end;
+      for (int i = 0; i < applied.size(); i++) {
+        int clientId = applied.get(i).getClientId();
+        var fields = appliedFields.get(i);
+        versions[i] = version(indexedPosition(clientId)) + 1;
+        position = reserve(log, position, recordLength(fields));
+        positions[i] = position;
+        position += align(writeRecord(log, position, clientId, LIVE, versions[i], maxId, size, fields));
+      }
+      commit(positions[positions.length - 1], position, maxId, size);
+
+      for (int i = 0; i < applied.size(); i++) {
+        var client = applied.get(i);
+        int clientId = client.getClientId();
+        var previous = indexedPosition(clientId);
+        addGarbage(align(recordLength(log, previous)));
+        removeNumbers(previous, clientId);
+        index(clientId, positions[i]);
+        putNumbers(client, clientId);
+        client.setVersion(versions[i]);
+      }
+      markIndexed();
+      return updated;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean delete(final int clientId) {
+    lock.writeLock().lock();
+    try {
+      var previous = indexedPosition(clientId);
+      if (previous == 0) {
+        return false;
+      }
+      var position = reserve(log, end, RECORD_HEADER);
+      var length = writeRecord(log, position, clientId, DELETED, 0L, maxId, size - 1, NO_FIELDS);
+      commit(position, position + align(length), maxId, size - 1);
+
+      addGarbage(align(recordLength(log, previous)) + align(length));
+      removeNumbers(previous, clientId);
+      index(clientId, 0);
+      markIndexed();
+      return true;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes every client, keeping the id sequence, by starting a new, empty generation of the log.
+   */
+  @Override
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      rewrite(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Rewrites the log with only the latest record of each client.
+   */
+  void compact() throws IOException {
+    lock.writeLock().lock();
+    try {
+      rewrite(true);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Compacts the log if superseded and deleted records take up more than half of it. Returns whether it did.
+   */
+  boolean compactIfWasteful() throws IOException {
+    lock.writeLock().lock();
+    try {
+      var wasted = garbage();
+      if (wasted < MIN_COMPACTION_GARBAGE || wasted * 2 <= end - LOG_HEADER) {
+        return false;
+      }
+      rewrite(true);
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.writeLock().lock();
+    try {
+      if (log != null) {
+        log.close();
+      }
+      if (index != null) {
+        index.close();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void recover() throws IOException {
+    Files.deleteIfExists(directory.resolve(LOG_FILE + COMPACTING));
+    Files.deleteIfExists(directory.resolve(INDEX_FILE + COMPACTING));
+
+    log = new MappedFile(directory.resolve(LOG_FILE), segmentShift);
+    var header = log.segment(0);
+    if (header.getInt(0) == 0) {
+      initLog(log, 1, 0);
+    } else if (header.getInt(0) != LOG_MAGIC || header.getInt(Integer.BYTES) != FORMAT) {
+      throw new IOException("Not a client log: " + directory.resolve(LOG_FILE));
+    }
+    generation = header.getLong(GENERATION);
+    last = header.getLong(LAST);
+    if (last == 0) {
+      maxId = header.getInt(BASE_MAX_ID);
+      size = 0;
+      end = LOG_HEADER;
+    } else {
+      if (last >= log.capacity() || !isValid(log, last)) {
+        throw new IOException("The last committed record of the client log is corrupt");
+      }
+      var segment = log.segment(last);
+      var at = log.offset(last);
+      maxId = segment.getInt(at + MAX_ID);
+      size = segment.getInt(at + SIZE);
+      end = last + align(segment.getInt(at + LENGTH));
+    }
+
+    var indexPath = directory.resolve(INDEX_FILE);
+    index = new MappedFile(indexPath, INDEX_SEGMENT_SHIFT);
+    var indexHeader = index.segment(0);
+    if (indexHeader.getInt(0) != INDEX_MAGIC || indexHeader.getInt(Integer.BYTES) != FORMAT
+        || indexHeader.getLong(GENERATION) != generation || indexHeader.getLong(INDEXED) > last) {
+      index.close();
+      Files.delete(indexPath);
+      index = new MappedFile(indexPath, INDEX_SEGMENT_SHIFT);
+      initIndex(index, generation);
+    }
+    applyCommitted();
+  }
+
+  /**
+   * Brings the index up to the last committed record, applying the records after the last one it saw in log order.
+   */
+  private void applyCommitted() throws IOException {
+    var indexed = index.segment(0).getLong(INDEXED);
+    if (indexed == last) {
+      return;
+    }
+    var position = indexed == 0 ? LOG_HEADER : indexed + align(recordLength(log, indexed));
+    while (true) {
+      position = skipPadding(log, position);
+      if (position > last || !isValid(log, position)) {
+        throw new IOException("The client log is corrupt before its last committed record");
+      }
+      var segment = log.segment(position);
+      var at = log.offset(position);
+      var deleted = segment.getInt(at + FLAGS) == DELETED;
+      index(segment.getInt(at + CLIENT_ID), deleted ? 0 : position);
+      if (position == last) {
+        break;
+      }
+      position += align(segment.getInt(at + LENGTH));
+    }
+    markIndexed();
+  }
+
+  /**
+   * Makes the appended records durable by pointing the log header at the last of them.
+   */
+  private void commit(final long lastPosition, final long newEnd, final int newMaxId, final int newSize) {
+    log.segment(0).putLong(LAST, lastPosition);
+    if (forceWrites) {
+      log.force(0, LOG_HEADER);
+    }
+    last = lastPosition;
+    end = newEnd;
+    maxId = newMaxId;
+    size = newSize;
+  }
+
+  /**
+   * Moves the index header up to the last committed record, first forcing the entries changed since it last moved
+   * when writes are forced, so the header never reaches disk ahead of them.
+   */
+  private void markIndexed() {
+    if (forceWrites && dirtyFrom < dirtyTo) {
+      index.forceRange(dirtyFrom, dirtyTo);
+    }
+    dirtyFrom = Long.MAX_VALUE;
+    dirtyTo = 0;
+    index.segment(0).putLong(INDEXED, last);
+  }
+
+  /**
+   * Bytes of the log taken by superseded and deleted records and padding, counted from the index on first use
+   * and kept up to date by each write after that.
+   */
+  long garbage() {
+    lock.writeLock().lock();
+    try {
+      if (garbage < 0) {
+        var live = 0L;
+        for (int id = 1; id <= maxId; id++) {
+          var position = indexedPosition(id);
+          if (position != 0) {
+            live += align(recordLength(log, position));
+          }
+        }
+        garbage = end - LOG_HEADER - live;
+      }
+      return garbage;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void addGarbage(final long bytes) {
+    if (garbage >= 0) {
+      garbage += bytes;
+    }
+  }
+
+  /**
+   * Writes the next generation of the log and index beside the current ones, keeping the latest record of every
+   * client or none of them, and renames them into place.
+   */
+  private void rewrite(final boolean keepClients) throws IOException {
+    var compactingLog = directory.resolve(LOG_FILE + COMPACTING);
+    var compactingIndex = directory.resolve(INDEX_FILE + COMPACTING);
+    Files.deleteIfExists(compactingLog);
+    Files.deleteIfExists(compactingIndex);
+    var nextGeneration = generation + 1;
+    var nextLog = new MappedFile(compactingLog, segmentShift);
+    var nextIndex = new MappedFile(compactingIndex, INDEX_SEGMENT_SHIFT);
+
+    var position = (long) LOG_HEADER;
+    var lastPosition = 0L;
+    var count = 0;
+    try {
+      initLog(nextLog, nextGeneration, maxId);
+      initIndex(nextIndex, nextGeneration);
+      for (int id = 1; keepClients && id <= maxId; id++) {
+        var from = indexedPosition(id);
+        if (from == 0) {
+          continue;
+        }
+        var length = recordLength(log, from);
+        position = reserve(nextLog, position, length);
+        var segment = nextLog.segment(position);
+        var at = nextLog.offset(position);
+        segment.put(at, log.segment(from), log.offset(from), length);
+        segment.putInt(at + MAX_ID, maxId);
+        segment.putInt(at + SIZE, ++count);
+        writeCrc(segment, at, length);
+        setIndex(nextIndex, id, position);
+        lastPosition = position;
+        position += align(length);
+      }
+      nextLog.segment(0).putLong(LAST, lastPosition);
+      nextIndex.segment(0).putLong(INDEXED, lastPosition);
+      nextLog.force();
+      nextIndex.force();
+    } catch (IOException | RuntimeException e) {
+      nextLog.close();
+      nextIndex.close();
+      Files.deleteIfExists(compactingLog);
+      Files.deleteIfExists(compactingIndex);
+      throw e;
+    }
+
+    Files.move(compactingLog, directory.resolve(LOG_FILE), REPLACE_EXISTING, ATOMIC_MOVE);
+    log.close();
+    index.close();
+    log = nextLog;
+    index = nextIndex;
+    generation = nextGeneration;
+    last = lastPosition;
+    end = position;
+    size = count;
+    garbage = 0;
+    if (!keepClients && idNumbers != null) {
+      idNumbers = new HashMap<>();
+      mobileNumbers = new HashMap<>();
+    }
+    Files.move(compactingIndex, directory.resolve(INDEX_FILE), REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  private boolean contains(final boolean idNumber, final String value) {
+    if (value == null) {
+      return false;
+    }
+    ensureUniqueNumbers();
+    lock.readLock().lock();
+    try {
+      return (idNumber ? idNumbers : mobileNumbers).containsKey(value);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Builds the maps of unique numbers under the write lock if they have not been yet. Once built they are only
+   * ever replaced, never dropped, so lookups after this can share the read lock.
+   */
+  private void ensureUniqueNumbers() {
+    if (mobileNumbers != null) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      loadUniqueNumbers();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void loadUniqueNumbers() {
+    if (mobileNumbers != null) {
+      return;
+    }
+    var loadedIdNumbers = new HashMap<String, Integer>();
+    var loadedMobileNumbers = new HashMap<String, Integer>();
+    for (int id = 1; id <= maxId; id++) {
+      var position = indexedPosition(id);
+      if (position != 0) {
+        putIfPresent(loadedIdNumbers, readField(position, ID_NUMBER), id);
+        putIfPresent(loadedMobileNumbers, readField(position, MOBILE_NUMBER), id);
+      }
+    }
+    idNumbers = loadedIdNumbers;
+    mobileNumbers = loadedMobileNumbers;
+  }
+
+  private void putNumbers(final Client client, final int clientId) {
+    if (idNumbers != null) {
+      putIfPresent(idNumbers, client.getIdNumber(), clientId);
+      putIfPresent(mobileNumbers, client.getMobileNumber(), clientId);
+    }
+  }
+
+  private void removeNumbers(final long position, final int clientId) {
+    if (idNumbers != null) {
+      idNumbers.remove(readField(position, ID_NUMBER), clientId);
+      mobileNumbers.remove(readField(position, MOBILE_NUMBER), clientId);
+    }
+  }
+
+  private static void putIfPresent(final Map<String, Integer> numbers, final String number, final int clientId) {
+    if (number != null) {
+      numbers.put(number, clientId);
+    }
+  }
+
+  /**
+   * Rejects the clients if any of their numbers belongs to another client or appears twice among them.
+   */
+  private void checkUnique(final List<Client> clients, final boolean updating) {
+    var batchIdNumbers = new HashSet<String>();
+    var batchMobileNumbers = new HashSet<String>();
+    for (Client client : clients) {
+      var owner = updating ? client.getClientId() : null;
+      if (isTakenByOther(idNumbers, client.getIdNumber(), owner)
+          || isTakenByOther(mobileNumbers, client.getMobileNumber(), owner)
+          || isRepeated(batchIdNumbers, client.getIdNumber())
+          || isRepeated(batchMobileNumbers, client.getMobileNumber())) {
+        throw new DataIntegrityViolationException("ID number or mobile number already exists");
+      }
+    }
+  }
+
+  private static boolean isTakenByOther(final Map<String, Integer> numbers, final String number,
+                                        final Integer clientId) {
+    if (number == null) {
+      return false;
+    }
+    var owner = numbers.get(number);
+    return owner != null && !owner.equals(clientId);
+  }
+
+  private static boolean isRepeated(final Set<String> seen, final String value) {
+    return value != null && !seen.add(value);
+  }
+
+  private long indexedPosition(final int clientId) {
+    if (clientId <= 0) {
+      return 0;
+    }
+    var at = INDEX_HEADER + (long) clientId * Long.BYTES;
+    if (at + Long.BYTES > index.capacity()) {
+      return 0;
+    }
+    return index.segment(at).getLong(index.offset(at));
+  }
+
+  private void index(final int clientId, final long position) throws IOException {
+    var at = INDEX_HEADER + (long) clientId * Long.BYTES;
+    setIndex(index, clientId, position);
+    dirtyFrom = Math.min(dirtyFrom, at);
+    dirtyTo = Math.max(dirtyTo, at + Long.BYTES);
+  }
+
+  private static void setIndex(final MappedFile index, final int clientId, final long position) throws IOException {
+    var at = INDEX_HEADER + (long) clientId * Long.BYTES;
+    index.ensureCapacity(at + Long.BYTES);
+    index.segment(at).putLong(index.offset(at), position);
+  }
+
+  private static void initLog(final MappedFile log, final long generation, final int baseMaxId) {
+    var header = log.segment(0);
+    header.putInt(Integer.BYTES, FORMAT);
+    header.putLong(GENERATION, generation);
+    header.putLong(LAST, 0);
+    header.putInt(BASE_MAX_ID, baseMaxId);
+    header.putInt(0, LOG_MAGIC);
+  }
+
+  private static void initIndex(final MappedFile index, final long generation) {
+    var header = index.segment(0);
+    header.putInt(Integer.BYTES, FORMAT);
+    header.putLong(GENERATION, generation);
+    header.putLong(INDEXED, 0);
+    header.putInt(0, INDEX_MAGIC);
+  }
+
+  /**
+   * Finds room for a record of {@code length} bytes from {@code position}. A record never spans two segments, so
+   * if it does not fit in the rest of the current one a zero length is left as padding and it goes at the start
+   * of the next.
+   */
+  private static long reserve(final MappedFile file, final long position, final int length) throws IOException {
+    var start = position;
+    if (file.offset(start) + length > file.segmentSize()) {
+      file.segment(start).putInt(file.offset(start), 0);
+      start = file.nextSegment(start);
+    }
+    file.ensureCapacity(start + length);
+    return start;
+  }
+
+  private static long skipPadding(final MappedFile file, final long position) {
+    if (file.offset(position) + RECORD_HEADER > file.segmentSize()
+        || file.segment(position).getInt(file.offset(position) + LENGTH) == 0) {
+      return file.nextSegment(position);
+    }
+    return position;
+  }
+
+  private int writeRecord(final MappedFile file, final long position, final int clientId, final int flags,
+                          final long version, final int recordMaxId, final int recordSize, final byte[][] fields) {
+    var segment = file.segment(position);
+    var at = file.offset(position);
+    segment.putInt(at + CLIENT_ID, clientId);
+    segment.putInt(at + FLAGS, flags);
+    segment.putLong(at + VERSION, version);
+    segment.putInt(at + MAX_ID, recordMaxId);
+    segment.putInt(at + SIZE, recordSize);
+    var cursor = at + RECORD_HEADER;
+    for (int i = 0; i < FIELDS; i++) {
+      var field = fields[i];
+      segment.putShort(at + FIELD_LENGTHS + i * Short.BYTES, (short) (field == null ? NULL_LENGTH : field.length));
+      if (field != null) {
+        segment.put(cursor, field);
+        cursor += field.length;
+      }
+    }
+    var length = cursor - at;
+    segment.putInt(at + LENGTH, length);
+    writeCrc(segment, at, length);
+    if (forceWrites) {
+      file.force(position, length);
+    }
+    return length;
+  }
+
+  private static void writeCrc(final ByteBuffer segment, final int at, final int length) {
+    segment.putInt(at + CRC, crc(segment, at, length));
+  }
+
+  private static boolean isValid(final MappedFile file, final long position) {
+    var segment = file.segment(position);
+    var at = file.offset(position);
+    var length = segment.getInt(at + LENGTH);
+    return length >= RECORD_HEADER && at + length <= file.segmentSize()
+        && segment.getInt(at + CRC) == crc(segment, at, length);
+  }
+
+  private static int crc(final ByteBuffer segment, final int at, final int length) {
+    var crc = new CRC32();
+    crc.update(segment.slice(at + CLIENT_ID, length - CLIENT_ID));
+    return (int) crc.getValue();
+  }
+
+  private Client decode(final int clientId, final long position) {
+    var segment = log.segment(position);
+    var at = log.offset(position);
+    var values = new String[FIELDS];
+    var cursor = at + RECORD_HEADER;
+    for (int i = 0; i < FIELDS; i++) {
+      var length = fieldLength(segment, at, i);
+      if (length != NULL_LENGTH) {
+        var bytes = new byte[length];
+        segment.get(cursor, bytes);
+        values[i] = new String(bytes, UTF_8);
+        cursor += length;
+      }
+    }
+
+    var client = new Client();
+    client.setClientId(clientId);
+    client.setFirstName(values[FIRST_NAME]);
+    client.setLastName(values[LAST_NAME]);
+    client.setIdNumber(values[ID_NUMBER]);
+    client.setMobileNumber(values[MOBILE_NUMBER]);
+    client.setPhysicalAddress(values[PHYSICAL_ADDRESS]);
+    client.setVersion(segment.getLong(at + VERSION));
+    return client;
+  }
+
+  private String readField(final long position, final int field) {
+    var segment = log.segment(position);
+    var at = log.offset(position);
+    var length = fieldLength(segment, at, field);
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+    var cursor = at + RECORD_HEADER;
+    for (int i = 0; i < field; i++) {
+      var previous = fieldLength(segment, at, i);
+      if (previous != NULL_LENGTH) {
+        cursor += previous;
+      }
+    }
+    var bytes = new byte[length];
+    segment.get(cursor, bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private long version(final long position) {
+    return log.segment(position).getLong(log.offset(position) + VERSION);
+  }
+
+  private static int fieldLength(final ByteBuffer segment, final int at, final int field) {
+    return Short.toUnsignedInt(segment.getShort(at + FIELD_LENGTHS + field * Short.BYTES));
+  }
+
+  private static int recordLength(final MappedFile file, final long position) {
+    return file.segment(position).getInt(file.offset(position) + LENGTH);
+  }
+
+  private int recordLength(final byte[][] fields) {
+    var length = RECORD_HEADER;
+    for (byte[] field : fields) {
+      length += field == null ? 0 : field.length;
+    }
+    if (length > log.segmentSize()) {
+      throw new IllegalArgumentException("Client record of " + length + " bytes does not fit in a log segment");
+    }
+    return length;
+  }
+
+  private static List<byte[][]> encodeAll(final List<Client> clients) {
+    var encoded = new ArrayList<byte[][]>(clients.size());
+    for (Client client : clients) {
+      var fields = new byte[FIELDS][];
+      fields[FIRST_NAME] = encode(client.getFirstName());
+      fields[LAST_NAME] = encode(client.getLastName());
+      fields[ID_NUMBER] = encode(client.getIdNumber());
+      fields[MOBILE_NUMBER] = encode(client.getMobileNumber());
+      fields[PHYSICAL_ADDRESS] = encode(client.getPhysicalAddress());
+      encoded.add(fields);
+    }
+    return encoded;
+  }
+
+  private static byte[] encode(final String value) {
+    if (value == null) {
+      return null;
+    }
+    var bytes = value.getBytes(UTF_8);
+    if (bytes.length > MAX_FIELD_LENGTH) {
+      throw new IllegalArgumentException("Client fields are limited to " + MAX_FIELD_LENGTH + " bytes");
+    }
+    return bytes;
+  }
+
+  private static long align(final int length) {
+    return (length + 7L) & -8L;
+  }
+}
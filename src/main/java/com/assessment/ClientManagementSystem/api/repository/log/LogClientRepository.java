@@ -0,0 +1,90 @@
+package com.assessment.ClientManagementSystem.api.repository.log;
+
+import com.assessment.ClientManagementSystem.api.repository.StoreClientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client repository persisted in a memory-mapped, append-only {@link ClientLog} in {@code client.log.directory}
+ * instead of the database. Enabled with {@code client.storage=log}.
+ * <p>
+ * Startup only maps the log and its index, so it takes the same time however many clients there are. Every
+ * {@code client.log.compact-interval} the log is rewritten without superseded and deleted records if they take
+ * up more than half of it. Writes survive a crash of the process as soon as they return; set
+ * {@code client.log.force-writes} to also force them to disk, to survive losing power.
+ */
+@Slf4j
+@Repository
+@Primary
+@ConditionalOnProperty(name = "client.storage", havingValue = "log")
+public class LogClientRepository extends StoreClientRepository {
+
+  private final ClientLog clientLog;
+  private final Duration compactInterval;
+  private ScheduledExecutorService compactions;
+
+  @Autowired
+  public LogClientRepository(@Value("${client.log.directory:data}") final Path directory,
+                             @Value("${client.log.force-writes:false}") final boolean forceWrites,
+                             @Value("${client.log.compact-interval:10m}") final Duration compactInterval)
+      throws IOException {
+    this(ClientLog.open(directory, forceWrites), compactInterval);
+  }
+
+  private LogClientRepository(final ClientLog clientLog, final Duration compactInterval) {
+    super(clientLog);
+    this.clientLog = clientLog;
+    this.compactInterval = compactInterval;
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!compactInterval.isZero()) {
+      compactions = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "client-log-compaction");
+        thread.setDaemon(true);
+        return thread;
+      });
+      var interval = compactInterval.toMillis();
+      compactions.scheduleWithFixedDelay(this::compactQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws IOException {
+    if (compactions != null) {
+      compactions.shutdownNow();
+    }
+    clientLog.close();
+  }
+
+  /**
+   * Rewrites the log with only the latest record of each client.
+   */
+  public void compact() throws IOException {
+    clientLog.compact();
+  }
+
+  private void compactQuietly() {
+    try {
+      if (clientLog.compactIfWasteful()) {
+        log.info("Compacted the client log");
+      }
+    } catch (IOException | RuntimeException e) {
+      log.warn("Could not compact the client log", e);
+    }
+  }
+}
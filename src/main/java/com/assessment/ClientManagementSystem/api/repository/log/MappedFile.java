@@ -0,0 +1,93 @@
+package com.assessment.ClientManagementSystem.api.repository.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A file mapped into memory as fixed-size segments, so it can grow past the 2 GB limit of a single mapping. The
+ * file is extended a whole segment at a time as positions beyond it are needed. Not thread safe.
+ */
+final class MappedFile implements Closeable {
+
+  private final FileChannel channel;
+  private final int segmentShift;
+  private final int segmentSize;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+  /**
+   * Opens or creates the file and maps all of it, in segments of {@code 1 << segmentShift} bytes.
+   */
+  MappedFile(final Path path, final int segmentShift) throws IOException {
+    this.channel = FileChannel.open(path, CREATE, READ, WRITE);
+    this.segmentShift = segmentShift;
+    this.segmentSize = 1 << segmentShift;
+    ensureCapacity(Math.max(channel.size(), 1));
+  }
+
+  int segmentSize() {
+    return segmentSize;
+  }
+
+  long capacity() {
+    return (long) segments.size() << segmentShift;
+  }
+
+  /**
+   * Maps further segments, growing the file, until it holds at least {@code length} bytes.
+   */
+  void ensureCapacity(final long length) throws IOException {
+    while (capacity() < length) {
+      segments.add(channel.map(FileChannel.MapMode.READ_WRITE, capacity(), segmentSize));
+    }
+  }
+
+  MappedByteBuffer segment(final long position) {
+    return segments.get((int) (position >>> segmentShift));
+  }
+
+  int offset(final long position) {
+    return (int) (position & (segmentSize - 1));
+  }
+
+  /**
+   * Starting position of the segment after the one holding {@code position}.
+   */
+  long nextSegment(final long position) {
+    return ((position >>> segmentShift) + 1) << segmentShift;
+  }
+
+  void force(final long position, final int length) {
+    segment(position).force(offset(position), length);
+  }
+
+  /**
+   * Forces the bytes from {@code from} up to {@code to}, which may span several segments.
+   */
+  void forceRange(final long from, final long to) {
+    for (long position = from; position < to; position = nextSegment(position)) {
+      force(position, (int) (Math.min(to, nextSegment(position)) - position));
+    }
+  }
+
+  void force() throws IOException {
+    for (MappedByteBuffer segment : segments) {
+      segment.force();
+    }
+    channel.force(true);
+  }
+
+  @Override
+  public void close() throws IOException {
+    segments.clear();
+    channel.close();
+  }
+}
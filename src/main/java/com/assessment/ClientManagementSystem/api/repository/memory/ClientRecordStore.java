@@ -0,0 +1,757 @@
+package com.assessment.ClientManagementSystem.api.repository.memory;
+
+import com.assessment.ClientManagementSystem.api.repository.ClientStore;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * {@link ClientStore} of compact records in 4 MB pages of direct memory.
+ * <p>
+ * A record is the version followed by the byte length of each of the five text fields and their UTF-8 bytes.
+ * Records are only ever appended: an update writes a new record and points the client's id at it, and once more
+ * than half of the pages is dead space the live records are copied into fresh pages. Ids are handed out in
+ * sequence, so the id index is a plain array from client id to record address; the ID and mobile numbers are
+ * kept unique through open-addressing tables of client ids that hash and compare the encoded bytes in place.
+ * All of these tables live in direct memory too, so the heap only holds the page and table handles however many
+ * clients are stored.
+ * <p>
+ * Reads share a lock and writes take it exclusively.
+ */
+final class ClientRecordStore implements ClientStore {
+
+  private static final int FIRST_NAME = 0;
+  private static final int LAST_NAME = 1;
+  private static final int ID_NUMBER = 2;
+  private static final int MOBILE_NUMBER = 3;
+  private static final int PHYSICAL_ADDRESS = 4;
+  private static final int FIELDS = 5;
+
+  private static final int PAGE_SHIFT = 22;
+  private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+  private static final int ALIGNMENT_SHIFT = 3;
+  private static final int HEADER = Long.BYTES + FIELDS * Short.BYTES;
+  private static final int NULL_LENGTH = 0xFFFF;
+  private static final int MAX_FIELD_LENGTH = NULL_LENGTH - 1;
+  private static final long MIN_COMPACTION_GARBAGE = 4L * PAGE_SIZE;
+
+  private static final int INITIAL_SLOTS = 1024;
+  private static final int EMPTY = 0;
+  private static final int TOMBSTONE = -1;
+
+  private static final int SNAPSHOT_MAGIC = 0x434C4E54;
+  private static final int SNAPSHOT_FORMAT = 1;
+  private static final int IO_BUFFER_SIZE = 1 << 20;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final UniqueIndex idNumbers = new UniqueIndex(ID_NUMBER);
+  private final UniqueIndex mobileNumbers = new UniqueIndex(MOBILE_NUMBER);
+  private List<ByteBuffer> pages = new ArrayList<>();
+  private long end;
+  private long garbage;
+  private IntArray addresses = new IntArray(INITIAL_SLOTS);
+  private int maxId;
+  private int size;
+
+  @Override
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int maxId() {
+    lock.readLock().lock();
+    try {
+      return maxId;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Client find(final int clientId) {
+    lock.readLock().lock();
+    try {
+      var position = position(clientId);
+      return position < 0 ? null : decode(clientId, position);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Long findVersion(final int clientId) {
+    lock.readLock().lock();
+    try {
+      var position = position(clientId);
+      return position < 0 ? null : version(position);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Client> findAfter(final int after, final long skip, final int limit) {
+    var clients = new ArrayList<Client>(Math.min(limit, INITIAL_SLOTS));
+    var skipped = 0L;
+    lock.readLock().lock();
+    try {
+      for (long id = Math.max(after, 0) + 1L; id <= maxId && clients.size() < limit; id++) {
+        var position = position((int) id);
+        if (position < 0) {
+          continue;
+        }
+        if (skipped < skip) {
+          skipped++;
+        } else {
+          clients.add(decode((int) id, position));
+        }
+      }
+      return clients;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Client> findMatching(final Predicate<Client> filter) {
+    var clients = new ArrayList<Client>();
+    lock.readLock().lock();
+    try {
+      for (int id = 1; id <= maxId; id++) {
+        var position = position(id);
+        if (position >= 0) {
+          var client = decode(id, position);
+          if (filter.test(client)) {
+            clients.add(client);
+          }
+        }
+      }
+      return clients;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Client findByIdNumber(final String idNumber) {
+    if (idNumber == null) {
+      return null;
+    }
+    var encoded = idNumber.getBytes(UTF_8);
+    lock.readLock().lock();
+    try {
+      var clientId = idNumbers.find(encoded);
+      return clientId == EMPTY ? null : decode(clientId, position(clientId));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean containsIdNumber(final String idNumber) {
+    return contains(idNumbers, idNumber);
+  }
+
+  @Override
+  public boolean containsMobileNumber(final String mobileNumber) {
+    return contains(mobileNumbers, mobileNumber);
+  }
+
+  @Override
+  public void insert(final List<Client> clients) {
+    var encoded = encodeAll(clients);
+    lock.writeLock().lock();
+    try {
+      checkUnique(clients, encoded, false);
+      for (int i = 0; i < clients.size(); i++) {
+        if (maxId == Integer.MAX_VALUE) {
+          throw new IllegalStateException("Client ids are exhausted");
+        }
+        var clientId = ++maxId;
+        setPosition(clientId, append(0L, encoded.get(i)));
+        idNumbers.add(clientId);
+        mobileNumbers.add(clientId);
+        size++;
+        clients.get(i).setClientId(clientId);
+        clients.get(i).setVersion(0L);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public int[] update(final List<Client> clients) {
+    var encoded = encodeAll(clients);
+    var updated = new int[clients.size()];
+    lock.writeLock().lock();
+    try {
+      var applied = new ArrayList<Client>();
+      var appliedFields = new ArrayList<byte[][]>();
+      for (int i = 0; i < clients.size(); i++) {
+        var client = clients.get(i);
+        var position = client.getClientId() == null ? -1 : position(client.getClientId());
+        if (position >= 0 && Objects.equals(client.getVersion(), version(position))) {
+          updated[i] = 1;
+          applied.add(client);
+          appliedFields.add(encoded.get(i));
+        }
+      }
+      checkUnique(applied, appliedFields, true);
+
+      for (int i = 0; i < applied.size(); i++) {
+        var client = applied.get(i);
+        int clientId = client.getClientId();
+        var position = position(clientId);
+        var version = version(position) + 1;
+        idNumbers.remove(clientId);
+        mobileNumbers.remove(clientId);
+        garbage += align(recordLength(page(position), offset(position)));
+        setPosition(clientId, append(version, appliedFields.get(i)));
+        idNumbers.add(clientId);
+        mobileNumbers.add(clientId);
+        client.setVersion(version);
+      }
+      compactIfWasteful();
+      return updated;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean delete(final int clientId) {
+    lock.writeLock().lock();
+    try {
+      var position = position(clientId);
+      if (position < 0) {
+        return false;
+      }
+      idNumbers.remove(clientId);
+      mobileNumbers.remove(clientId);
+      garbage += align(recordLength(page(position), offset(position)));
+      addresses.set(clientId, 0);
+      size--;
+      compactIfWasteful();
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      reset();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Writes every live record to {@code path} through a temporary file that then replaces it, so a failed write
+   * leaves the previous snapshot in place. Writers wait while it runs.
+   */
+  void writeSnapshot(final Path path) throws IOException {
+    var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    lock.readLock().lock();
+    try (var channel = FileChannel.open(temporary, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      var buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+      buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_FORMAT).putInt(maxId).putInt(size);
+      for (int id = 1; id <= maxId; id++) {
+        var position = position(id);
+        if (position < 0) {
+          continue;
+        }
+        var page = page(position);
+        var at = offset(position);
+        var length = recordLength(page, at);
+        if (buffer.remaining() < 2 * Integer.BYTES + length) {
+          drain(channel, buffer);
+        }
+        buffer.putInt(id).putInt(length).put(page.slice(at, length));
+      }
+      drain(channel, buffer);
+      channel.force(false);
+    } finally {
+      lock.readLock().unlock();
+    }
+    Files.move(temporary, path, REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  /**
+   * Replaces the contents with a snapshot written by {@link #writeSnapshot}. Records are copied into the pages
+   * as stored, without decoding them, and only the unique indexes are rebuilt.
+   */
+  void readSnapshot(final Path path) throws IOException {
+    lock.writeLock().lock();
+    try (var channel = FileChannel.open(path, READ)) {
+      reset();
+      var buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+      buffer.limit(0);
+      fill(channel, buffer, 4 * Integer.BYTES);
+      if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_FORMAT) {
+        throw new IOException("Not a client snapshot: " + path);
+      }
+      var snapshotMaxId = buffer.getInt();
+      var count = buffer.getInt();
+      addresses.ensureIndex(snapshotMaxId);
+      idNumbers.presize(count);
+      mobileNumbers.presize(count);
+      for (int i = 0; i < count; i++) {
+        fill(channel, buffer, 2 * Integer.BYTES);
+        var clientId = buffer.getInt();
+        var length = buffer.getInt();
+        fill(channel, buffer, length);
+        var position = reserve(length);
+        page(position).put(offset(position), buffer, buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        setPosition(clientId, position);
+        idNumbers.add(clientId);
+        mobileNumbers.add(clientId);
+      }
+      maxId = snapshotMaxId;
+      size = count;
+    } catch (IOException | RuntimeException e) {
+      reset();
+      throw e;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private boolean contains(final UniqueIndex index, final String value) {
+    if (value == null) {
+      return false;
+    }
+    var encoded = value.getBytes(UTF_8);
+    lock.readLock().lock();
+    try {
+      return index.find(encoded) != EMPTY;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Rejects the clients if any of their numbers belongs to another client or appears twice among them.
+   */
+  private void checkUnique(final List<Client> clients, final List<byte[][]> encoded, final boolean updating) {
+    var batchIdNumbers = new HashSet<String>();
+    var batchMobileNumbers = new HashSet<String>();
+    for (int i = 0; i < clients.size(); i++) {
+      var client = clients.get(i);
+      var owner = updating ? client.getClientId() : EMPTY;
+      var fields = encoded.get(i);
+      if (isTakenByOther(idNumbers, fields[ID_NUMBER], owner)
+          || isTakenByOther(mobileNumbers, fields[MOBILE_NUMBER], owner)
+          || isRepeated(batchIdNumbers, client.getIdNumber())
+          || isRepeated(batchMobileNumbers, client.getMobileNumber())) {
+        throw new DataIntegrityViolationException("ID number or mobile number already exists");
+      }
+    }
+  }
+
+  private static boolean isTakenByOther(final UniqueIndex index, final byte[] value, final int clientId) {
+    if (value == null) {
+      return false;
+    }
+    var owner = index.find(value);
+    return owner != EMPTY && owner != clientId;
+  }
+
+  private static boolean isRepeated(final Set<String> seen, final String value) {
+    return value != null && !seen.add(value);
+  }
+
+  private void compactIfWasteful() {
+    if (garbage >= MIN_COMPACTION_GARBAGE && garbage * 2 > end) {
+      compact();
+    }
+  }
+
+  /**
+   * Copies the live records into fresh pages in id order and drops the old ones.
+   */
+  private void compact() {
+    var old = pages;
+    pages = new ArrayList<>();
+    end = 0;
+    garbage = 0;
+    for (int id = 1; id <= maxId; id++) {
+      var from = position(id);
+      if (from < 0) {
+        continue;
+      }
+      var source = old.get(pageIndex(from));
+      var at = offset(from);
+      var length = recordLength(source, at);
+      var to = reserve(length);
+      page(to).put(offset(to), source, at, length);
+      setPosition(id, to);
+    }
+  }
+
+  private void reset() {
+    pages = new ArrayList<>();
+    end = 0;
+    garbage = 0;
+    addresses = new IntArray(INITIAL_SLOTS);
+    maxId = 0;
+    size = 0;
+    idNumbers.reset();
+    mobileNumbers.reset();
+  }
+
+  private long append(final long version, final byte[][] fields) {
+    var length = HEADER;
+    for (byte[] field : fields) {
+      length += field == null ? 0 : field.length;
+    }
+    var position = reserve(length);
+    var page = page(position);
+    var at = offset(position);
+    page.putLong(at, version);
+    var cursor = at + HEADER;
+    for (int i = 0; i < FIELDS; i++) {
+      var field = fields[i];
+      page.putShort(at + Long.BYTES + i * Short.BYTES, (short) (field == null ? NULL_LENGTH : field.length));
+      if (field != null) {
+        page.put(cursor, field);
+        cursor += field.length;
+      }
+    }
+    return position;
+  }
+
+  /**
+   * Reserves room for a record of {@code length} bytes, starting a new page if it does not fit in the current one.
+   */
+  private long reserve(final int length) {
+    if (offset(end) + length > PAGE_SIZE) {
+      end = (long) (pageIndex(end) + 1) << PAGE_SHIFT;
+    }
+    if ((end >>> ALIGNMENT_SHIFT) >= Integer.MAX_VALUE) {
+      throw new IllegalStateException("Client store is full");
+    }
+    while (pages.size() <= pageIndex(end)) {
+      pages.add(ByteBuffer.allocateDirect(PAGE_SIZE));
+    }
+    var position = end;
+    end += align(length);
+    return position;
+  }
+
+  private Client decode(final int clientId, final long position) {
+    var page = page(position);
+    var at = offset(position);
+    var values = new String[FIELDS];
+    var cursor = at + HEADER;
+    for (int i = 0; i < FIELDS; i++) {
+      var length = fieldLength(page, at, i);
+      if (length != NULL_LENGTH) {
+        var bytes = new byte[length];
+        page.get(cursor, bytes);
+        values[i] = new String(bytes, UTF_8);
+        cursor += length;
+      }
+    }
+
+    var client = new Client();
+    client.setClientId(clientId);
+    client.setFirstName(values[FIRST_NAME]);
+    client.setLastName(values[LAST_NAME]);
+    client.setIdNumber(values[ID_NUMBER]);
+    client.setMobileNumber(values[MOBILE_NUMBER]);
+    client.setPhysicalAddress(values[PHYSICAL_ADDRESS]);
+    client.setVersion(page.getLong(at));
+    return client;
+  }
+
+  private static List<byte[][]> encodeAll(final List<Client> clients) {
+    var encoded = new ArrayList<byte[][]>(clients.size());
+    for (Client client : clients) {
+      var fields = new byte[FIELDS][];
+      fields[FIRST_NAME] = encode(client.getFirstName());
+      fields[LAST_NAME] = encode(client.getLastName());
+      fields[ID_NUMBER] = encode(client.getIdNumber());
+      fields[MOBILE_NUMBER] = encode(client.getMobileNumber());
+      fields[PHYSICAL_ADDRESS] = encode(client.getPhysicalAddress());
+      encoded.add(fields);
+    }
+    return encoded;
+  }
+
+  private static byte[] encode(final String value) {
+    if (value == null) {
+      return null;
+    }
+    var bytes = value.getBytes(UTF_8);
+    if (bytes.length > MAX_FIELD_LENGTH) {
+      throw new IllegalArgumentException("Client fields are limited to " + MAX_FIELD_LENGTH + " bytes");
+    }
+    return bytes;
+  }
+
+  private long position(final int clientId) {
+    if (clientId <= 0 || clientId >= addresses.length()) {
+      return -1;
+    }
+    var address = addresses.get(clientId);
+    return address == 0 ? -1 : (long) (address - 1) << ALIGNMENT_SHIFT;
+  }
+
+  private void setPosition(final int clientId, final long position) {
+    addresses.ensureIndex(clientId);
+    addresses.set(clientId, (int) (position >>> ALIGNMENT_SHIFT) + 1);
+  }
+
+  private long version(final long position) {
+    return page(position).getLong(offset(position));
+  }
+
+  private ByteBuffer page(final long position) {
+    return pages.get(pageIndex(position));
+  }
+
+  private static int pageIndex(final long position) {
+    return (int) (position >>> PAGE_SHIFT);
+  }
+
+  private static int offset(final long position) {
+    return (int) (position & (PAGE_SIZE - 1));
+  }
+
+  private static long align(final int length) {
+    return (length + (1L << ALIGNMENT_SHIFT) - 1) & -(1L << ALIGNMENT_SHIFT);
+  }
+
+  private static int fieldLength(final ByteBuffer page, final int at, final int field) {
+    return Short.toUnsignedInt(page.getShort(at + Long.BYTES + field * Short.BYTES));
+  }
+
+  private static int fieldOffset(final ByteBuffer page, final int at, final int field) {
+    var cursor = at + HEADER;
+    for (int i = 0; i < field; i++) {
+      var length = fieldLength(page, at, i);
+      if (length != NULL_LENGTH) {
+        cursor += length;
+      }
+    }
+    return cursor;
+  }
+
+  private static int recordLength(final ByteBuffer page, final int at) {
+    return fieldOffset(page, at, FIELDS) - at;
+  }
+
+  /**
+   * The smallest table, as a power of two, that holds {@code count} values at most half full.
+   */
+  private static int capacityFor(final int count) {
+    return Math.max(INITIAL_SLOTS, Integer.highestOneBit((count + 1) * 2 - 1) << 1);
+  }
+
+  private static int hash(final byte[] value) {
+    var hash = 0;
+    for (byte b : value) {
+      hash = 31 * hash + b;
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int hash(final ByteBuffer page, final int offset, final int length) {
+    var hash = 0;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + page.get(offset + i);
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static void drain(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Reads from the channel until at least {@code needed} bytes are left in the buffer.
+   */
+  private static void fill(final FileChannel channel, final ByteBuffer buffer, final int needed) throws IOException {
+    if (buffer.remaining() >= needed) {
+      return;
+    }
+    buffer.compact();
+    while (buffer.position() < needed) {
+      if (channel.read(buffer) < 0) {
+        throw new EOFException("Client snapshot is truncated");
+      }
+    }
+    buffer.flip();
+  }
+
+  /**
+   * Open-addressing table of the client ids holding each value of one field. Clients whose field is null are
+   * not indexed.
+   */
+  private final class UniqueIndex {
+
+    private final int field;
+    private IntArray slots = new IntArray(INITIAL_SLOTS);
+    private int used;
+
+    private UniqueIndex(final int field) {
+      this.field = field;
+    }
+
+    int find(final byte[] value) {
+      var mask = slots.length() - 1;
+      for (int slot = hash(value) & mask; ; slot = (slot + 1) & mask) {
+        var clientId = slots.get(slot);
+        if (clientId == EMPTY) {
+          return EMPTY;
+        }
+        if (clientId != TOMBSTONE && matches(clientId, value)) {
+          return clientId;
+        }
+      }
+    }
+
+    /**
+     * Indexes the value in the client's current record.
+     */
+    void add(final int clientId) {
+      var position = position(clientId);
+      var page = page(position);
+      var at = offset(position);
+      var length = fieldLength(page, at, field);
+      if (length == NULL_LENGTH) {
+        return;
+      }
+      if ((used + 1) * 4L > slots.length() * 3L) {
+        rehash();
+      }
+      place(clientId, hash(page, fieldOffset(page, at, field), length));
+    }
+
+    /**
+     * Removes the value in the client's current record, so it must be called before the record is replaced.
+     */
+    void remove(final int clientId) {
+      var position = position(clientId);
+      var page = page(position);
+      var at = offset(position);
+      var length = fieldLength(page, at, field);
+      if (length == NULL_LENGTH) {
+        return;
+      }
+      var mask = slots.length() - 1;
+      for (int slot = hash(page, fieldOffset(page, at, field), length) & mask; ; slot = (slot + 1) & mask) {
+        var current = slots.get(slot);
+        if (current == EMPTY) {
+          return;
+        }
+        if (current == clientId) {
+          slots.set(slot, TOMBSTONE);
+          return;
+        }
+      }
+    }
+
+    void reset() {
+      slots = new IntArray(INITIAL_SLOTS);
+      used = 0;
+    }
+
+    /**
+     * Sizes an empty table for {@code count} values, so loading them never rehashes.
+     */
+    void presize(final int count) {
+      slots = new IntArray(capacityFor(count));
+    }
+
+    private void place(final int clientId, final int hash) {
+      var mask = slots.length() - 1;
+      for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+        var current = slots.get(slot);
+        if (current == EMPTY || current == TOMBSTONE) {
+          if (current == EMPTY) {
+            used++;
+          }
+          slots.set(slot, clientId);
+          return;
+        }
+      }
+    }
+
+    /**
+     * Rebuilds the table without tombstones, at most half full.
+     */
+    private void rehash() {
+      var old = slots;
+      var live = 0;
+      for (int i = 0; i < old.length(); i++) {
+        if (old.get(i) > 0) {
+          live++;
+        }
+      }
+      slots = new IntArray(capacityFor(live));
+      used = 0;
+      for (int i = 0; i < old.length(); i++) {
+        var clientId = old.get(i);
+        if (clientId > 0) {
+          var position = position(clientId);
+          var page = page(position);
+          var at = offset(position);
+          place(clientId, hash(page, fieldOffset(page, at, field), fieldLength(page, at, field)));
+        }
+      }
+    }
+
+    private boolean matches(final int clientId, final byte[] value) {
+      var position = position(clientId);
+      var page = page(position);
+      var at = offset(position);
+      if (fieldLength(page, at, field) != value.length) {
+        return false;
+      }
+      var offset = fieldOffset(page, at, field);
+      for (int i = 0; i < value.length; i++) {
+        if (page.get(offset + i) != value[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
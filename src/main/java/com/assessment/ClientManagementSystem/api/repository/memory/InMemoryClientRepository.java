@@ -0,0 +1,97 @@
+package com.assessment.ClientManagementSystem.api.repository.memory;
+
+import com.assessment.ClientManagementSystem.api.repository.StoreClientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client repository that keeps the whole client table in memory, for read-heavy deployments that run
+ * without a database. Enabled by the {@code memory} profile.
+ * <p>
+ * Clients are held in a {@link ClientRecordStore} of encoded records in direct memory rather than as entities,
+ * so the table adds almost nothing to the heap or to garbage collection however large it grows. The store is
+ * written to {@code client.memory.snapshot-path} every {@code client.memory.snapshot-interval} and on shutdown,
+ * and read back from it at startup; writes made since the last snapshot are lost if the process dies.
+ */
+@Slf4j
+@Repository
+@Primary
+@Profile("memory")
+public class InMemoryClientRepository extends StoreClientRepository {
+
+  private final ClientRecordStore store;
+  private final Path snapshotPath;
+  private final Duration snapshotInterval;
+  private ScheduledExecutorService snapshots;
+
+  @Autowired
+  public InMemoryClientRepository(@Value("${client.memory.snapshot-path:clients.snapshot}") final Path snapshotPath,
+                                  @Value("${client.memory.snapshot-interval:5m}") final Duration snapshotInterval) {
+    this(new ClientRecordStore(), snapshotPath, snapshotInterval);
+  }
+
+  private InMemoryClientRepository(final ClientRecordStore store, final Path snapshotPath,
+                                   final Duration snapshotInterval) {
+    super(store);
+    this.store = store;
+    this.snapshotPath = snapshotPath;
+    this.snapshotInterval = snapshotInterval;
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    if (Files.exists(snapshotPath)) {
+      store.readSnapshot(snapshotPath);
+    }
+    if (!snapshotInterval.isZero()) {
+      snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "client-snapshot");
+        thread.setDaemon(true);
+        return thread;
+      });
+      var interval = snapshotInterval.toMillis();
+      snapshots.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws IOException {
+    if (snapshots != null) {
+      snapshots.shutdownNow();
+    }
+    snapshot();
+  }
+
+  /**
+   * Writes the current contents to the snapshot file.
+   */
+  public synchronized void snapshot() throws IOException {
+    var directory = snapshotPath.toAbsolutePath().getParent();
+    if (directory != null) {
+      Files.createDirectories(directory);
+    }
+    store.writeSnapshot(snapshotPath);
+  }
+
+  private void snapshotQuietly() {
+    try {
+      snapshot();
+    } catch (IOException | RuntimeException e) {
+      log.warn("Could not write client snapshot to {}", snapshotPath, e);
+    }
+  }
+}
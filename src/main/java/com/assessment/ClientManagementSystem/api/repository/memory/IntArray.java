@@ -0,0 +1,41 @@
+package com.assessment.ClientManagementSystem.api.repository.memory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Growable array of ints held in direct memory, so large tables add nothing for the garbage collector to trace.
+ * New elements are zero. Not thread safe.
+ */
+final class IntArray {
+
+  private ByteBuffer buffer;
+
+  IntArray(final int length) {
+    buffer = ByteBuffer.allocateDirect(length * Integer.BYTES);
+  }
+
+  int length() {
+    return buffer.capacity() / Integer.BYTES;
+  }
+
+  int get(final int index) {
+    return buffer.getInt(index * Integer.BYTES);
+  }
+
+  void set(final int index, final int value) {
+    buffer.putInt(index * Integer.BYTES, value);
+  }
+
+  /**
+   * Grows the array, at least doubling it, until {@code index} is in range.
+   */
+  void ensureIndex(final int index) {
+    var length = length();
+    if (index < length) {
+      return;
+    }
+    var grown = ByteBuffer.allocateDirect(Math.max(length * 2, index + 1) * Integer.BYTES);
+    grown.put(0, buffer, 0, buffer.capacity());
+    buffer = grown;
+  }
+}
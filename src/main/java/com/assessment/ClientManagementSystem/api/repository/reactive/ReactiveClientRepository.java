@@ -0,0 +1,153 @@
+package com.assessment.ClientManagementSystem.api.repository.reactive;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the client table over R2DBC, for the reactive stack. The table itself is still created
+ * and owned by JPA; this repository reads and writes it with plain SQL.
+ * <p>
+ * The connection pool is created here rather than as a bean: Spring Boot backs the JDBC datasource off as soon as
+ * an R2DBC connection factory bean exists. It connects with the datasource's credentials, since both open the
+ * same database.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveClientRepository implements DisposableBean {
+
+  private static final String SELECT = "select client_id, first_name, last_name, id_number, mobile_number,"
+      + " physical_address, version from client";
+
+  private final ConnectionPool connectionPool;
+  private final DatabaseClient databaseClient;
+
+  public ReactiveClientRepository(@Value("${client.reactive.r2dbc-url}") final String url,
+                                  @Value("${spring.datasource.username:sa}") final String username,
+                                  @Value("${spring.datasource.password:}") final String password,
+                                  @Value("${client.reactive.pool-size:10}") final int poolSize) {
+    var options = ConnectionFactoryOptions.parse(url).mutate()
+        .option(ConnectionFactoryOptions.USER, username)
+        .option(ConnectionFactoryOptions.PASSWORD, password)
+        .build();
+    this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+        .initialSize(poolSize)
+        .maxSize(poolSize)
+        .build());
+    this.databaseClient = DatabaseClient.create(connectionPool);
+  }
+
+  @Override
+  public void destroy() {
+    connectionPool.dispose();
+  }
+
+  public Mono<Client> findById(final int clientId) {
+    return databaseClient.sql(SELECT + " where client_id = :clientId")
+        .bind("clientId", clientId)
+        .map(ReactiveClientRepository::toClient)
+        .one();
+  }
+
+  /**
+   * Keyset page of at most {@code limit} clients with an id greater than {@code after}.
+   */
+  public Flux<Client> findAfter(final int after, final int limit) {
+    return databaseClient.sql(SELECT + " where client_id > :after order by client_id limit :limit")
+        .bind("after", after)
+        .bind("limit", limit)
+        .map(ReactiveClientRepository::toClient)
+        .all();
+  }
+
+  /**
+   * Every client in id order. Rows are fetched from the driver as they are requested downstream, so a slow
+   * subscriber slows the read instead of having rows buffered for it.
+   */
+  public Flux<Client> findAll() {
+    return databaseClient.sql(SELECT + " order by client_id")
+        .map(ReactiveClientRepository::toClient)
+        .all();
+  }
+
+  public Flux<Client> findByKey(final String key) {
+    return databaseClient.sql(SELECT + " where first_name like :key"
+            + " union " + SELECT + " where mobile_number like :key"
+            + " union " + SELECT + " where id_number like :key"
+            + " order by client_id")
+        .bind("key", key)
+        .map(ReactiveClientRepository::toClient)
+        .all();
+  }
+
+  /**
+   * Inserts the client with an id drawn straight from {@code client_seq}. The pooled-lo optimizer on the JPA side
+   * only hands out blocks that start at values it drew itself, so the two never give out the same id.
+   */
+  public Mono<Client> insert(final Client client) {
+    var spec = databaseClient.sql("insert into client (client_id, first_name, last_name, id_number, mobile_number,"
+        + " physical_address, version) values (next value for client_seq, :firstName, :lastName, :idNumber,"
+        + " :mobileNumber, :physicalAddress, 0)");
+    return bindFields(spec, client)
+        .filter(statement -> statement.returnGeneratedValues("client_id"))
+        .map(row -> row.get("client_id", Integer.class))
+        .one()
+        .map(clientId -> {
+          client.setClientId(clientId);
+          client.setVersion(0L);
+          return client;
+        });
+  }
+
+  /**
+   * Updates the client if it is still at its {@code version}, incrementing the version. Emits the number of
+   * rows updated, so {@code 0} means the client was changed or removed by someone else.
+   */
+  public Mono<Integer> update(final Client client) {
+    var spec = databaseClient.sql("update client set first_name = :firstName, last_name = :lastName,"
+        + " id_number = :idNumber, mobile_number = :mobileNumber, physical_address = :physicalAddress,"
+        + " version = version + 1 where client_id = :clientId and version = :version");
+    return bindFields(spec, client)
+        .bind("clientId", client.getClientId())
+        .bind("version", client.getVersion())
+        .fetch()
+        .rowsUpdated();
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bindFields(final DatabaseClient.GenericExecuteSpec spec,
+                                                              final Client client) {
+    return bindNullable(bindNullable(bindNullable(bindNullable(bindNullable(spec,
+        "firstName", client.getFirstName()),
+        "lastName", client.getLastName()),
+        "idNumber", client.getIdNumber()),
+        "mobileNumber", client.getMobileNumber()),
+        "physicalAddress", client.getPhysicalAddress());
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bindNullable(final DatabaseClient.GenericExecuteSpec spec,
+                                                                final String name, final String value) {
+    return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+  }
+
+  private static Client toClient(final Row row) {
+    var client = new Client();
+    client.setClientId(row.get("client_id", Integer.class));
+    client.setFirstName(row.get("first_name", String.class));
+    client.setLastName(row.get("last_name", String.class));
+    client.setIdNumber(row.get("id_number", String.class));
+    client.setMobileNumber(row.get("mobile_number", String.class));
+    client.setPhysicalAddress(row.get("physical_address", String.class));
+    client.setVersion(row.get("version", Long.class));
+    return client;
+  }
+}
@@ -0,0 +1,171 @@
+package com.assessment.ClientManagementSystem.api.service;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientImportReport;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientImportResult;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChangeType;
+import com.assessment.ClientManagementSystem.api.service.changes.ClientChangeLog;
+import com.assessment.ClientManagementSystem.api.service.search.ClientSearchIndex;
+import com.assessment.ClientManagementSystem.api.service.uniqueness.ClientUniquenessGuard;
+import com.assessment.ClientManagementSystem.api.service.validation.ClientValidator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Imports clients in batches: each batch is validated in parallel, checked for duplicate ID and mobile numbers
+ * against itself and the table, and inserted with a single JDBC batch. Each batch is recorded in the
+ * {@link ClientChangeLog}, when there is one, in the transaction that inserts it.
+ */
+@Service
+public class ClientImportService {
+
+  private static final String DUPLICATE_MESSAGE = "ID number or Mobile number that you have supplied already exists";
+
+  private final ClientValidator clientValidator;
+  private final ClientRepository clientRepository;
+  private final ClientSearchIndex clientSearchIndex;
+  private final ClientUniquenessGuard clientUniquenessGuard;
+  private final ClientChangeLog clientChangeLog;
+  private final int batchSize;
+
+  public ClientImportService(final ClientValidator clientValidator,
+                             final ClientRepository clientRepository,
+                             final ClientSearchIndex clientSearchIndex,
+                             final ClientUniquenessGuard clientUniquenessGuard,
+                             final ObjectProvider<ClientChangeLog> clientChangeLog,
+                             @Value("${client.import.batch-size:1000}") final int batchSize) {
+    this.clientValidator = clientValidator;
+    this.clientRepository = clientRepository;
+    this.clientSearchIndex = clientSearchIndex;
+    this.clientUniquenessGuard = clientUniquenessGuard;
+    this.clientChangeLog = clientChangeLog.getIfAvailable();
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Imports the records in order, reading at most one batch ahead. A record that cannot be read ends the import;
+   * it and every record after it are left out of the report.
+   */
+  public ClientImportReport importClients(final Iterator<ClientCreateRequest> records) {
+    var report = new ClientImportReport();
+    var batch = new ArrayList<ImportRow>(batchSize);
+    var row = 0;
+    while (true) {
+      ClientCreateRequest request;
+      try {
+        if (!records.hasNext()) {
+          break;
+        }
+        request = records.next();
+      } catch (RuntimeException e) {
+        report.add(ClientImportResult.rejected(row + 1, "Record could not be read"));
+        break;
+      }
+      batch.add(new ImportRow(++row, request));
+      if (batch.size() == batchSize) {
+        importBatch(batch, report);
+        batch.clear();
+      }
+    }
+    importBatch(batch, report);
+    report.sortByRow();
+    return report;
+  }
+
+  private void importBatch(final List<ImportRow> batch, final ClientImportReport report) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    var errors = batch.parallelStream()
+        .map(this::validate)
+        .collect(Collectors.toList());
+
+    var accepted = new ArrayList<ImportRow>();
+    var idNumbers = new HashSet<String>();
+    var mobileNumbers = new HashSet<String>();
+    for (int i = 0; i < batch.size(); i++) {
+      var row = batch.get(i);
+      if (errors.get(i) != null) {
+        report.add(ClientImportResult.rejected(row.row(), errors.get(i)));
+      } else if (idNumbers.contains(row.request().getIdNumber())
+          || mobileNumbers.contains(row.request().getMobileNumber())) {
+        report.add(ClientImportResult.rejected(row.row(), DUPLICATE_MESSAGE));
+      } else {
+        idNumbers.add(row.request().getIdNumber());
+        mobileNumbers.add(row.request().getMobileNumber());
+        accepted.add(row);
+      }
+    }
+
+    var existingIdNumbers = clientRepository.findExistingIdNumbers(idNumbers);
+    var existingMobileNumbers = clientRepository.findExistingMobileNumbers(mobileNumbers);
+    var inserts = new ArrayList<ImportRow>();
+    for (ImportRow row : accepted) {
+      if (existingIdNumbers.contains(row.request().getIdNumber())
+          || existingMobileNumbers.contains(row.request().getMobileNumber())) {
+        report.add(ClientImportResult.rejected(row.row(), DUPLICATE_MESSAGE));
+      } else {
+        inserts.add(row);
+      }
+    }
+    insert(inserts, report);
+  }
+
+  /**
+   * Inserts the rows as one batch. If a concurrent writer claimed one of the numbers after the duplicate check,
+   * the batch is retried row by row so the conflict is reported against the right row.
+   */
+  private void insert(final List<ImportRow> rows, final ClientImportReport report) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    var clients = rows.stream()
+        .map(row -> ClientService.toClient(row.request()))
+        .collect(Collectors.toList());
+    try {
+      if (clientChangeLog == null) {
+        clientRepository.insertBatch(clients);
+      } else {
+        clientChangeLog.write(ClientChangeType.CREATED, () -> {
+          clientRepository.insertBatch(clients);
+          return clients;
+        });
+      }
+    } catch (DataIntegrityViolationException dive) {
+      if (rows.size() == 1) {
+        report.add(ClientImportResult.rejected(rows.get(0).row(), DUPLICATE_MESSAGE));
+        return;
+      }
+      for (ImportRow row : rows) {
+        insert(List.of(row), report);
+      }
+      return;
+    }
+    for (int i = 0; i < rows.size(); i++) {
+      Client client = clients.get(i);
+      clientSearchIndex.index(client);
+      clientUniquenessGuard.register(client);
+      report.add(ClientImportResult.created(rows.get(i).row(), client.getClientId()));
+    }
+  }
+
+  private String validate(final ImportRow row) {
+    if (row.request() == null) {
+      return "Record cannot be empty";
+    }
+    return clientValidator.validate(row.request()).getFirstMessage();
+  }
+
+  private record ImportRow(int row, ClientCreateRequest request) {
+  }
+}
@@ -1,53 +1,134 @@
 package com.assessment.ClientManagementSystem.api.service;
 
+import com.assessment.ClientManagementSystem.api.controller.model.ClientBatchResponse;
 import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
 import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
 import com.assessment.ClientManagementSystem.api.exception.DatabaseException;
 import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
 import com.assessment.ClientManagementSystem.api.exception.NotFoundException;
+import com.assessment.ClientManagementSystem.api.exception.PreconditionFailedException;
 import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
 import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.service.cache.ClientCache;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics.Operation;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics.Phase;
+import com.assessment.ClientManagementSystem.api.service.search.ClientSearchIndex;
+import com.assessment.ClientManagementSystem.api.service.uniqueness.ClientUniquenessGuard;
+import com.assessment.ClientManagementSystem.api.service.uniqueness.ClientUniquenessGuard.Reservation;
+import com.assessment.ClientManagementSystem.api.service.validation.ClientValidator;
+import com.assessment.ClientManagementSystem.api.service.write.ClientWriter;
+import com.assessment.ClientManagementSystem.api.service.write.PatchedClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class ClientService {
 
+  private static final String MODIFIED_MESSAGE = "Client has been modified since it was last read";
+  private static final String DUPLICATE_MESSAGE = "ID number or Mobile number that you have supplied already exists";
+
   private final ClientRepository clientRepository;
+  private final ClientSearchIndex clientSearchIndex;
+  private final ClientCache clientCache;
+  private final ClientValidator clientValidator;
+  private final ClientMetrics clientMetrics;
+  private final ClientWriter clientWriter;
+  private final ClientUniquenessGuard clientUniquenessGuard;
+  private final int batchChunkSize;
+  private final int batchMaxSize;
 
-  public ClientService(final ClientRepository clientRepository) {
+  public ClientService(final ClientRepository clientRepository,
+                       final ClientSearchIndex clientSearchIndex,
+                       final ClientCache clientCache,
+                       final ClientValidator clientValidator,
+                       final ClientMetrics clientMetrics,
+                       final ClientWriter clientWriter,
+                       final ClientUniquenessGuard clientUniquenessGuard,
+                       @Value("${client.batch.chunk-size:500}") final int batchChunkSize,
+                       @Value("${client.batch.max-size:1000}") final int batchMaxSize) {
     this.clientRepository = clientRepository;
+    this.clientSearchIndex = clientSearchIndex;
+    this.clientCache = clientCache;
+    this.clientValidator = clientValidator;
+    this.clientMetrics = clientMetrics;
+    this.clientWriter = clientWriter;
+    this.clientUniquenessGuard = clientUniquenessGuard;
+    this.batchChunkSize = batchChunkSize;
+    this.batchMaxSize = batchMaxSize;
   }
 
   public ClientModel createClient(final ClientCreateRequest request) throws InvalidFieldException, DatabaseException {
-    validateClientCreateRequest(request);
-    var client = new Client();
-    client.setFirstName(request.getFirstName());
-    client.setLastName(request.getLastName());
-    client.setIdNumber(request.getIdNumber());
-    client.setMobileNumber(request.getMobileNumber());
-    client.setPhysicalAddress(request.getPhysicalAddress());
-
+    var timing = clientMetrics.start(Operation.CREATE);
     try {
-      clientRepository.save(client);
-      return new ClientModel(client);
-    } catch (DataIntegrityViolationException dive) {
-      throw new InvalidFieldException("ID number or Mobile number that you have supplied already exists");
-    } catch (Exception e) {
-      throw new DatabaseException("Something went wrong! Please try again later");
+      validateClientCreateRequest(request);
+      var reservation = requireUnique(clientUniquenessGuard.reserve(request.getIdNumber(), request.getMobileNumber()));
+      timing.phase(Phase.VALIDATION);
+      try (reservation) {
+        var client = clientWriter.insert(toClient(request));
+        reservation.confirm(client.getClientId());
+        clientSearchIndex.index(client);
+        clientCache.put(client);
+        timing.phase(Phase.REPOSITORY);
+        var model = new ClientModel(client);
+        timing.phase(Phase.MAPPING);
+        return model;
+      } catch (DataIntegrityViolationException dive) {
+        throw new InvalidFieldException(DUPLICATE_MESSAGE);
+      } catch (Exception e) {
+        throw new DatabaseException("Something went wrong! Please try again later");
+      }
+    } finally {
+      timing.stop();
     }
   }
 
 
+  /**
+   * Returns at most {@code size} clients ordered by id, starting after the {@code after} cursor.
+   */
+  public List<ClientSummary> getClients(final Integer after, final int size) {
+    var timing = clientMetrics.start(Operation.LIST);
+    try {
+      var clients = findClientsAfter(after, size);
+      timing.phase(Phase.REPOSITORY);
+      return clients;
+    } finally {
+      timing.stop();
+    }
+  }
 
-  public List<ClientModel> getAllClients() {
-    var results = clientRepository.findAll();
-    return results.stream()
-        .map(ClientModel::new)
-        .collect(Collectors.toList());
+  /**
+   * Walks the whole client table in id order, reading {@code batchSize} rows at a time so that
+   * only one batch is held in memory.
+   */
+  public void forEachClient(final int batchSize, final Consumer<ClientSummary> action) {
+    Integer after = null;
+    List<ClientSummary> batch;
+    do {
+      batch = findClientsAfter(after, batchSize);
+      batch.forEach(action);
+      if (!batch.isEmpty()) {
+        after = batch.get(batch.size() - 1).clientId();
+      }
+    } while (batch.size() == batchSize);
   }
 
   public ClientModel getClientById(final Integer id) throws InvalidFieldException, NotFoundException {
@@ -55,73 +136,311 @@ public class ClientService {
       throw new InvalidFieldException("Id cannot be null");
     }
 
-    var client = clientRepository.findById(id)
-        .orElseThrow(()-> new NotFoundException("Provided id does not exist"));
-
-    return new ClientModel(client);
-  }
+    var timing = clientMetrics.start(Operation.GET);
+    try {
+      var client = clientCache.get(id, key -> clientRepository.findById(key).orElse(null));
+      timing.phase(Phase.REPOSITORY);
+      if (client == null) {
+        throw new NotFoundException("Provided id does not exist");
+      }
 
-  public List<ClientModel> searchForClientByKey(final String key) {
-    var results = clientRepository.findByKey(key);
-    return results.stream()
-        .map(ClientModel::new)
-        .collect(Collectors.toList());
+      var model = new ClientModel(client);
+      timing.phase(Phase.MAPPING);
+      return model;
+    } finally {
+      timing.stop();
+    }
   }
 
-  public ClientModel editClient(final Integer id, final ClientCreateRequest request) throws InvalidFieldException, NotFoundException, DatabaseException {
+  /**
+   * Returns the client's current version, from the cache when it holds the client and otherwise with a
+   * single-column query, so conditional requests never load the whole entity.
+   */
+  public Long getClientVersion(final Integer id) throws InvalidFieldException, NotFoundException {
     if (id == null) {
       throw new InvalidFieldException("Id cannot be null");
     }
 
-    var client = clientRepository.findById(id)
-        .orElseThrow(()-> new NotFoundException("Provided id does not exist"));
+    var cached = clientCache.getIfPresent(id);
+    if (cached != null) {
+      return cached.getVersion();
+    }
+    return clientRepository.findVersionById(id)
+        .orElseThrow(() -> new NotFoundException("Provided id does not exist"));
+  }
+
+  /**
+   * Returns the clients matching the {@code LIKE} pattern {@code key}, in id order. The ids come from the
+   * {@link ClientSearchIndex} and the clients are read with one {@code IN} query per {@code client.batch.chunk-size}
+   * ids, since a short key can match most of the table.
+   */
+  public List<ClientSummary> searchForClientByKey(final String key) {
+    var timing = clientMetrics.start(Operation.SEARCH);
+    try {
+      var ids = clientSearchIndex.search(key);
+      timing.phase(Phase.INDEX);
+      if (ids.isEmpty()) {
+        return List.of();
+      }
+      var clients = new ArrayList<ClientSummary>(ids.size());
+      for (List<Integer> chunk : chunks(ids)) {
+        clients.addAll(clientRepository.findSummariesByIds(chunk));
+      }
+      timing.phase(Phase.REPOSITORY);
+      return clients;
+    } finally {
+      timing.stop();
+    }
+  }
 
-    validateClientCreateRequest(request);
+  /**
+   * Returns at most {@code limit} clients matching the words of {@code key}, best match first, as ranked by
+   * {@link ClientSearchIndex#searchRanked(String, int)}.
+   */
+  public List<ClientSummary> searchRankedForClientsByKey(final String key, final int limit) {
+    var timing = clientMetrics.start(Operation.RANKED_SEARCH);
+    try {
+      var ids = clientSearchIndex.searchRanked(key, limit);
+      timing.phase(Phase.INDEX);
+      if (ids.isEmpty()) {
+        return List.of();
+      }
+      var summaries = new HashMap<Integer, ClientSummary>();
+      for (ClientSummary summary : clientRepository.findSummariesByIds(ids)) {
+        summaries.put(summary.clientId(), summary);
+      }
+      var clients = ids.stream()
+          .map(summaries::get)
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
+      timing.phase(Phase.REPOSITORY);
+      return clients;
+    } finally {
+      timing.stop();
+    }
+  }
 
-    client.setFirstName(request.getFirstName());
-    client.setLastName(request.getLastName());
-    client.setIdNumber(request.getIdNumber());
-    client.setMobileNumber(request.getMobileNumber());
-    client.setPhysicalAddress(request.getPhysicalAddress());
+  /**
+   * Looks up many clients at once by id and by ID number. Ids are answered from the cache where possible, and the
+   * rest are read with one {@code IN} query per {@code client.batch.chunk-size} values. Ids and ID numbers that
+   * match no client are reported in the response instead of failing the lookup.
+   */
+  public ClientBatchResponse getClientsByIds(final Collection<Integer> ids, final Collection<String> idNumbers) throws InvalidFieldException {
+    var requestedIds = distinct(ids, "Ids cannot be null");
+    var requestedIdNumbers = distinct(idNumbers, "ID numbers cannot be null");
+    requireBatchSize(requestedIds.size() + requestedIdNumbers.size());
+
+    var timing = clientMetrics.start(Operation.BATCH_GET);
+    try {
+      var found = new HashMap<Integer, Client>();
+      var misses = new ArrayList<Integer>();
+      for (Integer id : requestedIds) {
+        var cached = clientCache.getIfPresent(id);
+        if (cached != null) {
+          found.put(id, cached);
+        } else {
+          misses.add(id);
+        }
+      }
+      for (List<Integer> chunk : chunks(misses)) {
+        for (Client client : clientRepository.findAllById(chunk)) {
+          clientCache.put(client);
+          found.put(client.getClientId(), client);
+        }
+      }
+      var foundIdNumbers = new HashSet<String>();
+      for (List<String> chunk : chunks(requestedIdNumbers)) {
+        for (Client client : clientRepository.findByIdNumberIn(chunk)) {
+          clientCache.put(client);
+          found.putIfAbsent(client.getClientId(), client);
+          foundIdNumbers.add(client.getIdNumber());
+        }
+      }
+      timing.phase(Phase.REPOSITORY);
+
+      var clients = found.values().stream()
+          .sorted(Comparator.comparing(Client::getClientId))
+          .map(ClientModel::new)
+          .collect(Collectors.toList());
+      var missingIds = requestedIds.stream()
+          .filter(id -> !found.containsKey(id))
+          .collect(Collectors.toList());
+      var missingIdNumbers = requestedIdNumbers.stream()
+          .filter(idNumber -> !foundIdNumbers.contains(idNumber))
+          .collect(Collectors.toList());
+      timing.phase(Phase.MAPPING);
+      return new ClientBatchResponse(clients, missingIds, missingIdNumbers);
+    } finally {
+      timing.stop();
+    }
+  }
 
+  /**
+   * Runs {@link #searchForClientByKey(String)} for every key, reading the clients matched by all of them with
+   * one {@code IN} query per {@code client.batch.chunk-size} ids. Results keep the order of the keys; a key
+   * that matches nothing maps to an empty list.
+   */
+  public Map<String, List<ClientSummary>> searchForClientsByKeys(final Collection<String> keys) throws InvalidFieldException {
+    var requestedKeys = distinct(keys, "Keys cannot be null");
+    requireBatchSize(requestedKeys.size());
+
+    var timing = clientMetrics.start(Operation.BATCH_SEARCH);
     try {
-      clientRepository.save(client);
-      return new ClientModel(client);
-    } catch (DataIntegrityViolationException dive) {
-      throw new InvalidFieldException("ID number or Mobile number that you have supplied already exists");
-    } catch (Exception e) {
-      throw new DatabaseException("Something went wrong! Please try again later");
+      var idsByKey = new LinkedHashMap<String, List<Integer>>();
+      var matchedIds = new TreeSet<Integer>();
+      for (String key : requestedKeys) {
+        var ids = clientSearchIndex.search(key);
+        idsByKey.put(key, ids);
+        matchedIds.addAll(ids);
+      }
+      timing.phase(Phase.INDEX);
+
+      var summaries = new HashMap<Integer, ClientSummary>();
+      for (List<Integer> chunk : chunks(new ArrayList<>(matchedIds))) {
+        for (ClientSummary summary : clientRepository.findSummariesByIds(chunk)) {
+          summaries.put(summary.clientId(), summary);
+        }
+      }
+      var results = new LinkedHashMap<String, List<ClientSummary>>();
+      idsByKey.forEach((key, ids) -> results.put(key, ids.stream()
+          .map(summaries::get)
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList())));
+      timing.phase(Phase.REPOSITORY);
+      return results;
+    } finally {
+      timing.stop();
     }
+  }
 
+  public ClientModel editClient(final Integer id, final ClientCreateRequest request) throws InvalidFieldException, NotFoundException, DatabaseException, PreconditionFailedException {
+    return editClient(id, request, null);
   }
 
-  private void validateClientCreateRequest(final ClientCreateRequest request) throws InvalidFieldException {
-    if (request.getFirstName() == null || request.getFirstName().isBlank()) {
-      throw new InvalidFieldException("Firstname cannot be null or empty");
+  /**
+   * Applies the fields of {@code request} that are not {@code null} to the client, leaving the others as they are,
+   * if it is still at one of {@code expectedVersions}; {@code null} accepts any version. The client is not read
+   * first: the writer updates only the supplied columns in one version-checked statement and hands back the row
+   * as it was, from which the edited client is built.
+   */
+  public ClientModel editClient(final Integer id, final ClientCreateRequest request, final Collection<Long> expectedVersions) throws InvalidFieldException, NotFoundException, DatabaseException, PreconditionFailedException {
+    if (id == null) {
+      throw new InvalidFieldException("Id cannot be null");
     }
 
-    if (request.getLastName() == null || request.getLastName().isBlank()) {
-      throw new InvalidFieldException("Lastname cannot be null or empty");
+    var timing = clientMetrics.start(Operation.EDIT);
+    try {
+      validateClientPatchRequest(request);
+      var changes = toClient(request);
+      changes.setClientId(id);
+      var reservation = requireUnique(
+          clientUniquenessGuard.reserve(id, request.getIdNumber(), request.getMobileNumber()));
+      timing.phase(Phase.VALIDATION);
+
+      PatchedClient patched;
+      try (reservation) {
+        patched = clientWriter.patch(changes, expectedVersions).orElse(null);
+        if (patched != null) {
+          reservation.confirm(patched.previous());
+          clientSearchIndex.index(patched.updated());
+          clientCache.put(patched.updated());
+        }
+      } catch (DataIntegrityViolationException dive) {
+        throw new InvalidFieldException(DUPLICATE_MESSAGE);
+      } catch (Exception e) {
+        throw new DatabaseException("Something went wrong! Please try again later");
+      }
+      timing.phase(Phase.REPOSITORY);
+
+      if (patched == null) {
+        rejectUnmatchedEdit(id, expectedVersions);
+      }
+      var model = new ClientModel(patched.updated());
+      timing.phase(Phase.MAPPING);
+      return model;
+    } finally {
+      timing.stop();
+    }
+  }
+
+  /**
+   * Tells why an edit matched no row: only a version check can fail on a client that exists.
+   */
+  private void rejectUnmatchedEdit(final Integer id, final Collection<Long> expectedVersions) throws NotFoundException, PreconditionFailedException {
+    if (expectedVersions != null && clientRepository.findVersionById(id).isPresent()) {
+      throw new PreconditionFailedException(MODIFIED_MESSAGE);
+    }
+    throw new NotFoundException("Provided id does not exist");
+  }
+
+  private List<ClientSummary> findClientsAfter(final Integer after, final int size) {
+    var cursor = after == null ? 0 : after;
+    return clientRepository.findSummariesAfter(cursor, PageRequest.of(0, size));
+  }
+
+  private <T> List<List<T>> chunks(final List<T> values) {
+    var chunks = new ArrayList<List<T>>();
+    for (int from = 0; from < values.size(); from += batchChunkSize) {
+      chunks.add(values.subList(from, Math.min(from + batchChunkSize, values.size())));
     }
+    return chunks;
+  }
 
-    if (request.getIdNumber() == null || request.getIdNumber().isBlank()) {
-      throw new InvalidFieldException("ID Number cannot be null or empty");
+  private void requireBatchSize(final int size) throws InvalidFieldException {
+    if (size == 0) {
+      throw new InvalidFieldException("Batch should contain at least one value");
+    }
+    if (size > batchMaxSize) {
+      throw new InvalidFieldException("Batch should contain at most " + batchMaxSize + " values");
     }
+  }
 
-    if (!request.getIdNumber().matches("\\d+")) {
-      throw new InvalidFieldException("ID Number cannot contain alpha numerics");
+  private static <T> List<T> distinct(final Collection<T> values, final String nullMessage) throws InvalidFieldException {
+    if (values == null) {
+      return List.of();
     }
+    var distinct = new LinkedHashSet<T>(values.size());
+    for (T value : values) {
+      if (value == null) {
+        throw new InvalidFieldException(nullMessage);
+      }
+      distinct.add(value);
+    }
+    return new ArrayList<>(distinct);
+  }
 
-    if (request.getIdNumber().length() != 13) {
-      throw new InvalidFieldException("ID Number length should be 13");
+  static Client toClient(final ClientCreateRequest request) {
+    var client = new Client();
+    client.setFirstName(request.getFirstName());
+    client.setLastName(request.getLastName());
+    client.setIdNumber(request.getIdNumber());
+    client.setMobileNumber(request.getMobileNumber());
+    client.setPhysicalAddress(request.getPhysicalAddress());
+    return client;
+  }
+
+  private static Reservation requireUnique(final Reservation reservation) throws InvalidFieldException {
+    if (reservation == null) {
+      throw new InvalidFieldException(DUPLICATE_MESSAGE);
     }
+    return reservation;
+  }
 
-    if (request.getMobileNumber() == null || request.getMobileNumber().isBlank()) {
-      throw new InvalidFieldException("Mobile Number cannot be null or empty");
+  private void validateClientPatchRequest(final ClientCreateRequest request) throws InvalidFieldException {
+    if (request.getFirstName() == null && request.getLastName() == null && request.getIdNumber() == null
+        && request.getMobileNumber() == null && request.getPhysicalAddress() == null) {
+      throw new InvalidFieldException("At least one field should be supplied");
+    }
+    var result = clientValidator.validatePatch(request);
+    if (!result.isValid()) {
+      throw new InvalidFieldException(result.getErrors());
     }
+  }
 
-    if (!request.getMobileNumber().matches("\\d+")) {
-      throw new InvalidFieldException("Mobile Number cannot contain alpha numerics");
+  private void validateClientCreateRequest(final ClientCreateRequest request) throws InvalidFieldException {
+    var result = clientValidator.validate(request);
+    if (!result.isValid()) {
+      throw new InvalidFieldException(result.getErrors());
     }
   }
 }
@@ -0,0 +1,77 @@
+package com.assessment.ClientManagementSystem.api.service.cache;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of clients keyed by {@code clientId}, evicting by size and time since the last write.
+ * <p>
+ * Cached clients are shared between callers and must be treated as read-only; writers replace the entry with
+ * {@link #put(Client)} once the change has been saved.
+ * <p>
+ * The cache's statistics are published as {@code cache.*} meters tagged {@code cache=clients}.
+ */
+@Component
+public class ClientCache implements MeterBinder {
+
+  private final Cache<Integer, Client> cache;
+
+  public ClientCache(@Value("${client.cache.maximum-size:10000}") final long maximumSize,
+                     @Value("${client.cache.expire-after-write:10m}") final Duration expireAfterWrite) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the cached client, or loads it with {@code loader} on a miss. Clients the loader cannot find
+   * ({@code null}) are not cached.
+   */
+  public Client get(final Integer clientId, final Function<Integer, Client> loader) {
+    return cache.get(clientId, loader);
+  }
+
+  /**
+   * Returns the cached client without loading it, or {@code null} if it is not cached.
+   */
+  public Client getIfPresent(final Integer clientId) {
+    return cache.getIfPresent(clientId);
+  }
+
+  public void put(final Client client) {
+    cache.put(client.getClientId(), client);
+  }
+
+  public void invalidate(final Integer clientId) {
+    cache.invalidate(clientId);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "clients");
+  }
+}
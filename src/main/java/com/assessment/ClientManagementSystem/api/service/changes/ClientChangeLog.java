@@ -0,0 +1,179 @@
+package com.assessment.ClientManagementSystem.api.service.changes;
+
+import com.assessment.ClientManagementSystem.api.repository.ClientChangeRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChange;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChangeType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox of client changes, so downstream systems can sync incrementally instead of re-reading the client table.
+ * Every create and edit writes the client as it was saved to the {@code client_change} table, in the transaction
+ * that saves it, and the row's sequence number orders it among all changes.
+ * <p>
+ * Writers hold a commit lock from the moment they record a change until their transaction completes, so sequence
+ * numbers become visible in order: a reader that has seen a change has also seen every change numbered before it,
+ * and {@code since} is a safe cursor. The lock is per process, which matches the other in-process state (the cache,
+ * the search index and the uniqueness guard) that already assumes a single instance.
+ * <p>
+ * Not started by the {@code memory} profile, which runs without a database, or with {@code client.storage=log},
+ * where clients are not written in a database transaction the change could share.
+ */
+@Service
+@Profile("!memory")
+@ConditionalOnProperty(name = "client.storage", havingValue = "database", matchIfMissing = true)
+public class ClientChangeLog {
+
+  private final ClientChangeRepository clientChangeRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ReentrantLock commitLock = new ReentrantLock();
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+  private final ExecutorService readers = Executors.newFixedThreadPool(2, runnable -> {
+    var thread = new Thread(runnable, "client-change-reader");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private volatile long lastSequenceNumber;
+
+  public ClientChangeLog(final ClientChangeRepository clientChangeRepository,
+                         final PlatformTransactionManager transactionManager) {
+    this.clientChangeRepository = clientChangeRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @PostConstruct
+  public void start() {
+    lastSequenceNumber = clientChangeRepository.findMaxSequenceNumber();
+  }
+
+  @PreDestroy
+  public void stop() {
+    readers.shutdownNow();
+  }
+
+  /**
+   * Runs {@code write} in a new transaction and records the clients it returns as changes of {@code type} in the
+   * same transaction.
+   */
+  public List<Client> write(final ClientChangeType type, final Supplier<List<Client>> write) {
+    return transactionTemplate.execute(status -> {
+      var clients = write.get();
+      record(type, clients);
+      return clients;
+    });
+  }
+
+  /**
+   * Records the clients as changes of {@code type} in the current transaction. Clients must already carry the id
+   * and version they were saved with.
+   */
+  public void record(final ClientChangeType type, final List<Client> clients) {
+    if (clients.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Client changes can only be recorded in a transaction");
+    }
+    var commit = (PendingCommit) TransactionSynchronizationManager.getResource(this);
+    if (commit == null) {
+      commitLock.lock();
+      commit = new PendingCommit();
+      TransactionSynchronizationManager.bindResource(this, commit);
+      TransactionSynchronizationManager.registerSynchronization(commit);
+    }
+    var changedAt = Instant.now();
+    var changes = clients.stream()
+        .map(client -> ClientChange.of(type, client, changedAt))
+        .collect(Collectors.toList());
+    for (ClientChange change : clientChangeRepository.saveAll(changes)) {
+      commit.sequenceNumber = Math.max(commit.sequenceNumber, change.getSequenceNumber());
+    }
+  }
+
+  /**
+   * Sequence number of the last committed change, or 0 if there is none.
+   */
+  public long getLastSequenceNumber() {
+    return lastSequenceNumber;
+  }
+
+  /**
+   * Returns up to {@code limit} changes numbered after {@code since}, in sequence order. If there are none yet,
+   * waits up to {@code wait} for one to commit before answering, with an empty list if none does. Waiting holds no
+   * thread; the changes are read on a small pool of reader threads once the wait ends.
+   */
+  public CompletableFuture<List<ClientChange>> changesAfter(final long since, final int limit, final Duration wait) {
+    if (lastSequenceNumber > since || wait.isZero() || wait.isNegative()) {
+      return CompletableFuture.completedFuture(findAfter(since, limit));
+    }
+    var waiter = new Waiter(since, new CompletableFuture<>());
+    waiters.add(waiter);
+    if (lastSequenceNumber > since) {
+      waiter.signal().complete(null);
+    }
+    return waiter.signal()
+        .completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete((ignored, e) -> waiters.remove(waiter))
+        .thenApplyAsync(ignored -> findAfter(since, limit), readers);
+  }
+
+  private List<ClientChange> findAfter(final long since, final int limit) {
+    return clientChangeRepository.findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(since, PageRequest.of(0, limit));
+  }
+
+  /**
+   * Makes the changes of a committed transaction visible to readers and wakes the waiters they are news to.
+   */
+  private void publish(final long sequenceNumber) {
+    lastSequenceNumber = sequenceNumber;
+    for (Waiter waiter : waiters) {
+      if (waiter.since() < sequenceNumber) {
+        waiter.signal().complete(null);
+      }
+    }
+  }
+
+  private record Waiter(long since, CompletableFuture<Void> signal) {
+  }
+
+  /**
+   * Releases the commit lock once the transaction that took it completes, publishing its changes if it committed.
+   */
+  private final class PendingCommit implements TransactionSynchronization {
+    private long sequenceNumber;
+
+    @Override
+    public void afterCompletion(final int status) {
+      TransactionSynchronizationManager.unbindResource(ClientChangeLog.this);
+      try {
+        if (status == STATUS_COMMITTED) {
+          publish(sequenceNumber);
+        }
+      } finally {
+        commitLock.unlock();
+      }
+    }
+  }
+}
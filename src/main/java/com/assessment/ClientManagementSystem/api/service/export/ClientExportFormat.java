@@ -0,0 +1,35 @@
+package com.assessment.ClientManagementSystem.api.service.export;
+
+import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
+
+import java.util.Locale;
+
+/**
+ * Row formats of a client export. Either way the export is gzip-compressed.
+ */
+public enum ClientExportFormat {
+  CSV("csv"),
+  NDJSON("ndjson");
+
+  private final String extension;
+
+  ClientExportFormat(final String extension) {
+    this.extension = extension;
+  }
+
+  /**
+   * File name for an export in this format, such as {@code clients.csv.gz}.
+   */
+  public String fileName() {
+    return "clients." + extension + ".gz";
+  }
+
+  public static ClientExportFormat from(final String value) throws InvalidFieldException {
+    for (ClientExportFormat format : values()) {
+      if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+        return format;
+      }
+    }
+    throw new InvalidFieldException("Export format should be csv or ndjson");
+  }
+}
@@ -0,0 +1,58 @@
+package com.assessment.ClientManagementSystem.api.service.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Offline export run at startup when {@code client.export.file} is set, for a scheduled job that starts the
+ * application without its web server. The export is written beside the target and moved over it once complete,
+ * so readers never see a partial file.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "client.export.file")
+public class ClientExportJob implements ApplicationRunner {
+
+  private final ClientExportService clientExportService;
+  private final Path file;
+  private final String format;
+
+  public ClientExportJob(final ClientExportService clientExportService,
+                         @Value("${client.export.file}") final Path file,
+                         @Value("${client.export.format:csv}") final String format) {
+    this.clientExportService = clientExportService;
+    this.file = file;
+    this.format = format;
+  }
+
+  @Override
+  public void run(final ApplicationArguments args) throws Exception {
+    var started = System.nanoTime();
+    var directory = file.toAbsolutePath().getParent();
+    if (directory != null) {
+      Files.createDirectories(directory);
+    }
+    var partial = file.resolveSibling(file.getFileName() + ".partial");
+    long rows;
+    try (var channel = FileChannel.open(partial, CREATE, TRUNCATE_EXISTING, WRITE)) {
+      rows = clientExportService.export(ClientExportFormat.from(format), channel);
+      channel.force(true);
+    }
+    Files.move(partial, file, REPLACE_EXISTING, ATOMIC_MOVE);
+    log.info("Exported {} clients to {} in {} ms", rows, file, (System.nanoTime() - started) / 1_000_000);
+  }
+}
@@ -0,0 +1,211 @@
+package com.assessment.ClientManagementSystem.api.service.export;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Exports the whole client table as gzip-compressed CSV or NDJSON, for offline consumers such as the nightly
+ * compliance export.
+ * <p>
+ * The id space is cut into ranges of {@code client.export.chunk-size} ids. Ranges are read and compressed in
+ * parallel on a fork/join pool of {@code client.export.parallelism} workers: each worker keyset-pages its range
+ * into summaries, never entities, and compresses the rows into a gzip member of their own. Members are written to
+ * the channel in id order, and since concatenated gzip members are a valid gzip stream the output needs no other
+ * framing. At most twice the parallelism of ranges are in flight, so heap use stays the same however large the
+ * table is.
+ * <p>
+ * Every page is a separate query, so an export is not a snapshot of the table: clients written while it runs may
+ * or may not be in it.
+ */
+@Service
+public class ClientExportService {
+
+  private static final int PAGE_SIZE = 1000;
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final CsvMapper CSV_MAPPER = new CsvMapper();
+  private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+      .addNumberColumn("clientId")
+      .addColumn("firstName")
+      .addColumn("lastName")
+      .addColumn("idNumber")
+      .addColumn("mobileNumber")
+      .addColumn("physicalAddress")
+      .build();
+  private static final ObjectWriter CSV_WRITER = CSV_MAPPER.writer(CSV_SCHEMA);
+  private static final String CSV_HEADER = StreamSupport.stream(CSV_SCHEMA.spliterator(), false)
+      .map(CsvSchema.Column::getName)
+      .collect(Collectors.joining(",", "", "\n"));
+
+  private final ClientRepository clientRepository;
+  private final int chunkSize;
+  private final int window;
+  private final ForkJoinPool pool;
+
+  public ClientExportService(final ClientRepository clientRepository,
+                             @Value("${client.export.chunk-size:50000}") final int chunkSize,
+                             @Value("${client.export.parallelism:4}") final int parallelism) {
+    this.clientRepository = clientRepository;
+    this.chunkSize = chunkSize;
+    this.window = parallelism * 2;
+    this.pool = new ForkJoinPool(parallelism);
+  }
+
+  @PreDestroy
+  public void stop() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * Writes every client to the channel in id order and returns how many were written.
+   */
+  public long export(final ClientExportFormat format, final WritableByteChannel channel) throws IOException {
+    var last = clientRepository.findMaxClientId();
+    if (format == ClientExportFormat.CSV) {
+      writeFully(channel, compress(output -> output.write(CSV_HEADER.getBytes(UTF_8))));
+    }
+
+    var pending = new ArrayDeque<ForkJoinTask<Chunk>>(window);
+    var rows = 0L;
+    try {
+      for (long after = 0; after < last; after += chunkSize) {
+        var from = (int) after;
+        var to = (int) Math.min(after + chunkSize, last);
+        pending.add(pool.submit(() -> exportRange(format, from, to)));
+        if (pending.size() == window) {
+          rows += write(channel, pending.poll().join());
+        }
+      }
+      while (!pending.isEmpty()) {
+        rows += write(channel, pending.poll().join());
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      pending.forEach(task -> task.cancel(true));
+    }
+    return rows;
+  }
+
+  /**
+   * Reads the clients with an id greater than {@code after} and at most {@code last}, and compresses them into
+   * one gzip member. A range without clients gives no bytes at all.
+   */
+  private Chunk exportRange(final ClientExportFormat format, final int after, final int last) {
+    var rows = new long[1];
+    var data = compress(output -> {
+      try (var writer = rowWriter(format, output)) {
+        var cursor = after;
+        List<ClientSummary> page;
+        do {
+          page = clientRepository.findSummariesBetween(cursor, last, PageRequest.of(0, PAGE_SIZE));
+          for (ClientSummary client : page) {
+            writer.write(client);
+          }
+          if (!page.isEmpty()) {
+            cursor = page.get(page.size() - 1).clientId();
+          }
+          rows[0] += page.size();
+        } while (page.size() == PAGE_SIZE);
+      }
+    });
+    return new Chunk(rows[0], rows[0] == 0 ? ByteBuffer.allocate(0) : data);
+  }
+
+  private static ByteBuffer compress(final Body body) {
+    var buffer = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(buffer, GZIP_BUFFER_SIZE)) {
+      body.writeTo(gzip);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return ByteBuffer.wrap(buffer.toByteArray());
+  }
+
+  private static RowWriter rowWriter(final ClientExportFormat format, final OutputStream output) throws IOException {
+    if (format == ClientExportFormat.CSV) {
+      SequenceWriter rows = CSV_WRITER.writeValues(output);
+      return new RowWriter() {
+        @Override
+        public void write(final ClientSummary client) throws IOException {
+          rows.write(client);
+        }
+
+        @Override
+        public void close() throws IOException {
+          rows.close();
+        }
+      };
+    }
+    JsonGenerator generator = JSON_FACTORY.createGenerator(output);
+    generator.setRootValueSeparator(null);
+    return new RowWriter() {
+      @Override
+      public void write(final ClientSummary client) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("clientId", client.clientId());
+        generator.writeStringField("firstName", client.firstName());
+        generator.writeStringField("lastName", client.lastName());
+        generator.writeStringField("idNumber", client.idNumber());
+        generator.writeStringField("mobileNumber", client.mobileNumber());
+        generator.writeStringField("physicalAddress", client.physicalAddress());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+      }
+
+      @Override
+      public void close() throws IOException {
+        generator.close();
+      }
+    };
+  }
+
+  private static long write(final WritableByteChannel channel, final Chunk chunk) throws IOException {
+    writeFully(channel, chunk.data());
+    return chunk.rows();
+  }
+
+  private static void writeFully(final WritableByteChannel channel, final ByteBuffer data) throws IOException {
+    while (data.hasRemaining()) {
+      channel.write(data);
+    }
+  }
+
+  private record Chunk(long rows, ByteBuffer data) {
+  }
+
+  private interface Body {
+    void writeTo(OutputStream output) throws IOException;
+  }
+
+  private interface RowWriter extends Closeable {
+    void write(ClientSummary client) throws IOException;
+  }
+}
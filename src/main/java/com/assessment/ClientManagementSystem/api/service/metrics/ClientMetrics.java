@@ -0,0 +1,131 @@
+package com.assessment.ClientManagementSystem.api.service.metrics;
+
+import com.assessment.ClientManagementSystem.api.controller.model.error.ApiErrorType;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for the client operations and the phases inside them, and counters for the errors returned to callers.
+ * <p>
+ * {@code client.operation} times a whole operation, failures included, and {@code client.operation.phase} times
+ * each phase an operation declares. Both publish p50, p99 and p99.9; the operation timers also publish a
+ * histogram so percentiles can be aggregated across instances. Timers are registered up front, so recording
+ * is a map lookup and an atomic update.
+ */
+@Component
+public class ClientMetrics {
+
+  public enum Phase {
+    VALIDATION, INDEX, REPOSITORY, MAPPING
+  }
+
+  public enum Operation {
+    CREATE(Phase.VALIDATION, Phase.REPOSITORY, Phase.MAPPING),
+    EDIT(Phase.VALIDATION, Phase.REPOSITORY, Phase.MAPPING),
+    GET(Phase.REPOSITORY, Phase.MAPPING),
+    SEARCH(Phase.INDEX, Phase.REPOSITORY),
+    RANKED_SEARCH(Phase.INDEX, Phase.REPOSITORY),
+    LIST(Phase.REPOSITORY),
+    BATCH_GET(Phase.REPOSITORY, Phase.MAPPING),
+    BATCH_SEARCH(Phase.INDEX, Phase.REPOSITORY);
+
+    private final Phase[] phases;
+
+    Operation(final Phase... phases) {
+      this.phases = phases;
+    }
+  }
+
+  private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+  private final MeterRegistry registry;
+  private final Clock clock;
+  private final Map<Operation, Timer> operationTimers = new EnumMap<>(Operation.class);
+  private final Map<Operation, Map<Phase, Timer>> phaseTimers = new EnumMap<>(Operation.class);
+  private final ConcurrentMap<ErrorKey, Counter> errorCounters = new ConcurrentHashMap<>();
+
+  public ClientMetrics(final MeterRegistry registry) {
+    this.registry = registry;
+    this.clock = registry.config().clock();
+    for (Operation operation : Operation.values()) {
+      var operationTag = tagValue(operation);
+      operationTimers.put(operation, Timer.builder("client.operation")
+          .description("Time spent in a client operation")
+          .tag("operation", operationTag)
+          .publishPercentiles(PERCENTILES)
+          .publishPercentileHistogram()
+          .register(registry));
+
+      var phases = new EnumMap<Phase, Timer>(Phase.class);
+      for (Phase phase : operation.phases) {
+        phases.put(phase, Timer.builder("client.operation.phase")
+            .description("Time spent in one phase of a client operation")
+            .tag("operation", operationTag)
+            .tag("phase", tagValue(phase))
+            .publishPercentiles(PERCENTILES)
+            .register(registry));
+      }
+      phaseTimers.put(operation, phases);
+    }
+  }
+
+  /**
+   * Starts timing one call of {@code operation}. Mark each phase as it ends with {@link Timing#phase(Phase)} and
+   * call {@link Timing#stop()} once the operation returns or fails.
+   */
+  public Timing start(final Operation operation) {
+    return new Timing(operation, clock.monotonicTime());
+  }
+
+  public void recordError(final ApiErrorType type, final Throwable error) {
+    errorCounters.computeIfAbsent(new ErrorKey(type, error.getClass()), key -> Counter.builder("client.api.errors")
+            .description("Errors returned by the client API")
+            .tag("type", key.type().getCode())
+            .tag("exception", key.exception().getSimpleName())
+            .register(registry))
+        .increment();
+  }
+
+  private static String tagValue(final Enum<?> value) {
+    return value.name().toLowerCase(Locale.ROOT);
+  }
+
+  public final class Timing {
+
+    private final Operation operation;
+    private final long start;
+    private long phaseStart;
+
+    private Timing(final Operation operation, final long start) {
+      this.operation = operation;
+      this.start = start;
+      this.phaseStart = start;
+    }
+
+    /**
+     * Records the time since the previous phase ended, or since the start, against {@code phase}.
+     */
+    public void phase(final Phase phase) {
+      var now = clock.monotonicTime();
+      phaseTimers.get(operation).get(phase).record(now - phaseStart, TimeUnit.NANOSECONDS);
+      phaseStart = now;
+    }
+
+    public void stop() {
+      operationTimers.get(operation).record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private record ErrorKey(ApiErrorType type, Class<?> exception) {
+  }
+}
@@ -0,0 +1,56 @@
+package com.assessment.ClientManagementSystem.api.service.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of the {@link ClientRateLimiter}, under {@code client.rate-limit}. Endpoints are named after their
+ * controller method in kebab case, for example {@code search-for-clients-by-key}; endpoints without an entry under
+ * {@code endpoints} have no rate of their own. The client key header is only trusted from the addresses under
+ * {@code trusted-callers}, such as a gateway that sets it; every other caller is keyed by its address. Off unless
+ * {@code enabled}, since behind a proxy that does not set the header every caller has the proxy's address and
+ * would share one bucket.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "client.rate-limit")
+public class ClientRateLimitProperties {
+  private boolean enabled;
+  private String clientKeyHeader = "X-Client-Key";
+  private Set<String> trustedCallers = new HashSet<>();
+  private int maxClientKeys = 10_000;
+  private Rate perClient = new Rate(100, 200);
+  private Map<String, Rate> endpoints = new LinkedHashMap<>();
+  private Concurrency concurrency = new Concurrency();
+
+  @Getter
+  @Setter
+  public static class Rate {
+    private double rate;
+    private int burst;
+
+    public Rate() {
+    }
+
+    public Rate(final double rate, final int burst) {
+      this.rate = rate;
+      this.burst = burst;
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class Concurrency {
+    private int initialLimit = 100;
+    private int minLimit = 20;
+    private int maxLimit = 1000;
+    private double tolerance = 2.0;
+    private double smoothing = 0.2;
+  }
+}
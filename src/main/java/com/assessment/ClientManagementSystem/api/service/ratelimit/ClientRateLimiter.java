@@ -0,0 +1,178 @@
+package com.assessment.ClientManagementSystem.api.service.ratelimit;
+
+import com.assessment.ClientManagementSystem.api.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load before it reaches the database. A request must pass three limiters, in order:
+ * <ul>
+ *   <li>a token bucket per client key, so one caller cannot take the whole service;</li>
+ *   <li>a token bucket per endpoint, for endpoints with a rate under {@code client.rate-limit.endpoints}, so
+ *   expensive endpoints such as {@code LIKE} searches cannot starve the cheap ones;</li>
+ *   <li>a {@link GradientConcurrencyLimit} on requests in flight, which shrinks as latency rises.</li>
+ * </ul>
+ * A request turned away by any of them fails with {@link TooManyRequestsException}, and the tokens it took from
+ * the limiters before it are given back, so only the limiter that turned it away is charged. Client key buckets
+ * are kept for at most {@code client.rate-limit.max-client-keys} keys, dropping the least recently used.
+ * <p>
+ * Published as the {@code client.rate.limit.concurrency.limit} and {@code client.rate.limit.in.flight} gauges and
+ * the {@code client.rate.limit.rejections} counter, tagged by limiter and endpoint.
+ */
+@Component
+@EnableConfigurationProperties(ClientRateLimitProperties.class)
+@ConditionalOnProperty(name = "client.rate-limit.enabled", havingValue = "true")
+public class ClientRateLimiter {
+
+  public enum Limiter {
+    CLIENT, ENDPOINT, CONCURRENCY
+  }
+
+  private final ClientRateLimitProperties properties;
+  private final MeterRegistry registry;
+  private final Cache<String, TokenBucket> clientBuckets;
+  private final Map<String, TokenBucket> endpointBuckets = new LinkedHashMap<>();
+  private final GradientConcurrencyLimit concurrencyLimit;
+  private final Map<RejectionKey, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+  public ClientRateLimiter(final ClientRateLimitProperties properties, final MeterRegistry registry) {
+    this.properties = properties;
+    this.registry = registry;
+    this.clientBuckets = Caffeine.newBuilder()
+        .maximumSize(properties.getMaxClientKeys())
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+    properties.getEndpoints().forEach((endpoint, rate) ->
+        endpointBuckets.put(endpoint, new TokenBucket(rate.getRate(), rate.getBurst())));
+    var concurrency = properties.getConcurrency();
+    this.concurrencyLimit = new GradientConcurrencyLimit(concurrency.getInitialLimit(), concurrency.getMinLimit(),
+        concurrency.getMaxLimit(), concurrency.getTolerance(), concurrency.getSmoothing());
+    Gauge.builder("client.rate.limit.concurrency.limit", concurrencyLimit, GradientConcurrencyLimit::getLimit)
+        .description("Requests currently allowed in flight")
+        .register(registry);
+    Gauge.builder("client.rate.limit.in.flight", concurrencyLimit, GradientConcurrencyLimit::getInFlight)
+        .description("Requests in flight")
+        .register(registry);
+  }
+
+  /**
+   * Admits a request to {@code endpoint} from {@code clientKey}, or throws if any limiter turns it away. The permit
+   * must be released once the request has been handled.
+   */
+  public Permit acquire(final String endpoint, final String clientKey) throws TooManyRequestsException {
+    var perClient = properties.getPerClient();
+    var clientBucket = clientBuckets.get(clientKey, key -> new TokenBucket(perClient.getRate(), perClient.getBurst()));
+    if (!clientBucket.tryAcquire()) {
+      throw reject(Limiter.CLIENT, endpoint, clientBucket.nanosUntilNextToken());
+    }
+    var endpointBucket = endpointBuckets.get(endpoint);
+    if (endpointBucket != null && !endpointBucket.tryAcquire()) {
+      clientBucket.giveBack();
+      throw reject(Limiter.ENDPOINT, endpoint, endpointBucket.nanosUntilNextToken());
+    }
+    var inFlight = concurrencyLimit.tryAcquire();
+    if (inFlight == 0) {
+      clientBucket.giveBack();
+      if (endpointBucket != null) {
+        endpointBucket.giveBack();
+      }
+      throw reject(Limiter.CONCURRENCY, endpoint, 0);
+    }
+    return new Permit(System.nanoTime(), inFlight);
+  }
+
+  public int getConcurrencyLimit() {
+    return concurrencyLimit.getLimit();
+  }
+
+  public int getInFlight() {
+    return concurrencyLimit.getInFlight();
+  }
+
+  public long getClientKeyCount() {
+    return clientBuckets.estimatedSize();
+  }
+
+  /**
+   * Tokens left per rate-limited endpoint.
+   */
+  public Map<String, Double> getAvailableEndpointTokens() {
+    var tokens = new LinkedHashMap<String, Double>();
+    endpointBuckets.forEach((endpoint, bucket) -> tokens.put(endpoint, bucket.availableTokens()));
+    return tokens;
+  }
+
+  /**
+   * Requests turned away since startup, per limiter.
+   */
+  public Map<Limiter, Long> getRejections() {
+    var rejections = new LinkedHashMap<Limiter, Long>();
+    for (Limiter limiter : Limiter.values()) {
+      rejections.put(limiter, 0L);
+    }
+    rejectionCounters.forEach((key, counter) -> rejections.merge(key.limiter(), (long) counter.count(), Long::sum));
+    return Collections.unmodifiableMap(rejections);
+  }
+
+  /**
+   * Endpoint name of a controller method: {@code searchForClientByKey} becomes {@code search-for-client-by-key}.
+   */
+  public static String endpointName(final String methodName) {
+    return methodName.replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT);
+  }
+
+  private TooManyRequestsException reject(final Limiter limiter, final String endpoint, final long retryAfterNanos) {
+    rejectionCounters.computeIfAbsent(new RejectionKey(limiter, endpoint), key -> Counter.builder("client.rate.limit.rejections")
+            .description("Requests turned away by the rate limiter")
+            .tag("limiter", key.limiter().name().toLowerCase(Locale.ROOT))
+            .tag("endpoint", key.endpoint())
+            .register(registry))
+        .increment();
+    var retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    return new TooManyRequestsException("Too many requests, please retry later", retryAfterSeconds);
+  }
+
+  private record RejectionKey(Limiter limiter, String endpoint) {
+  }
+
+  /**
+   * A slot in the concurrency limit, held while the request is handled.
+   */
+  public final class Permit {
+    private final long startNanos;
+    private final int inFlightAtStart;
+
+    private Permit(final long startNanos, final int inFlightAtStart) {
+      this.startNanos = startNanos;
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /**
+     * Frees the slot and feeds the request's latency to the concurrency limit.
+     */
+    public void release() {
+      concurrencyLimit.release(System.nanoTime() - startNanos, inFlightAtStart);
+    }
+
+    /**
+     * Frees the slot without using the latency, for requests that carry on asynchronously.
+     */
+    public void discard() {
+      concurrencyLimit.release();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.assessment.ClientManagementSystem.api.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adaptive limit on concurrent requests, driven by latency. Two moving averages of request latency are kept: a
+ * short one of the last few requests and a long one that stands for the service's unloaded latency. While the short
+ * average stays within {@code tolerance} times the long one the limit grows by about its square root per sample, so
+ * it probes for more capacity; once requests queue and latency rises, the limit shrinks in proportion, down to half
+ * per sample. Changes are smoothed and kept between {@code minLimit} and {@code maxLimit}.
+ * <p>
+ * The limit only moves while at least half of it is in use, so a lightly loaded service does not drift to the
+ * maximum and then admit a burst it cannot serve.
+ * <p>
+ * The averages and the limit are swapped in together with a compare-and-set, so completing requests never wait on
+ * each other or pin a virtual thread's carrier. A sample that loses the race to another is dropped rather than
+ * retried; under contention the limit follows a fraction of the requests, which is all the averages need.
+ */
+final class GradientConcurrencyLimit {
+
+  private static final double SHORT_WINDOW = 10;
+  private static final double LONG_WINDOW = 600;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double smoothing;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicReference<State> state;
+
+  GradientConcurrencyLimit(final int initialLimit, final int minLimit, final int maxLimit,
+                           final double tolerance, final double smoothing) {
+    if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("Concurrency limits should satisfy 1 <= min <= initial <= max");
+    }
+    if (tolerance < 1 || smoothing <= 0 || smoothing > 1) {
+      throw new IllegalArgumentException("Tolerance should be at least 1 and smoothing in (0, 1]");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.smoothing = smoothing;
+    this.state = new AtomicReference<>(new State(0, 0, initialLimit));
+  }
+
+  /**
+   * Admits a request if fewer than the limit are in flight, and returns the number in flight including it, or
+   * {@code 0} if it was not admitted.
+   */
+  int tryAcquire() {
+    while (true) {
+      var current = inFlight.get();
+      if (current >= getLimit()) {
+        return 0;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return current + 1;
+      }
+    }
+  }
+
+  /**
+   * Ends a request without using its latency, for requests that did not run to completion on the request thread.
+   */
+  void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Ends a request and adjusts the limit to its latency. {@code inFlightAtStart} is what {@link #tryAcquire()}
+   * returned for it.
+   */
+  void release(final long rttNanos, final int inFlightAtStart) {
+    inFlight.decrementAndGet();
+    sample(Math.max(1, rttNanos), inFlightAtStart);
+  }
+
+  int getLimit() {
+    return (int) state.get().limit();
+  }
+
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  private void sample(final double rtt, final int inFlightAtStart) {
+    var current = state.get();
+    state.compareAndSet(current, next(current, rtt, inFlightAtStart));
+  }
+
+  private State next(final State current, final double rtt, final int inFlightAtStart) {
+    if (current.longRtt() == 0) {
+      return new State(rtt, rtt, current.limit());
+    }
+    var shortRtt = current.shortRtt() + (rtt - current.shortRtt()) * 2 / (SHORT_WINDOW + 1);
+    var longRtt = current.longRtt() + (rtt - current.longRtt()) * 2 / (LONG_WINDOW + 1);
+    if (longRtt > shortRtt * 2) {
+      // Latency has dropped well below the long average, for example after a slow start; let it catch up
+      longRtt *= 0.95;
+    }
+    var limit = current.limit();
+    if (inFlightAtStart < limit / 2) {
+      return new State(shortRtt, longRtt, limit);
+    }
+    var gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+    var target = limit * gradient + Math.sqrt(limit);
+    var smoothed = limit * (1 - smoothing) + target * smoothing;
+    return new State(shortRtt, longRtt, Math.max(minLimit, Math.min(maxLimit, smoothed)));
+  }
+
+  private record State(double shortRtt, double longRtt, double limit) {
+  }
+}
@@ -0,0 +1,64 @@
+package com.assessment.ClientManagementSystem.api.service.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket holding up to {@code burst} tokens and refilled at {@code rate} tokens a second. Every request takes
+ * one token, so sustained traffic is held to the rate while short bursts up to the bucket's size pass.
+ */
+final class TokenBucket {
+
+  private final double capacity;
+  private final double tokensPerNano;
+  private double tokens;
+  private long refilledAt;
+
+  TokenBucket(final double rate, final int burst) {
+    if (rate <= 0 || burst < 1) {
+      throw new IllegalArgumentException("A token bucket needs a positive rate and a burst of at least 1");
+    }
+    this.capacity = burst;
+    this.tokensPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+    this.tokens = burst;
+    this.refilledAt = System.nanoTime();
+  }
+
+  /**
+   * Takes a token if one is available.
+   */
+  synchronized boolean tryAcquire() {
+    refill();
+    if (tokens < 1) {
+      return false;
+    }
+    tokens--;
+    return true;
+  }
+
+  /**
+   * Puts back a token taken by {@link #tryAcquire()}, for a request another limiter turned away.
+   */
+  synchronized void giveBack() {
+    refill();
+    tokens = Math.min(capacity, tokens + 1);
+  }
+
+  synchronized double availableTokens() {
+    refill();
+    return tokens;
+  }
+
+  /**
+   * Nanoseconds until the next token is available.
+   */
+  synchronized long nanosUntilNextToken() {
+    refill();
+    return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+  }
+
+  private void refill() {
+    var now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+    refilledAt = now;
+  }
+}
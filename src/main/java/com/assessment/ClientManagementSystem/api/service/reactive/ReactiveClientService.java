@@ -0,0 +1,151 @@
+package com.assessment.ClientManagementSystem.api.service.reactive;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.exception.DatabaseException;
+import com.assessment.ClientManagementSystem.api.exception.GenericException;
+import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
+import com.assessment.ClientManagementSystem.api.exception.NotFoundException;
+import com.assessment.ClientManagementSystem.api.exception.PreconditionFailedException;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.repository.reactive.ReactiveClientRepository;
+import com.assessment.ClientManagementSystem.api.service.validation.ClientValidator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * The client operations of {@code ClientService} for the reactive stack. Nothing here blocks: reads and writes go
+ * through {@link ReactiveClientRepository}, and validation is plain computation. Unique ID and mobile numbers are
+ * left to the table's constraints, and the servlet stack's cache and search index are not used.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveClientService {
+
+  private static final String MODIFIED_MESSAGE = "Client has been modified since it was last read";
+  private static final String DUPLICATE_MESSAGE = "ID number or Mobile number that you have supplied already exists";
+  private static final String NOT_FOUND_MESSAGE = "Provided id does not exist";
+
+  private final ReactiveClientRepository clientRepository;
+  private final ClientValidator clientValidator;
+
+  public ReactiveClientService(final ReactiveClientRepository clientRepository,
+                               final ClientValidator clientValidator) {
+    this.clientRepository = clientRepository;
+    this.clientValidator = clientValidator;
+  }
+
+  /**
+   * Returns at most {@code size} clients ordered by id, starting after the {@code after} cursor, each with a
+   * self link under {@code baseHref}.
+   */
+  public Flux<ClientModel> getClients(final Integer after, final int size, final String baseHref) {
+    return clientRepository.findAfter(after == null ? 0 : after, size)
+        .map(client -> withSelfLink(client, baseHref));
+  }
+
+  /**
+   * Streams every client in id order, requesting {@code batchSize} rows at a time from the database as the
+   * subscriber keeps up.
+   */
+  public Flux<ClientModel> streamClients(final int batchSize, final String baseHref) {
+    return clientRepository.findAll()
+        .limitRate(batchSize)
+        .map(client -> withSelfLink(client, baseHref));
+  }
+
+  public Mono<ClientModel> getClientById(final Integer id) {
+    if (id == null) {
+      return Mono.error(new InvalidFieldException("Id cannot be null"));
+    }
+    return clientRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new NotFoundException(NOT_FOUND_MESSAGE)))
+        .map(ClientModel::new);
+  }
+
+  public Flux<ClientModel> searchForClientByKey(final String key, final String baseHref) {
+    return clientRepository.findByKey(key)
+        .map(client -> withSelfLink(client, baseHref));
+  }
+
+  public Mono<ClientModel> createClient(final ClientCreateRequest request) {
+    return validate(request)
+        .then(Mono.defer(() -> clientRepository.insert(toClient(request))))
+        .onErrorMap(e -> !(e instanceof GenericException), ReactiveClientService::toServiceException)
+        .map(ClientModel::new);
+  }
+
+  /**
+   * Applies the fields of {@code request} that are not {@code null} to the client, leaving the others as they are,
+   * if it is still at one of {@code expectedVersions}; {@code null} accepts any version. The update itself is
+   * version checked, so an edit that lands between the read and the write also fails the precondition.
+   */
+  public Mono<ClientModel> editClient(final Integer id, final ClientCreateRequest request,
+                                     final Collection<Long> expectedVersions) {
+    if (id == null) {
+      return Mono.error(new InvalidFieldException("Id cannot be null"));
+    }
+    return validatePatch(request)
+        .then(Mono.defer(() -> clientRepository.findById(id)))
+        .switchIfEmpty(Mono.error(() -> new NotFoundException(NOT_FOUND_MESSAGE)))
+        .flatMap(client -> {
+          if (expectedVersions != null && !expectedVersions.contains(client.getVersion())) {
+            return Mono.error(new PreconditionFailedException(MODIFIED_MESSAGE));
+          }
+          var patched = client.patched(toClient(request));
+          patched.setVersion(client.getVersion());
+          return clientRepository.update(patched)
+              .flatMap(updated -> {
+                if (updated == 0) {
+                  return Mono.error(new PreconditionFailedException(MODIFIED_MESSAGE));
+                }
+                patched.setVersion(client.getVersion() + 1);
+                return Mono.just(new ClientModel(patched));
+              });
+        })
+        .onErrorMap(e -> !(e instanceof GenericException), ReactiveClientService::toServiceException);
+  }
+
+  private Mono<Void> validate(final ClientCreateRequest request) {
+    var result = clientValidator.validate(request);
+    return result.isValid() ? Mono.empty() : Mono.error(new InvalidFieldException(result.getErrors()));
+  }
+
+  private Mono<Void> validatePatch(final ClientCreateRequest request) {
+    if (request.getFirstName() == null && request.getLastName() == null && request.getIdNumber() == null
+        && request.getMobileNumber() == null && request.getPhysicalAddress() == null) {
+      return Mono.error(new InvalidFieldException("At least one field should be supplied"));
+    }
+    var result = clientValidator.validatePatch(request);
+    return result.isValid() ? Mono.empty() : Mono.error(new InvalidFieldException(result.getErrors()));
+  }
+
+  private static Throwable toServiceException(final Throwable e) {
+    if (e instanceof DataIntegrityViolationException) {
+      return new InvalidFieldException(DUPLICATE_MESSAGE);
+    }
+    return new DatabaseException("Something went wrong! Please try again later");
+  }
+
+  private static ClientModel withSelfLink(final Client client, final String baseHref) {
+    var model = new ClientModel(client);
+    model.add(Link.of(baseHref + "/" + client.getClientId()));
+    return model;
+  }
+
+  private static Client toClient(final ClientCreateRequest request) {
+    var client = new Client();
+    client.setFirstName(request.getFirstName());
+    client.setLastName(request.getLastName());
+    client.setIdNumber(request.getIdNumber());
+    client.setMobileNumber(request.getMobileNumber());
+    client.setPhysicalAddress(request.getPhysicalAddress());
+    return client;
+  }
+}
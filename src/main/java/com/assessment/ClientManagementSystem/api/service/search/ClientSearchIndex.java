@@ -0,0 +1,205 @@
+package com.assessment.ClientManagementSystem.api.service.search;
+
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process inverted index over the searchable client fields (first name, mobile number and ID number).
+ * <p>
+ * Every field value is broken into character trigrams, and each trigram points at the clients that contain it.
+ * A search key is treated as a SQL {@code LIKE} pattern: its literal runs select candidate clients from the
+ * postings and the candidates are then checked against the full pattern, so results are the same as the
+ * database query without scanning the table. Keys with no literal run of three characters fall back to a scan
+ * of the in-memory documents.
+ * <p>
+ * Alongside, the words of every client's names, numbers and physical address are kept in a {@link RankedTermIndex}
+ * for ranked, typo-tolerant search.
+ */
+@Component
+public class ClientSearchIndex {
+
+  private static final int GRAM_LENGTH = 3;
+
+  private final ClientRepository clientRepository;
+  private final int loadBatchSize;
+  private final Map<Integer, IndexedClient> documents = new ConcurrentHashMap<>();
+  private final Map<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+  private final RankedTermIndex rankedTerms;
+
+  public ClientSearchIndex(final ClientRepository clientRepository,
+                           @Value("${client.stream.batch-size:500}") final int loadBatchSize,
+                           @Value("${client.search.max-edits:1}") final int maxEdits,
+                           @Value("${client.search.fuzzy-min-length:4}") final int fuzzyMinLength) {
+    this.clientRepository = clientRepository;
+    this.loadBatchSize = loadBatchSize;
+    this.rankedTerms = new RankedTermIndex(maxEdits, fuzzyMinLength);
+  }
+
+  @PostConstruct
+  void load() {
+    var after = 0;
+    List<Client> batch;
+    do {
+      batch = clientRepository.findByClientIdGreaterThanOrderByClientIdAsc(after, PageRequest.of(0, loadBatchSize));
+      for (Client client : batch) {
+        index(client);
+      }
+      if (!batch.isEmpty()) {
+        after = batch.get(batch.size() - 1).getClientId();
+      }
+    } while (batch.size() == loadBatchSize);
+  }
+
+  /**
+   * Adds the client to the index, replacing whatever was previously indexed for the same id.
+   */
+  public void index(final Client client) {
+    var document = new IndexedClient(client.getFirstName(), client.getMobileNumber(), client.getIdNumber());
+    documents.compute(client.getClientId(), (id, previous) -> {
+      if (previous != null) {
+        for (String gram : previous.grams()) {
+          removePosting(gram, id);
+        }
+      }
+      for (String gram : document.grams()) {
+        postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+      }
+      return document;
+    });
+    rankedTerms.index(client.getClientId(), client.getFirstName(), client.getLastName(), client.getIdNumber(),
+        client.getMobileNumber(), client.getPhysicalAddress());
+  }
+
+  public void remove(final Integer clientId) {
+    documents.computeIfPresent(clientId, (id, previous) -> {
+      for (String gram : previous.grams()) {
+        removePosting(gram, id);
+      }
+      return null;
+    });
+    rankedTerms.remove(clientId);
+  }
+
+  /**
+   * Returns the ids, in ascending order, of the clients whose first name, mobile number or ID number
+   * match the {@code LIKE} pattern.
+   */
+  public List<Integer> search(final String key) {
+    if (key == null) {
+      return Collections.emptyList();
+    }
+    var pattern = LikePattern.compile(key);
+    var results = new ArrayList<Integer>();
+    for (Integer id : candidates(pattern)) {
+      var document = documents.get(id);
+      if (document != null && document.matches(pattern)) {
+        results.add(id);
+      }
+    }
+    Collections.sort(results);
+    return results;
+  }
+
+  /**
+   * Returns the ids of at most {@code limit} clients matching the words of {@code key}, best match first. Each word
+   * is matched against the words of the client's names, ID and mobile numbers and physical address: an exact match
+   * ranks above a prefix match, which ranks above a match within {@code client.search.max-edits} typos. Typos are
+   * only tolerated in words of at least {@code client.search.fuzzy-min-length} characters, and not in numbers.
+   */
+  public List<Integer> searchRanked(final String key, final int limit) {
+    return rankedTerms.search(key, limit);
+  }
+
+  public void clear() {
+    documents.clear();
+    postings.clear();
+    rankedTerms.clear();
+  }
+
+  public int size() {
+    return documents.size();
+  }
+
+  private Set<Integer> candidates(final LikePattern pattern) {
+    Set<Integer> smallest = null;
+    var others = new ArrayList<Set<Integer>>();
+    for (String segment : pattern.literalSegments()) {
+      for (int i = 0; i + GRAM_LENGTH <= segment.length(); i++) {
+        var posting = postings.get(segment.substring(i, i + GRAM_LENGTH));
+        if (posting == null) {
+          return Collections.emptySet();
+        }
+        if (smallest == null || posting.size() < smallest.size()) {
+          if (smallest != null) {
+            others.add(smallest);
+          }
+          smallest = posting;
+        } else {
+          others.add(posting);
+        }
+      }
+    }
+    if (smallest == null) {
+      return documents.keySet();
+    }
+    var candidates = new HashSet<Integer>();
+    for (Integer id : smallest) {
+      if (containsInAll(others, id)) {
+        candidates.add(id);
+      }
+    }
+    return candidates;
+  }
+
+  private static boolean containsInAll(final List<Set<Integer>> postings, final Integer id) {
+    for (Set<Integer> posting : postings) {
+      if (!posting.contains(id)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void removePosting(final String gram, final Integer id) {
+    postings.computeIfPresent(gram, (g, ids) -> {
+      ids.remove(id);
+      return ids.isEmpty() ? null : ids;
+    });
+  }
+
+  private record IndexedClient(String firstName, String mobileNumber, String idNumber) {
+
+    boolean matches(final LikePattern pattern) {
+      return pattern.matches(firstName) || pattern.matches(mobileNumber) || pattern.matches(idNumber);
+    }
+
+    Set<String> grams() {
+      var grams = new HashSet<String>();
+      addGrams(grams, firstName);
+      addGrams(grams, mobileNumber);
+      addGrams(grams, idNumber);
+      return grams;
+    }
+
+    private static void addGrams(final Set<String> grams, final String value) {
+      if (value == null) {
+        return;
+      }
+      for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+        grams.add(value.substring(i, i + GRAM_LENGTH));
+      }
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.assessment.ClientManagementSystem.api.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled SQL {@code LIKE} pattern: {@code %} matches any sequence, {@code _} matches one character
+ * and {@code \} escapes the next character. Matches the semantics the repository query used to get from the database.
+ */
+public final class LikePattern {
+
+  private static final byte LITERAL = 0;
+  private static final byte ANY_ONE = 1;
+  private static final byte ANY_SEQUENCE = 2;
+
+  private final char[] chars;
+  private final byte[] kinds;
+  private final int length;
+  private final List<String> literalSegments;
+
+  private LikePattern(final char[] chars, final byte[] kinds, final int length, final List<String> literalSegments) {
+    this.chars = chars;
+    this.kinds = kinds;
+    this.length = length;
+    this.literalSegments = literalSegments;
+  }
+
+  public static LikePattern compile(final String pattern) {
+    var chars = new char[pattern.length()];
+    var kinds = new byte[pattern.length()];
+    var segments = new ArrayList<String>();
+    var segment = new StringBuilder();
+    var length = 0;
+
+    for (int i = 0; i < pattern.length(); i++) {
+      var c = pattern.charAt(i);
+      if (c == '\\' && i + 1 < pattern.length()) {
+        c = pattern.charAt(++i);
+        segment.append(c);
+        chars[length] = c;
+        kinds[length++] = LITERAL;
+      } else if (c == '%' || c == '_') {
+        if (segment.length() > 0) {
+          segments.add(segment.toString());
+          segment.setLength(0);
+        }
+        // Consecutive '%' are equivalent to a single one.
+        if (c == '%' && length > 0 && kinds[length - 1] == ANY_SEQUENCE) {
+          continue;
+        }
+        kinds[length++] = c == '%' ? ANY_SEQUENCE : ANY_ONE;
+      } else {
+        segment.append(c);
+        chars[length] = c;
+        kinds[length++] = LITERAL;
+      }
+    }
+    if (segment.length() > 0) {
+      segments.add(segment.toString());
+    }
+    return new LikePattern(chars, kinds, length, segments);
+  }
+
+  /**
+   * The runs of literal characters between wildcards, used to pick candidate rows from the n-gram postings.
+   */
+  List<String> literalSegments() {
+    return literalSegments;
+  }
+
+  public boolean matches(final String text) {
+    if (text == null) {
+      return false;
+    }
+    int t = 0;
+    int p = 0;
+    int starP = -1;
+    int starT = -1;
+    while (t < text.length()) {
+      if (p < length && (kinds[p] == ANY_ONE || (kinds[p] == LITERAL && chars[p] == text.charAt(t)))) {
+        t++;
+        p++;
+      } else if (p < length && kinds[p] == ANY_SEQUENCE) {
+        starP = p++;
+        starT = t;
+      } else if (starP >= 0) {
+        p = starP + 1;
+        t = ++starT;
+      } else {
+        return false;
+      }
+    }
+    while (p < length && kinds[p] == ANY_SEQUENCE) {
+      p++;
+    }
+    return p == length;
+  }
+}
@@ -0,0 +1,323 @@
+package com.assessment.ClientManagementSystem.api.service.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Term index for ranked search. Every indexed value is split into lower-cased words, and each word (a term) points
+ * at the clients that contain it.
+ * <p>
+ * A query word matches a term exactly, as a prefix, or within {@code maxEdits} insertions, deletions, substitutions
+ * or adjacent transpositions. Exact and prefix matches are read from the sorted term set. Fuzzy matches come from a
+ * deletion dictionary: every term is stored under each variant obtained by deleting up to {@code maxEdits} of its
+ * characters, so the terms near a word are found by looking up the word's own deletion variants and checking the
+ * candidates' distance, without scanning the terms.
+ * <p>
+ * Only terms with a letter in them, the words of names and addresses, are tolerant of typos. ID and mobile numbers
+ * are all digits, nearly unique per client and not mistyped the way names are, so giving each of them its own
+ * deletion variants would take most of the index's memory for matches nobody wants.
+ */
+final class RankedTermIndex {
+
+  static final int EXACT_SCORE = 4;
+  static final int PREFIX_SCORE = 3;
+
+  private static final Comparator<Scored> WORST_FIRST = Comparator.comparingInt(Scored::score)
+      .thenComparing(Comparator.comparingInt(Scored::clientId).reversed());
+
+  private final int maxEdits;
+  private final int fuzzyMinLength;
+  private final Map<Integer, Set<String>> documents = new ConcurrentHashMap<>();
+  private final Map<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+  private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+  private final Map<String, Set<String>> deletions = new ConcurrentHashMap<>();
+
+  RankedTermIndex(final int maxEdits, final int fuzzyMinLength) {
+    if (maxEdits < 0 || maxEdits >= PREFIX_SCORE) {
+      throw new IllegalArgumentException("Fuzzy search allows between 0 and " + (PREFIX_SCORE - 1) + " edits");
+    }
+    this.maxEdits = maxEdits;
+    this.fuzzyMinLength = fuzzyMinLength;
+  }
+
+  /**
+   * Indexes the words of {@code values} for the client, replacing whatever was previously indexed for it.
+   */
+  void index(final Integer clientId, final String... values) {
+    var document = new HashSet<String>();
+    for (String value : values) {
+      document.addAll(words(value));
+    }
+    documents.compute(clientId, (id, previous) -> {
+      if (previous != null) {
+        for (String term : previous) {
+          if (!document.contains(term)) {
+            removePosting(term, id);
+          }
+        }
+      }
+      for (String term : document) {
+        addPosting(term, id);
+      }
+      return document;
+    });
+  }
+
+  void remove(final Integer clientId) {
+    documents.computeIfPresent(clientId, (id, previous) -> {
+      for (String term : previous) {
+        removePosting(term, id);
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Returns the ids of the {@code limit} best matches for {@code key}, best first. Every word of the key must match
+   * one of the client's terms; a client scores the sum of its best match per word, and ties go to the lower id.
+   * Only a bounded heap of {@code limit} candidates is kept while ranking.
+   */
+  List<Integer> search(final String key, final int limit) {
+    var words = new ArrayList<>(new HashSet<>(words(key)));
+    if (words.isEmpty() || limit < 1) {
+      return Collections.emptyList();
+    }
+    var scoresPerWord = new ArrayList<Map<Integer, Integer>>(words.size());
+    for (String word : words) {
+      var scores = score(word);
+      if (scores.isEmpty()) {
+        return Collections.emptyList();
+      }
+      scoresPerWord.add(scores);
+    }
+    scoresPerWord.sort(Comparator.comparingInt(Map::size));
+
+    var top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+    candidates:
+    for (Map.Entry<Integer, Integer> candidate : scoresPerWord.get(0).entrySet()) {
+      var total = candidate.getValue();
+      for (int i = 1; i < scoresPerWord.size(); i++) {
+        var score = scoresPerWord.get(i).get(candidate.getKey());
+        if (score == null) {
+          continue candidates;
+        }
+        total += score;
+      }
+      var scored = new Scored(candidate.getKey(), total);
+      if (top.size() < limit) {
+        top.add(scored);
+      } else if (WORST_FIRST.compare(scored, top.peek()) > 0) {
+        top.poll();
+        top.add(scored);
+      }
+    }
+
+    var ranked = new ArrayList<Integer>(top.size());
+    while (!top.isEmpty()) {
+      ranked.add(top.poll().clientId());
+    }
+    Collections.reverse(ranked);
+    return ranked;
+  }
+
+  void clear() {
+    documents.clear();
+    postings.clear();
+    terms.clear();
+    deletions.clear();
+  }
+
+  int size() {
+    return documents.size();
+  }
+
+  /**
+   * Best score per client for one query word: exact, then prefix, then one point less per edit below prefix.
+   */
+  private Map<Integer, Integer> score(final String word) {
+    var scores = new HashMap<Integer, Integer>();
+    var exact = postings.get(word);
+    if (exact != null) {
+      addScores(scores, exact, EXACT_SCORE);
+    }
+    for (String term : terms.subSet(word, false, word + Character.MAX_VALUE, false)) {
+      var ids = postings.get(term);
+      if (ids != null) {
+        addScores(scores, ids, PREFIX_SCORE);
+      }
+    }
+    if (word.length() >= fuzzyMinLength && isFuzzy(word)) {
+      var seen = new HashSet<String>();
+      for (String variant : deletionVariants(word, maxEdits)) {
+        var near = deletions.get(variant);
+        if (near == null) {
+          continue;
+        }
+        for (String term : near) {
+          if (!seen.add(term) || term.equals(word)) {
+            continue;
+          }
+          var edits = distance(word, term, maxEdits);
+          var ids = edits <= maxEdits ? postings.get(term) : null;
+          if (ids != null) {
+            addScores(scores, ids, PREFIX_SCORE - edits);
+          }
+        }
+      }
+    }
+    return scores;
+  }
+
+  private static void addScores(final Map<Integer, Integer> scores, final Set<Integer> ids, final int score) {
+    for (Integer id : ids) {
+      scores.merge(id, score, Math::max);
+    }
+  }
+
+  private void addPosting(final String term, final Integer id) {
+    postings.compute(term, (t, ids) -> {
+      if (ids == null) {
+        ids = ConcurrentHashMap.newKeySet();
+        terms.add(t);
+        if (isFuzzy(t)) {
+          for (String variant : deletionVariants(t, maxEdits)) {
+            deletions.computeIfAbsent(variant, v -> ConcurrentHashMap.newKeySet()).add(t);
+          }
+        }
+      }
+      ids.add(id);
+      return ids;
+    });
+  }
+
+  private void removePosting(final String term, final Integer id) {
+    postings.computeIfPresent(term, (t, ids) -> {
+      ids.remove(id);
+      if (!ids.isEmpty()) {
+        return ids;
+      }
+      terms.remove(t);
+      if (isFuzzy(t)) {
+        for (String variant : deletionVariants(t, maxEdits)) {
+          deletions.computeIfPresent(variant, (v, near) -> {
+            near.remove(t);
+            return near.isEmpty() ? null : near;
+          });
+        }
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Whether the term can be matched within {@code maxEdits}: it holds at least one letter.
+   */
+  private boolean isFuzzy(final String term) {
+    if (maxEdits == 0) {
+      return false;
+    }
+    for (int i = 0; i < term.length(); i++) {
+      if (Character.isLetter(term.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The word itself and every string obtained by deleting up to {@code edits} of its characters.
+   */
+  static Set<String> deletionVariants(final String word, final int edits) {
+    var variants = new HashSet<String>();
+    variants.add(word);
+    var frontier = Set.of(word);
+    for (int edit = 0; edit < edits; edit++) {
+      var next = new HashSet<String>();
+      for (String variant : frontier) {
+        for (int i = 0; i < variant.length(); i++) {
+          var deleted = variant.substring(0, i) + variant.substring(i + 1);
+          if (variants.add(deleted)) {
+            next.add(deleted);
+          }
+        }
+      }
+      frontier = next;
+    }
+    return variants;
+  }
+
+  /**
+   * Optimal string alignment distance between {@code a} and {@code b}, or {@code bound + 1} as soon as it is known
+   * to exceed {@code bound}.
+   */
+  static int distance(final String a, final String b, final int bound) {
+    if (Math.abs(a.length() - b.length()) > bound) {
+      return bound + 1;
+    }
+    var previousRow = new int[b.length() + 1];
+    var row = new int[b.length() + 1];
+    var current = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      row[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      var rowMin = i;
+      for (int j = 1; j <= b.length(); j++) {
+        var cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+        var value = Math.min(Math.min(row[j] + 1, current[j - 1] + 1), row[j - 1] + cost);
+        if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+          value = Math.min(value, previousRow[j - 2] + 1);
+        }
+        current[j] = value;
+        rowMin = Math.min(rowMin, value);
+      }
+      if (rowMin > bound) {
+        return bound + 1;
+      }
+      var recycled = previousRow;
+      previousRow = row;
+      row = current;
+      current = recycled;
+    }
+    return Math.min(row[b.length()], bound + 1);
+  }
+
+  /**
+   * Lower-cased runs of letters and digits.
+   */
+  static List<String> words(final String value) {
+    if (value == null) {
+      return Collections.emptyList();
+    }
+    var words = new ArrayList<String>();
+    var word = new StringBuilder();
+    for (int i = 0; i < value.length(); i++) {
+      var c = value.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        word.append(c);
+      } else if (word.length() > 0) {
+        words.add(word.toString().toLowerCase(Locale.ROOT));
+        word.setLength(0);
+      }
+    }
+    if (word.length() > 0) {
+      words.add(word.toString().toLowerCase(Locale.ROOT));
+    }
+    return words;
+  }
+
+  private record Scored(int clientId, int score) {
+  }
+}
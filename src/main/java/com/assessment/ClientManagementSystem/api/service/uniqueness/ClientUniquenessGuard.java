@@ -0,0 +1,242 @@
+package com.assessment.ClientManagementSystem.api.service.uniqueness;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of the ID and mobile numbers in use, so duplicates are rejected before the database is touched.
+ * <p>
+ * Each number maps to the client that owns it and the client version that took it, or to the reservation of a write
+ * that claimed it and is still in flight. Confirming an edit compares versions, so when two edits of the same client
+ * are confirmed out of order the older one neither takes back a number the newer one moved away from nor releases
+ * one the newer one kept. Claiming the two numbers of a write happens under the locks of their two stripes, taken in stripe order, so
+ * concurrent writes of the same number resolve to exactly one winner without a global lock, and a write that
+ * loses on one number never blocks another on the other. The index is loaded from the table at startup; the
+ * database's unique constraints stay in place for writers that bypass it.
+ */
+@Component
+public class ClientUniquenessGuard {
+
+  private static final int STRIPES = 64;
+
+  private final ClientRepository clientRepository;
+  private final int loadBatchSize;
+  private final Map<String, Claim> idNumbers = new ConcurrentHashMap<>();
+  private final Map<String, Claim> mobileNumbers = new ConcurrentHashMap<>();
+  private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+  public ClientUniquenessGuard(final ClientRepository clientRepository,
+                               @Value("${client.stream.batch-size:500}") final int loadBatchSize) {
+    this.clientRepository = clientRepository;
+    this.loadBatchSize = loadBatchSize;
+    for (int i = 0; i < STRIPES; i++) {
+      locks[i] = new ReentrantLock();
+    }
+  }
+
+  @PostConstruct
+  void load() {
+    var after = 0;
+    List<ClientSummary> batch;
+    do {
+      batch = clientRepository.findSummariesAfter(after, PageRequest.of(0, loadBatchSize));
+      for (ClientSummary client : batch) {
+        var owner = new Owner(client.clientId(), 0);
+        idNumbers.put(normalize(client.idNumber()), owner);
+        mobileNumbers.put(normalize(client.mobileNumber()), owner);
+      }
+      if (!batch.isEmpty()) {
+        after = batch.get(batch.size() - 1).clientId();
+      }
+    } while (batch.size() == loadBatchSize);
+  }
+
+  /**
+   * Claims both numbers for a new client, or returns {@code null} if either is already taken.
+   */
+  public Reservation reserve(final String idNumber, final String mobileNumber) {
+    return claim(null, idNumber, mobileNumber);
+  }
+
+  /**
+   * Claims the numbers an existing client is changing to, or returns {@code null} if either belongs to someone
+   * else. A {@code null} number is not being changed. Numbers the client already owns are kept; confirming the
+   * reservation with the client as it was releases the numbers it moved away from.
+   */
+  public Reservation reserve(final Integer clientId, final String idNumber, final String mobileNumber) {
+    return claim(clientId, idNumber, mobileNumber);
+  }
+
+  /**
+   * Records numbers written without a reservation, such as by a bulk import.
+   */
+  public void register(final Client client) {
+    var owner = new Owner(client.getClientId(), client.getVersion() == null ? 0 : client.getVersion());
+    idNumbers.put(normalize(client.getIdNumber()), owner);
+    mobileNumbers.put(normalize(client.getMobileNumber()), owner);
+  }
+
+  public void clear() {
+    idNumbers.clear();
+    mobileNumbers.clear();
+  }
+
+  /**
+   * Numbers are compared as stored: validation only admits digits, so trimming is the whole normalization and
+   * the guard agrees exactly with the unique columns behind it.
+   */
+  static String normalize(final String number) {
+    return number == null ? null : number.trim();
+  }
+
+  private Reservation claim(final Integer clientId, final String idNumber, final String mobileNumber) {
+    var idKey = normalize(idNumber);
+    var mobileKey = normalize(mobileNumber);
+    var first = stripe(idKey);
+    var second = stripe(mobileKey);
+    if (first > second) {
+      var swap = first;
+      first = second;
+      second = swap;
+    }
+
+    locks[first].lock();
+    if (second != first) {
+      locks[second].lock();
+    }
+    try {
+      var idOwner = idKey == null ? null : idNumbers.get(idKey);
+      var mobileOwner = mobileKey == null ? null : mobileNumbers.get(mobileKey);
+      if (!isFreeFor(idOwner, clientId) || !isFreeFor(mobileOwner, clientId)) {
+        return null;
+      }
+      var reservation = new Reservation(clientId, idKey, mobileKey);
+      if (idKey != null && idOwner == null) {
+        idNumbers.put(idKey, reservation);
+      }
+      if (mobileKey != null && mobileOwner == null) {
+        mobileNumbers.put(mobileKey, reservation);
+      }
+      return reservation;
+    } finally {
+      if (second != first) {
+        locks[second].unlock();
+      }
+      locks[first].unlock();
+    }
+  }
+
+  private static boolean isFreeFor(final Claim owner, final Integer clientId) {
+    return owner == null || (clientId != null && clientId.equals(owner.clientId()));
+  }
+
+  private static int stripe(final String key) {
+    var hash = Objects.hashCode(key);
+    return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+  }
+
+  /**
+   * Holder of a number: the client that owns it, or a reservation while the write that claimed it is in flight.
+   */
+  private interface Claim {
+
+    Integer clientId();
+
+    /**
+     * Whether a write that took {@code clientId} to {@code version} comes after this claim. A reservation of an
+     * edit of the same client does: its number can only have been the client's before that write if the
+     * reserved write committed first.
+     */
+    boolean precedes(Integer clientId, long version);
+  }
+
+  private record Owner(Integer clientId, long version) implements Claim {
+
+    @Override
+    public boolean precedes(final Integer clientId, final long version) {
+      return this.clientId.equals(clientId) && this.version < version;
+    }
+  }
+
+  /**
+   * Numbers claimed for one write. Confirm it with the saved client's id, or for an edit with the client as it
+   * was before, once the write succeeds; closing an unconfirmed reservation gives the numbers back.
+   */
+  public final class Reservation implements AutoCloseable, Claim {
+
+    private final Integer clientId;
+    private final String idNumber;
+    private final String mobileNumber;
+    private boolean confirmed;
+
+    private Reservation(final Integer clientId, final String idNumber, final String mobileNumber) {
+      this.clientId = clientId;
+      this.idNumber = idNumber;
+      this.mobileNumber = mobileNumber;
+    }
+
+    @Override
+    public Integer clientId() {
+      return clientId;
+    }
+
+    @Override
+    public boolean precedes(final Integer clientId, final long version) {
+      return this.clientId != null && this.clientId.equals(clientId);
+    }
+
+    public void confirm(final Integer savedClientId) {
+      confirmed = true;
+      settle(idNumbers, idNumber, new Owner(savedClientId, 0), null);
+      settle(mobileNumbers, mobileNumber, new Owner(savedClientId, 0), null);
+    }
+
+    /**
+     * Confirms an edit: the numbers it changed to become the client's at the version the edit wrote, and the ones
+     * it moved away from are released, unless a later edit of the client has already settled them.
+     */
+    public void confirm(final Client previous) {
+      confirmed = true;
+      var owner = new Owner(clientId, previous.getVersion() == null ? 1 : previous.getVersion() + 1);
+      settle(idNumbers, idNumber, owner, normalize(previous.getIdNumber()));
+      settle(mobileNumbers, mobileNumber, owner, normalize(previous.getMobileNumber()));
+    }
+
+    private void settle(final Map<String, Claim> numbers, final String number, final Owner owner,
+                        final String previousNumber) {
+      if (number == null) {
+        return;
+      }
+      numbers.computeIfPresent(number,
+          (key, claim) -> claim == this || claim.precedes(owner.clientId(), owner.version()) ? owner : claim);
+      if (previousNumber != null && !previousNumber.equals(number)) {
+        numbers.computeIfPresent(previousNumber,
+            (key, claim) -> claim.precedes(owner.clientId(), owner.version()) ? null : claim);
+      }
+    }
+
+    @Override
+    public void close() {
+      if (confirmed) {
+        return;
+      }
+      if (idNumber != null) {
+        idNumbers.remove(idNumber, this);
+      }
+      if (mobileNumber != null) {
+        mobileNumbers.remove(mobileNumber, this);
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.assessment.ClientManagementSystem.api.service.validation;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validates client requests with plain character checks rather than regular expressions, collecting every
+ * field error in a single pass. Each field reports at most one error: the first of its checks that fails.
+ */
+@Component
+public class ClientValidator {
+
+  public static final String FIRST_NAME = "firstName";
+  public static final String LAST_NAME = "lastName";
+  public static final String ID_NUMBER = "idNumber";
+  public static final String MOBILE_NUMBER = "mobileNumber";
+
+  private static final int ID_NUMBER_LENGTH = 13;
+  private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+  public ValidationResult validate(final ClientCreateRequest request) {
+    return validate(request, false);
+  }
+
+  /**
+   * Validates a partial update: fields left {@code null} are not being changed and are skipped, the rest are
+   * checked as in {@link #validate(ClientCreateRequest)}.
+   */
+  public ValidationResult validatePatch(final ClientCreateRequest request) {
+    return validate(request, true);
+  }
+
+  private ValidationResult validate(final ClientCreateRequest request, final boolean partial) {
+    var result = new ValidationResult.Builder();
+
+    var firstName = request.getFirstName();
+    if (isChecked(firstName, partial) && isBlank(firstName)) {
+      result.add(FIRST_NAME, "Firstname cannot be null or empty");
+    }
+
+    var lastName = request.getLastName();
+    if (isChecked(lastName, partial) && isBlank(lastName)) {
+      result.add(LAST_NAME, "Lastname cannot be null or empty");
+    }
+
+    var idNumber = request.getIdNumber();
+    if (isChecked(idNumber, partial)) {
+      if (isBlank(idNumber)) {
+        result.add(ID_NUMBER, "ID Number cannot be null or empty");
+      } else if (!isDigits(idNumber)) {
+        result.add(ID_NUMBER, "ID Number cannot contain alpha numerics");
+      } else if (idNumber.length() != ID_NUMBER_LENGTH) {
+        result.add(ID_NUMBER, "ID Number length should be 13");
+      } else if (!isValidSouthAfricanIdNumber(idNumber)) {
+        result.add(ID_NUMBER, "ID Number is not a valid South African ID number");
+      }
+    }
+
+    var mobileNumber = request.getMobileNumber();
+    if (isChecked(mobileNumber, partial)) {
+      if (isBlank(mobileNumber)) {
+        result.add(MOBILE_NUMBER, "Mobile Number cannot be null or empty");
+      } else if (!isDigits(mobileNumber)) {
+        result.add(MOBILE_NUMBER, "Mobile Number cannot contain alpha numerics");
+      }
+    }
+
+    return result.build();
+  }
+
+  private static boolean isChecked(final String value, final boolean partial) {
+    return !partial || value != null;
+  }
+
+  static boolean isBlank(final String value) {
+    return value == null || value.isBlank();
+  }
+
+  static boolean isDigits(final String value) {
+    if (value.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      var c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks a 13 digit number laid out as {@code YYMMDD SSSS C A Z}: a plausible date of birth, a citizenship
+   * digit of 0 (citizen) or 1 (permanent resident) and a Luhn check digit.
+   */
+  static boolean isValidSouthAfricanIdNumber(final String idNumber) {
+    var month = digit(idNumber, 2) * 10 + digit(idNumber, 3);
+    var day = digit(idNumber, 4) * 10 + digit(idNumber, 5);
+    if (month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]) {
+      return false;
+    }
+
+    var citizenship = digit(idNumber, 10);
+    if (citizenship > 1) {
+      return false;
+    }
+
+    var sum = 0;
+    for (int i = 0; i < ID_NUMBER_LENGTH; i++) {
+      var d = digit(idNumber, ID_NUMBER_LENGTH - 1 - i);
+      if ((i & 1) == 1) {
+        d *= 2;
+        if (d > 9) {
+          d -= 9;
+        }
+      }
+      sum += d;
+    }
+    return sum % 10 == 0;
+  }
+
+  private static int digit(final String value, final int index) {
+    return value.charAt(index) - '0';
+  }
+}
@@ -0,0 +1,4 @@
+package com.assessment.ClientManagementSystem.api.service.validation;
+
+public record FieldError(String field, String message) {
+}
@@ -0,0 +1,51 @@
+package com.assessment.ClientManagementSystem.api.service.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of validating a request. A valid result is a shared instance, so the common case allocates nothing.
+ */
+public final class ValidationResult {
+
+  private static final ValidationResult VALID = new ValidationResult(Collections.emptyList());
+
+  private final List<FieldError> errors;
+
+  private ValidationResult(final List<FieldError> errors) {
+    this.errors = errors;
+  }
+
+  public static ValidationResult valid() {
+    return VALID;
+  }
+
+  public boolean isValid() {
+    return errors.isEmpty();
+  }
+
+  public List<FieldError> getErrors() {
+    return errors;
+  }
+
+  public String getFirstMessage() {
+    return errors.isEmpty() ? null : errors.get(0).message();
+  }
+
+  static final class Builder {
+
+    private List<FieldError> errors;
+
+    void add(final String field, final String message) {
+      if (errors == null) {
+        errors = new ArrayList<>(2);
+      }
+      errors.add(new FieldError(field, message));
+    }
+
+    ValidationResult build() {
+      return errors == null ? VALID : new ValidationResult(Collections.unmodifiableList(errors));
+    }
+  }
+}
@@ -0,0 +1,256 @@
+package com.assessment.ClientManagementSystem.api.service.write;
+
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChangeType;
+import com.assessment.ClientManagementSystem.api.service.changes.ClientChangeLog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commits client writes. Callers put their write on a bounded queue and block until it commits; a single
+ * writer thread takes up to {@code client.write.batch-size} writes, waiting at most {@code client.write.max-delay}
+ * for a batch to fill, and commits all of them in one transaction with JDBC batches. Commits therefore grow with
+ * the batch rather than with the number of callers.
+ * <p>
+ * If a batch breaks a unique constraint it is rolled back and its writes are retried one per transaction, so only
+ * the caller whose ID or mobile number is taken sees the conflict. A full queue blocks callers until the writer
+ * catches up. Patches share the transaction but are sent one statement each, since every patch sets its own
+ * columns. Changes are recorded in the {@link ClientChangeLog}, when there is one, in the same transaction.
+ * <p>
+ * Relies on a failed batch being rolled back before its writes are retried, so it only runs with
+ * {@code client.storage=database}: the {@code memory} profile has no transaction manager, and writes to the client
+ * log stay written when the transaction around them rolls back.
+ */
+@Component
+@ConditionalOnProperty(name = "client.write.mode", havingValue = "batched")
+public class BatchingClientWriter implements ClientWriter {
+
+  private final ClientRepository clientRepository;
+  private final ClientChangeLog clientChangeLog;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<PendingWrite> queue;
+  private final int batchSize;
+  private final long maxDelayNanos;
+  private final DistributionSummary batchSizes;
+  private final Thread writerThread;
+  private volatile boolean running = true;
+
+  public BatchingClientWriter(final ClientRepository clientRepository,
+                              final ObjectProvider<ClientChangeLog> clientChangeLog,
+                              final ObjectProvider<PlatformTransactionManager> transactionManager,
+                              final MeterRegistry meterRegistry,
+                              @Value("${client.storage:database}") final String storage,
+                              @Value("${client.write.batch-size:100}") final int batchSize,
+                              @Value("${client.write.max-delay:2ms}") final Duration maxDelay,
+                              @Value("${client.write.queue-capacity:10000}") final int queueCapacity) {
+    if (!"database".equals(storage)) {
+      throw new IllegalStateException("client.write.mode=batched needs client.storage=database, "
+          + "as it rolls a failed batch back before retrying its writes");
+    }
+    var manager = transactionManager.getIfAvailable();
+    if (manager == null) {
+      throw new IllegalStateException("client.write.mode=batched needs a transaction manager, "
+          + "which the memory profile does not start");
+    }
+    this.clientRepository = clientRepository;
+    this.clientChangeLog = clientChangeLog.getIfAvailable();
+    this.transactionTemplate = new TransactionTemplate(manager);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.batchSizes = DistributionSummary.builder("client.write.batch.size")
+        .description("Client writes committed per transaction")
+        .register(meterRegistry);
+    Gauge.builder("client.write.queue.size", queue, BlockingQueue::size)
+        .description("Client writes waiting to be committed")
+        .register(meterRegistry);
+    this.writerThread = new Thread(this::run, "client-writer");
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  @Override
+  public Client insert(final Client client) {
+    return submit(new PendingWrite(WriteType.INSERT, client));
+  }
+
+  @Override
+  public Optional<PatchedClient> patch(final Client changes, final Collection<Long> expectedVersions) {
+    var write = new PendingWrite(WriteType.PATCH, changes);
+    write.expectedVersions = expectedVersions;
+    submit(write);
+    return Optional.ofNullable(write.patched);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    writerThread.interrupt();
+    writerThread.join(TimeUnit.SECONDS.toMillis(5));
+  }
+
+  private Client submit(final PendingWrite write) {
+    if (!running) {
+      throw new DataAccessResourceFailureException("Client writer has been stopped");
+    }
+    try {
+      queue.put(write);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DataAccessResourceFailureException("Interrupted while queueing a client write", e);
+    }
+    try {
+      write.result.join();
+      return write.client;
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private void run() {
+    var batch = new ArrayList<PendingWrite>(batchSize);
+    try {
+      while (running) {
+        batch.add(queue.take());
+        fill(batch);
+        batchSizes.record(batch.size());
+        write(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      queue.drainTo(batch);
+      var stopped = new DataAccessResourceFailureException("Client writer has been stopped");
+      batch.forEach(write -> write.result.completeExceptionally(stopped));
+    }
+  }
+
+  /**
+   * Adds queued writes to the batch until it is full or {@code maxDelay} has passed since its first write.
+   */
+  private void fill(final List<PendingWrite> batch) throws InterruptedException {
+    var deadline = System.nanoTime() + maxDelayNanos;
+    while (batch.size() < batchSize) {
+      if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+        continue;
+      }
+      var remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+      var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  /**
+   * Commits the writes in one transaction and completes their callers. Patches that matched no client come back
+   * empty; the rest of the batch still commits.
+   */
+  private void write(final List<PendingWrite> batch) {
+    var inserts = new ArrayList<Client>();
+    var patches = new ArrayList<PendingWrite>();
+    for (PendingWrite write : batch) {
+      switch (write.type) {
+        case INSERT -> inserts.add(write.client);
+        case PATCH -> patches.add(write);
+      }
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        clientRepository.insertBatch(inserts);
+        record(ClientChangeType.CREATED, inserts);
+        var changed = new ArrayList<Client>(patches.size());
+        for (PendingWrite write : patches) {
+          write.patched = clientRepository.patch(write.client, write.expectedVersions)
+              .map(previous -> PatchedClient.of(previous, write.client))
+              .orElse(null);
+          if (write.patched != null) {
+            changed.add(write.patched.updated());
+          }
+        }
+        record(ClientChangeType.UPDATED, changed);
+      });
+    } catch (DataIntegrityViolationException e) {
+      restore(inserts, patches);
+      if (batch.size() == 1) {
+        batch.get(0).result.completeExceptionally(e);
+        return;
+      }
+      for (PendingWrite write : batch) {
+        write(List.of(write));
+      }
+      return;
+    } catch (RuntimeException e) {
+      restore(inserts, patches);
+      batch.forEach(write -> write.result.completeExceptionally(e));
+      return;
+    }
+    batch.forEach(write -> write.result.complete(null));
+  }
+
+  private void record(final ClientChangeType type, final List<Client> clients) {
+    if (clientChangeLog != null) {
+      clientChangeLog.record(type, clients);
+    }
+  }
+
+  /**
+   * Clears the ids and versions a rolled back batch had already assigned to its inserts and forgets the results
+   * of its patches.
+   */
+  private static void restore(final List<Client> inserts, final List<PendingWrite> patches) {
+    inserts.forEach(client -> {
+      client.setClientId(null);
+      client.setVersion(null);
+    });
+    patches.forEach(write -> write.patched = null);
+  }
+
+  private enum WriteType {
+    INSERT, PATCH
+  }
+
+  private static final class PendingWrite {
+    private final WriteType type;
+    private final Client client;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+    private Collection<Long> expectedVersions;
+    private PatchedClient patched;
+
+    private PendingWrite(final WriteType type, final Client client) {
+      this.type = type;
+      this.client = client;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.assessment.ClientManagementSystem.api.service.write;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Persists validated clients for {@code ClientService}. {@code client.write.mode} selects the implementation:
+ * {@code direct} (the default) saves each client in its own transaction and {@code batched} group-commits
+ * concurrent writes.
+ * <p>
+ * Both report failures the same way: a {@link org.springframework.dao.DataIntegrityViolationException} when an
+ * ID or mobile number is already taken, and an empty result when a patch finds no client at an expected version.
+ */
+public interface ClientWriter {
+
+  /**
+   * Inserts a new client and returns it with its {@code clientId} and {@code version} set.
+   */
+  Client insert(Client client);
+
+  /**
+   * Writes the non-null fields of {@code changes} to the client with its {@code clientId}, if it is at one of
+   * {@code expectedVersions} ({@code null} accepts any version), without reading it first. Returns the client
+   * before and after the patch, or empty if no client matched.
+   */
+  Optional<PatchedClient> patch(Client changes, Collection<Long> expectedVersions);
+}
@@ -0,0 +1,13 @@
+package com.assessment.ClientManagementSystem.api.service.write;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+
+/**
+ * A client as it was before a patch and as the patch left it.
+ */
+public record PatchedClient(Client previous, Client updated) {
+
+  static PatchedClient of(final Client previous, final Client changes) {
+    return new PatchedClient(previous, previous.patched(changes));
+  }
+}
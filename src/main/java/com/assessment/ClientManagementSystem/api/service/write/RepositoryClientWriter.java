@@ -0,0 +1,55 @@
+package com.assessment.ClientManagementSystem.api.service.write;
+
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChangeType;
+import com.assessment.ClientManagementSystem.api.service.changes.ClientChangeLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Saves every client through the repository in its own transaction, together with its entry in the
+ * {@link ClientChangeLog} when there is one.
+ */
+@Component
+@ConditionalOnProperty(name = "client.write.mode", havingValue = "direct", matchIfMissing = true)
+public class RepositoryClientWriter implements ClientWriter {
+
+  private final ClientRepository clientRepository;
+  private final ClientChangeLog clientChangeLog;
+
+  public RepositoryClientWriter(final ClientRepository clientRepository,
+                                final ObjectProvider<ClientChangeLog> clientChangeLog) {
+    this.clientRepository = clientRepository;
+    this.clientChangeLog = clientChangeLog.getIfAvailable();
+  }
+
+  @Override
+  public Client insert(final Client client) {
+    if (clientChangeLog == null) {
+      clientRepository.save(client);
+      return client;
+    }
+    return clientChangeLog.write(ClientChangeType.CREATED, () -> List.of(clientRepository.save(client))).get(0);
+  }
+
+  @Override
+  public Optional<PatchedClient> patch(final Client changes, final Collection<Long> expectedVersions) {
+    if (clientChangeLog == null) {
+      return clientRepository.patch(changes, expectedVersions).map(previous -> PatchedClient.of(previous, changes));
+    }
+    var patched = new PatchedClient[1];
+    clientChangeLog.write(ClientChangeType.UPDATED, () -> clientRepository.patch(changes, expectedVersions)
+        .map(previous -> {
+          patched[0] = PatchedClient.of(previous, changes);
+          return List.of(patched[0].updated());
+        })
+        .orElse(List.of()));
+    return Optional.ofNullable(patched[0]);
+  }
+}
@@ -0,0 +1,37 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import com.assessment.ClientManagementSystem.api.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:fast-start;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("fast-start")
+public class FastStartConfigurationTest {
+
+  @Autowired
+  private ConfigurableApplicationContext context;
+
+  @Test
+  public void fastStartShouldCreateSchemaButDeferServiceBeansToFirstUse() {
+    //Given
+    var beanFactory = context.getBeanFactory();
+    assertThat(beanFactory.containsSingleton("entityManagerFactory")).isTrue();
+    assertThat(beanFactory.containsSingleton("clientSearchIndex")).isFalse();
+    assertThat(beanFactory.containsSingleton("clientUniquenessGuard")).isFalse();
+
+    //When
+    var clients = context.getBean(ClientService.class).searchForClientByKey("John");
+
+    //Then
+    assertThat(clients).isEmpty();
+    assertThat(beanFactory.containsSingleton("clientSearchIndex")).isTrue();
+    assertThat(context.getBean(JdbcTemplate.class).queryForObject("select count(*) from client", Integer.class))
+        .isZero();
+  }
+}
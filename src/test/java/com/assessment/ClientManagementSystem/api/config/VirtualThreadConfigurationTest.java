@@ -0,0 +1,39 @@
+package com.assessment.ClientManagementSystem.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadConfigurationTest {
+
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+      .withUserConfiguration(VirtualThreadConfiguration.class);
+
+  @Test
+  public void platformModeShouldNotReplaceRequestExecutor() {
+    contextRunner
+        .withPropertyValues("client.execution.mode=platform")
+        .run(context -> assertThat(context).doesNotHaveBean(ExecutorService.class));
+  }
+
+  @Test
+  public void virtualModeShouldRunTasksOnVirtualThreads() {
+    contextRunner
+        .withPropertyValues("client.execution.mode=virtual")
+        .run(context -> {
+          if (Runtime.version().feature() < 21) {
+            assertThat(context).hasFailed();
+            assertThat(context.getStartupFailure())
+                .hasRootCauseInstanceOf(NoSuchMethodException.class)
+                .hasMessageContaining("requires Java 21");
+            return;
+          }
+          var executor = context.getBean(ExecutorService.class);
+          var virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread())).get();
+          assertThat(virtual).isEqualTo(true);
+        });
+  }
+}
@@ -1,32 +1,67 @@
 package com.assessment.ClientManagementSystem.api.controller;
 
+import com.assessment.ClientManagementSystem.api.controller.model.ClientBatchResponse;
 import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientImportReport;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientImportResult;
 import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
 import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
 import com.assessment.ClientManagementSystem.api.exception.NotFoundException;
+import com.assessment.ClientManagementSystem.api.exception.PreconditionFailedException;
 import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChange;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChangeType;
+import com.assessment.ClientManagementSystem.api.service.ClientImportService;
 import com.assessment.ClientManagementSystem.api.service.ClientService;
+import com.assessment.ClientManagementSystem.api.service.changes.ClientChangeLog;
+import com.assessment.ClientManagementSystem.api.service.export.ClientExportFormat;
+import com.assessment.ClientManagementSystem.api.service.export.ClientExportService;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 import static java.util.List.of;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureMetrics
 public class ClientControllerTest {
 
   @Autowired
@@ -35,21 +70,205 @@ public class ClientControllerTest {
   @Autowired
   private ObjectMapper objectMapper;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @MockBean
   private ClientService clientService;
 
+  @MockBean
+  private ClientImportService clientImportService;
+
+  @MockBean
+  private ClientExportService clientExportService;
+
+  @MockBean
+  private ClientChangeLog clientChangeLog;
+
   private static final String API_PATH = "/api/clients";
 
   @Test
   public void getListOfClientsShouldReturnClientList() throws Exception {
-    var expected = getDefaultClient();
-
-    given(clientService.getAllClients())
-        .willReturn(of(new ClientModel(expected)));
+    given(clientService.getClients(null, 100))
+        .willReturn(of(getDefaultClientSummary()));
 
     this.mockMvc.perform(get(API_PATH))
         .andDo(print())
-        .andExpect(status().isOk());
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(APPLICATION_JSON))
+        .andExpect(content().json("[{\"clientId\":1,\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/clients/1\"}]}]"))
+        .andExpect(header().doesNotExist(HttpHeaders.LINK));
+  }
+
+  @Test
+  public void getListOfClientsWhenPageIsFullShouldReturnNextLink() throws Exception {
+    given(clientService.getClients(0, 1))
+        .willReturn(of(getDefaultClientSummary()));
+
+    this.mockMvc.perform(get(API_PATH + "?after=0&size=1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.LINK, "<http://localhost/api/clients?after=1&size=1>;rel=\"next\""));
+  }
+
+  @Test
+  public void getListOfClientsWhenSizeIsInvalidShouldReturnBadRequest() throws Exception {
+    this.mockMvc.perform(get(API_PATH + "?size=0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void streamClientsShouldReturnNdjson() throws Exception {
+    willAnswer(invocation -> {
+      invocation.<java.util.function.Consumer<ClientSummary>>getArgument(1).accept(getDefaultClientSummary());
+      return null;
+    }).given(clientService).forEachClient(eq(500), any());
+
+    var result = this.mockMvc.perform(get(API_PATH).accept(APPLICATION_NDJSON))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    var response = this.mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse();
+
+    assertThat(response.getContentAsString()).isEqualTo(
+        "{\"clientId\":1,\"firstName\":\"John\",\"lastName\":\"Snow\",\"idNumber\":\"1111111111111\","
+            + "\"mobileNumber\":\"000000\",\"physicalAddress\":\"Home\","
+            + "\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/clients/1\"}]}\n");
+  }
+
+  @Test
+  public void exportClientsShouldStreamGzipAttachment() throws Exception {
+    var result = this.mockMvc.perform(get(API_PATH + "/export").param("format", "ndjson"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    this.mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+        .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clients.ndjson.gz\""));
+
+    then(clientExportService).should().export(eq(ClientExportFormat.NDJSON), any());
+  }
+
+  @Test
+  public void exportClientsWithUnknownFormatShouldReturnBadRequest() throws Exception {
+    this.mockMvc.perform(get(API_PATH + "/export").param("format", "xml"))
+        .andExpect(status().isBadRequest());
+
+    then(clientExportService).should(never()).export(any(), any());
+  }
+
+  @Test
+  public void searchForClientsShouldReturnClientListWithSelfLinks() throws Exception {
+    given(clientService.searchForClientByKey("John"))
+        .willReturn(of(getDefaultClientSummary()));
+
+    this.mockMvc.perform(get(API_PATH + "/search?key=John"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(APPLICATION_JSON))
+        .andExpect(content().json("[{\"clientId\":1,\"firstName\":\"John\",\"lastName\":\"Snow\","
+            + "\"idNumber\":\"1111111111111\",\"mobileNumber\":\"000000\",\"physicalAddress\":\"Home\","
+            + "\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/clients/1\"}]}]", true));
+  }
+
+  @Test
+  public void searchRankedForClientsShouldCapLimit() throws Exception {
+    given(clientService.searchRankedForClientsByKey("john", 100))
+        .willReturn(of(getDefaultClientSummary()));
+
+    this.mockMvc.perform(get(API_PATH + "/search/ranked?key=john&limit=5000"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("[{\"clientId\":1,\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/clients/1\"}]}]"));
+  }
+
+  @Test
+  public void searchRankedForClientsWithInvalidLimitShouldReturnBadRequest() throws Exception {
+    this.mockMvc.perform(get(API_PATH + "/search/ranked?key=john&limit=0"))
+        .andExpect(status().isBadRequest());
+
+    then(clientService).should(never()).searchRankedForClientsByKey(any(), eq(0));
+  }
+
+  @Test
+  public void getChangesShouldReturnChangesWithNextCursor() throws Exception {
+    given(clientChangeLog.changesAfter(5, 2, Duration.ZERO))
+        .willReturn(CompletableFuture.completedFuture(of(getClientChange(6, ClientChangeType.CREATED),
+            getClientChange(7, ClientChangeType.UPDATED))));
+
+    var result = this.mockMvc.perform(get(API_PATH + "/changes?since=5&limit=2"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    this.mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.LINK, "<http://localhost/api/clients/changes?since=7&limit=2>;rel=\"next\""))
+        .andExpect(content().json("{\"next\":7,\"changes\":[{\"sequenceNumber\":6,\"type\":\"CREATED\",\"clientId\":1},"
+            + "{\"sequenceNumber\":7,\"type\":\"UPDATED\",\"version\":3}]}"));
+  }
+
+  @Test
+  public void getChangesShouldCapWait() throws Exception {
+    given(clientChangeLog.changesAfter(0, 500, Duration.ofSeconds(25)))
+        .willReturn(CompletableFuture.completedFuture(of()));
+
+    var result = this.mockMvc.perform(get(API_PATH + "/changes?wait=600"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    this.mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.LINK))
+        .andExpect(content().json("{\"next\":0,\"changes\":[]}"));
+  }
+
+  @Test
+  public void getChangesWithNegativeSinceShouldReturnBadRequest() throws Exception {
+    this.mockMvc.perform(get(API_PATH + "/changes?since=-1"))
+        .andExpect(status().isBadRequest());
+
+    then(clientChangeLog).should(never()).changesAfter(eq(-1L), any(Integer.class), any());
+  }
+
+  @Test
+  public void getClientsByIdsShouldReturnFoundClientsAndMissingValues() throws Exception {
+    given(clientService.getClientsByIds(of(1, 2), of("8001015009087")))
+        .willReturn(new ClientBatchResponse(of(new ClientModel(getDefaultClient())), of(2), of("8001015009087")));
+
+    this.mockMvc.perform(get(API_PATH + "/batch?ids=1,2&idNumbers=8001015009087"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"clients\":[{\"clientId\":1,\"version\":3}],"
+            + "\"missingIds\":[2],\"missingIdNumbers\":[\"8001015009087\"]}"));
+  }
+
+  @Test
+  public void findClientsByIdsShouldReadIdsFromBody() throws Exception {
+    given(clientService.getClientsByIds(of(1), null))
+        .willReturn(new ClientBatchResponse(of(new ClientModel(getDefaultClient())), of(), of()));
+
+    this.mockMvc.perform(post(API_PATH + "/batch")
+            .contentType(APPLICATION_JSON)
+            .content("{\"ids\":[1]}"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"clients\":[{\"clientId\":1}],\"missingIds\":[],\"missingIdNumbers\":[]}"));
+  }
+
+  @Test
+  public void searchForClientsByKeysShouldReturnResultsPerKey() throws Exception {
+    var results = new LinkedHashMap<String, List<ClientSummary>>();
+    results.put("John", of(getDefaultClientSummary()));
+    results.put("Arya", of());
+    given(clientService.searchForClientsByKeys(of("John", "Arya")))
+        .willReturn(results);
+
+    this.mockMvc.perform(post(API_PATH + "/search/batch")
+            .contentType(APPLICATION_JSON)
+            .content("[\"John\",\"Arya\"]"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"John\":[{\"clientId\":1,\"firstName\":\"John\",\"lastName\":\"Snow\","
+            + "\"idNumber\":\"1111111111111\",\"mobileNumber\":\"000000\",\"physicalAddress\":\"Home\","
+            + "\"links\":[{\"rel\":\"self\",\"href\":\"http://localhost/api/clients/1\"}]}],\"Arya\":[]}", true));
   }
 
   @Test
@@ -62,6 +281,7 @@ public class ClientControllerTest {
     var actual = this.mockMvc.perform(get(API_PATH + "/1"))
         .andDo(print())
         .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
         .andReturn();
 
     var actualResponseBody = actual.getResponse().getContentAsString();
@@ -69,11 +289,96 @@ public class ClientControllerTest {
         objectMapper.writeValueAsString(expected));
   }
 
+  @Test
+  public void getClientByIdWhenETagMatchesShouldReturnNotModified() throws Exception {
+    given(clientService.getClientVersion(1))
+        .willReturn(3L);
+
+    this.mockMvc.perform(get(API_PATH + "/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+        .andExpect(content().string(""));
+
+    then(clientService).should(never()).getClientById(any());
+  }
+
+  @Test
+  public void getClientByIdWhenETagIsStaleShouldReturnClient() throws Exception {
+    given(clientService.getClientVersion(1))
+        .willReturn(4L);
+    var expected = getDefaultClient();
+    expected.setVersion(4L);
+    given(clientService.getClientById(1))
+        .willReturn(new ClientModel(expected));
+
+    this.mockMvc.perform(get(API_PATH + "/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+  }
+
+  @Test
+  public void editClientShouldPassIfMatchVersions() throws Exception {
+    var expected = getDefaultClient();
+    expected.setVersion(4L);
+    var request = getDefaultClientCreateRequest();
+    given(clientService.editClient(eq(1), any(), eq(Set.of(3L))))
+        .willReturn(new ClientModel(expected));
+
+    this.mockMvc.perform(patch(API_PATH + "/1")
+            .header(HttpHeaders.IF_MATCH, "\"3\"")
+            .contentType(APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+  }
+
+  @Test
+  public void editClientWhenIfMatchIsStaleShouldReturnPreconditionFailed() throws Exception {
+    var request = getDefaultClientCreateRequest();
+    given(clientService.editClient(eq(1), any(), eq(Set.of(2L))))
+        .willThrow(new PreconditionFailedException("Client has been modified since it was last read"));
+
+    this.mockMvc.perform(patch(API_PATH + "/1")
+            .header(HttpHeaders.IF_MATCH, "\"2\"")
+            .contentType(APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(content().json("{\"errors\":[{\"message\":\"Client has been modified since it was last read\"}]}"));
+  }
+
+  @Test
+  public void errorResponsesShouldBeCountedByTypeAndException() throws Exception {
+    given(clientService.getClientById(9998))
+        .willThrow(new NotFoundException("Provided id does not exist"));
+
+    this.mockMvc.perform(get(API_PATH + "/9998"))
+        .andExpect(status().isNotFound());
+
+    assertThat(meterRegistry.get("client.api.errors")
+        .tag("type", "notFoundError")
+        .tag("exception", "NotFoundException")
+        .counter()
+        .count()).isGreaterThanOrEqualTo(1.0);
+  }
+
+  @Test
+  public void prometheusEndpointShouldServeClientMetrics() throws Exception {
+    var response = this.mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    assertThat(response).contains("client_operation_seconds_count{operation=\"create\",}");
+    assertThat(response).contains("client_operation_phase_seconds{operation=\"get\",phase=\"repository\",quantile=\"0.999\",}");
+    assertThat(response).contains("cache_gets_total{cache=\"clients\"");
+  }
+
   @Test
   public void getClientByIdWhenIdDoesNotExistShouldReturnNotFound() throws Exception {
     this.mockMvc = MockMvcBuilders
         .standaloneSetup()
-        .setControllerAdvice(new GenericControllerAdvice())
+        .setControllerAdvice(new GenericControllerAdvice(new ClientMetrics(new SimpleMeterRegistry())))
         .build();
 
     given(clientService.getClientById(9999))
@@ -89,6 +394,51 @@ public class ClientControllerTest {
     assertThat(response.getContentAsString()).isEmpty();
   }
 
+  @Test
+  public void importClientsFromCsvShouldReadEveryRow() throws Exception {
+    var read = new java.util.ArrayList<ClientCreateRequest>();
+    given(clientImportService.importClients(any()))
+        .willAnswer(invocation -> {
+          java.util.Iterator<ClientCreateRequest> records = invocation.getArgument(0);
+          records.forEachRemaining(read::add);
+          var report = new ClientImportReport();
+          report.add(ClientImportResult.created(1, 1));
+          report.add(ClientImportResult.rejected(2, "ID Number length should be 13"));
+          return report;
+        });
+
+    this.mockMvc.perform(post(API_PATH + "/bulk")
+            .contentType("text/csv")
+            .content("firstName,lastName,idNumber,mobileNumber,physicalAddress\n"
+                + "John,Snow,8001015009087,0820000001,\"1 Main Road, Cape Town\"\n"
+                + "Arya,Stark,123,0820000002,Home\n"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"total\":2,\"created\":1,\"rejected\":1}"));
+
+    assertThat(read.size()).isEqualTo(2);
+    assertThat(read.get(0).getPhysicalAddress()).isEqualTo("1 Main Road, Cape Town");
+    assertThat(read.get(1).getIdNumber()).isEqualTo("123");
+  }
+
+  @Test
+  public void importClientsFromNdjsonShouldReadEveryRow() throws Exception {
+    var read = new java.util.ArrayList<ClientCreateRequest>();
+    given(clientImportService.importClients(any()))
+        .willAnswer(invocation -> {
+          java.util.Iterator<ClientCreateRequest> records = invocation.getArgument(0);
+          records.forEachRemaining(read::add);
+          return new ClientImportReport();
+        });
+
+    this.mockMvc.perform(post(API_PATH + "/bulk")
+            .contentType(APPLICATION_NDJSON)
+            .content("{\"firstName\":\"John\"}\n{\"firstName\":\"Arya\"}\n"))
+        .andExpect(status().isOk());
+
+    assertThat(read.size()).isEqualTo(2);
+    assertThat(read.get(1).getFirstName()).isEqualTo("Arya");
+  }
+
   @Test
   public void createClientWhenFirstnameIsNullShouldReturnBadRequest() throws Exception {
     var expected = getDefaultClientCreateRequest();
@@ -265,6 +615,16 @@ public class ClientControllerTest {
     assertThat(response.getContentAsString()).isEmpty();
   }
 
+  private ClientSummary getDefaultClientSummary() {
+    return new ClientSummary(1, "John", "Snow", "1111111111111", "000000", "Home");
+  }
+
+  private ClientChange getClientChange(final long sequenceNumber, final ClientChangeType type) {
+    var change = ClientChange.of(type, getDefaultClient(), Instant.parse("2024-01-01T00:00:00Z"));
+    change.setSequenceNumber(sequenceNumber);
+    return change;
+  }
+
   private Client getDefaultClient() {
     var client = new Client();
     client.setClientId(1);
@@ -273,6 +633,7 @@ public class ClientControllerTest {
     client.setMobileNumber("000000");
     client.setIdNumber("1111111111111");
     client.setPhysicalAddress("Home");
+    client.setVersion(3L);
     return client;
   }
 
@@ -0,0 +1,113 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static java.util.List.of;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "client.rate-limit.enabled=true",
+    "client.rate-limit.per-client.rate=1",
+    "client.rate-limit.per-client.burst=3",
+    "client.rate-limit.endpoints.search-for-clients-by-key.rate=1",
+    "client.rate-limit.endpoints.search-for-clients-by-key.burst=1",
+    "client.rate-limit.trusted-callers=127.0.0.1"})
+@AutoConfigureMockMvc
+public class ClientRateLimitControllerTest {
+
+  private static final String API_PATH = "/api/clients";
+  private static final String CLIENT_KEY = "X-Client-Key";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private ClientService clientService;
+
+  @Test
+  public void searchOverEndpointRateShouldReturnTooManyRequestsWithoutStarvingLookups() throws Exception {
+    given(clientService.searchForClientByKey("John")).willReturn(of());
+    given(clientService.getClientById(1)).willReturn(new ClientModel(getDefaultClient()));
+
+    this.mockMvc.perform(get(API_PATH + "/search?key=John").header(CLIENT_KEY, "search-job"))
+        .andExpect(status().isOk());
+    this.mockMvc.perform(get(API_PATH + "/search?key=John").header(CLIENT_KEY, "search-job"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+        .andExpect(content().json("{\"errors\":[{\"code\":\"rateLimitError\"}]}"));
+    this.mockMvc.perform(get(API_PATH + "/1").header(CLIENT_KEY, "web"))
+        .andExpect(status().isOk());
+
+    then(clientService).should(times(1)).searchForClientByKey(any());
+    this.mockMvc.perform(get("/api/rate-limit/clients"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rejections.endpoint").value(1))
+        .andExpect(jsonPath("$.endpointTokens['search-for-clients-by-key']").exists())
+        .andExpect(jsonPath("$.inFlight").value(0));
+  }
+
+  @Test
+  public void clientOverItsRateShouldReturnTooManyRequestsOnlyForItself() throws Exception {
+    given(clientService.getClientById(1)).willReturn(new ClientModel(getDefaultClient()));
+
+    for (int i = 0; i < 3; i++) {
+      this.mockMvc.perform(get(API_PATH + "/1").header(CLIENT_KEY, "busy"))
+          .andExpect(status().isOk());
+    }
+    this.mockMvc.perform(get(API_PATH + "/1").header(CLIENT_KEY, "busy"))
+        .andExpect(status().isTooManyRequests());
+    this.mockMvc.perform(get(API_PATH + "/1").header(CLIENT_KEY, "quiet"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  public void clientKeyFromUntrustedCallerShouldBeIgnored() throws Exception {
+    given(clientService.getClientById(1)).willReturn(new ClientModel(getDefaultClient()));
+
+    for (int i = 0; i < 3; i++) {
+      this.mockMvc.perform(get(API_PATH + "/1").header(CLIENT_KEY, "fresh-" + i).with(remoteAddress("10.0.0.7")))
+          .andExpect(status().isOk());
+    }
+    this.mockMvc.perform(get(API_PATH + "/1").header(CLIENT_KEY, "fresh-3").with(remoteAddress("10.0.0.7")))
+        .andExpect(status().isTooManyRequests());
+    this.mockMvc.perform(get(API_PATH + "/1").with(remoteAddress("10.0.0.8")))
+        .andExpect(status().isOk());
+  }
+
+  private static RequestPostProcessor remoteAddress(final String address) {
+    return request -> {
+      request.setRemoteAddr(address);
+      return request;
+    };
+  }
+
+  private Client getDefaultClient() {
+    var client = new Client();
+    client.setClientId(1);
+    client.setFirstName("John");
+    client.setLastName("Snow");
+    client.setIdNumber("8001015009087");
+    client.setMobileNumber("0820000001");
+    client.setPhysicalAddress("Home");
+    client.setVersion(0L);
+    return client;
+  }
+}
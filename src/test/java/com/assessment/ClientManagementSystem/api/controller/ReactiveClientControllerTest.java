@@ -0,0 +1,145 @@
+package com.assessment.ClientManagementSystem.api.controller;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+@DirtiesContext
+public class ReactiveClientControllerTest {
+
+  private static final String API_PATH = "/api/clients";
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Test
+  public void createThenEditShouldTrackVersions() {
+    var created = create(request("8001015009087", "0820000001"));
+
+    var edit = request("8001015009087", "0820000001");
+    edit.setFirstName("Jon");
+    webTestClient.patch().uri(API_PATH + "/" + created)
+        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        .bodyValue(edit)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+    webTestClient.patch().uri(API_PATH + "/" + created)
+        .header(HttpHeaders.IF_MATCH, "\"0\"")
+        .bodyValue(edit)
+        .exchange()
+        .expectStatus().isEqualTo(412);
+
+    webTestClient.get().uri(API_PATH + "/" + created)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.firstName").isEqualTo("Jon")
+        .jsonPath("$.version").isEqualTo(1);
+  }
+
+  @Test
+  public void createWithTakenNumberShouldReturnBadRequest() {
+    create(request("8001015009186", "0820000002"));
+
+    webTestClient.post().uri(API_PATH)
+        .bodyValue(request("9202204720182", "0820000002"))
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  public void editWithNoFieldsShouldReturnBadRequestAndKeepVersion() {
+    var created = create(request("8001015200181", "0820000006"));
+
+    webTestClient.patch().uri(API_PATH + "/" + created)
+        .bodyValue(new ClientCreateRequest())
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    webTestClient.get().uri(API_PATH + "/" + created)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.version").isEqualTo(0);
+  }
+
+  @Test
+  public void getUnknownClientShouldReturnNotFound() {
+    webTestClient.get().uri(API_PATH + "/999999")
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  public void listShouldReturnPageWithNextLink() {
+    create(request("8001015100084", "0820000003"));
+    create(request("8001015100183", "0820000004"));
+
+    webTestClient.get().uri(API_PATH + "?size=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().value(HttpHeaders.LINK, link -> assertThat(link).contains("size=1").contains("rel=\"next\""))
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(1)
+        .jsonPath("$[0].links[0].href").value(href -> assertThat(href.toString()).contains(API_PATH + "/"));
+  }
+
+  @Test
+  public void streamAndSearchShouldEmitClientsAsNdjson() {
+    var created = create(request("8001015101082", "0820000005"));
+
+    var stream = webTestClient.get().uri(API_PATH)
+        .accept(APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(Map.class)
+        .getResponseBody();
+    StepVerifier.create(stream.filter(client -> client.get("clientId").equals(created)))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    webTestClient.get().uri(API_PATH + "/search?key=0820000005")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(1)
+        .jsonPath("$[0].idNumber").isEqualTo("8001015101082");
+  }
+
+  private Integer create(final ClientCreateRequest request) {
+    return (Integer) webTestClient.post().uri(API_PATH)
+        .bodyValue(request)
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBody(Map.class)
+        .returnResult()
+        .getResponseBody()
+        .get("clientId");
+  }
+
+  private ClientCreateRequest request(final String idNumber, final String mobileNumber) {
+    var request = new ClientCreateRequest();
+    request.setFirstName("John");
+    request.setLastName("Snow");
+    request.setIdNumber(idNumber);
+    request.setMobileNumber(mobileNumber);
+    request.setPhysicalAddress("Home");
+    return request;
+  }
+}
@@ -0,0 +1,56 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:client-ids",
+    "spring.jpa.properties.hibernate.generate_statistics=true"})
+public class ClientIdGenerationTest {
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  public void insertBatchShouldSendInsertsInJdbcBatches() {
+    //Given
+    var clients = clients("71", 120);
+    var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    var statementsBefore = statistics.getPrepareStatementCount();
+
+    //When
+    clientRepository.insertBatch(clients);
+
+    //Then
+    assertThat(statistics.getPrepareStatementCount() - statementsBefore).isLessThan(10);
+    assertThat(clients).extracting(Client::getVersion).containsOnly(0L);
+    assertThat(clients).extracting(Client::getClientId).doesNotContainNull().doesNotHaveDuplicates();
+    assertThat(clientRepository.findAllById(clients.stream().map(Client::getClientId).toList())).hasSize(120);
+  }
+
+  static List<Client> clients(final String prefix, final int count) {
+    var clients = new ArrayList<Client>(count);
+    for (int i = 0; i < count; i++) {
+      var client = new Client();
+      client.setFirstName("John");
+      client.setLastName("Snow");
+      client.setIdNumber(prefix + String.format("%011d", i));
+      client.setMobileNumber(prefix + String.format("%08d", i));
+      client.setPhysicalAddress("Home");
+      clients.add(client);
+    }
+    return clients;
+  }
+}
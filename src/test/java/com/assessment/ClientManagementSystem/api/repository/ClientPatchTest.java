@@ -0,0 +1,60 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:client-patch")
+public class ClientPatchTest {
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  @Test
+  public void patchShouldOnlyWriteSuppliedColumnsAndReturnPreviousRow() {
+    //Given
+    var client = clientRepository.save(ClientIdGenerationTest.clients("72", 1).get(0));
+    var changes = new Client();
+    changes.setClientId(client.getClientId());
+    changes.setFirstName("Zoë");
+
+    //When
+    var previous = clientRepository.patch(changes, Set.of(0L));
+
+    //Then
+    assertThat(previous).get().extracting(Client::getFirstName, Client::getVersion).containsExactly("John", 0L);
+    var stored = clientRepository.findById(client.getClientId()).orElseThrow();
+    assertThat(stored.getFirstName()).isEqualTo("Zoë");
+    assertThat(stored.getLastName()).isEqualTo("Snow");
+    assertThat(stored.getIdNumber()).isEqualTo(client.getIdNumber());
+    assertThat(stored.getVersion()).isEqualTo(1L);
+  }
+
+  @Test
+  public void patchWhenVersionOrClientDoesNotMatchShouldUpdateNothing() {
+    //Given
+    var client = clientRepository.save(ClientIdGenerationTest.clients("73", 1).get(0));
+    var changes = new Client();
+    changes.setClientId(client.getClientId());
+    changes.setLastName("Stark");
+    var missing = new Client();
+    missing.setClientId(-1);
+    missing.setLastName("Stark");
+
+    //When
+    var stale = clientRepository.patch(changes, Set.of(5L));
+    var absent = clientRepository.patch(missing, null);
+
+    //Then
+    assertThat(stale).isEmpty();
+    assertThat(absent).isEmpty();
+    var stored = clientRepository.findById(client.getClientId()).orElseThrow();
+    assertThat(stored.getLastName()).isEqualTo("Snow");
+    assertThat(stored.getVersion()).isEqualTo(0L);
+  }
+}
@@ -0,0 +1,90 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("slow")
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@DirtiesContext
+public class ClientRepositoryQueryPlanTest {
+
+  private static final int ROWS = 1_000_000;
+  private static final int SEED_BATCH_SIZE = 10_000;
+
+  @TempDir
+  static Path directory;
+
+  @Autowired
+  private JpaClientRepository clientRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void datasource(final DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + directory.resolve("clients"));
+  }
+
+  @BeforeAll
+  static void seed(@Autowired final JdbcTemplate jdbcTemplate) {
+    for (int start = 1; start <= ROWS; start += SEED_BATCH_SIZE) {
+      jdbcTemplate.update("insert into client (client_id, first_name, last_name, id_number, mobile_number,"
+          + " physical_address, version)"
+          + " select x, 'Name' || x, 'Surname' || x, cast(8000000000000 + x as varchar), '0' || cast(800000000 + x as varchar),"
+          + " x || ' Main Road', 0"
+          + " from system_range(?, ?)", start, start + SEED_BATCH_SIZE - 1);
+    }
+  }
+
+  @Test
+  public void findByKeyShouldSeekAnIndexPerColumn() throws Exception {
+    //Given
+    var key = "Name12345%";
+
+    //When
+    var plan = explain("findByKey", key, key, key);
+    var clients = clientRepository.findByKey(key);
+
+    //Then
+    assertThat(plan).doesNotContain("tableScan")
+        .contains("FIRST_NAME >= 'Name12345'", "MOBILE_NUMBER >= 'Name12345'", "ID_NUMBER >= 'Name12345'");
+    assertThat(clients).extracting(Client::getFirstName).hasSize(11).startsWith("Name12345", "Name123450");
+  }
+
+  @Test
+  public void findByKeyOnNumbersShouldSeekAnIndexPerColumn() throws Exception {
+    //Given
+    var key = "0800012%";
+
+    //When
+    var plan = explain("findByKey", key, key, key);
+    var clients = clientRepository.findByKey(key);
+
+    //Then
+    assertThat(plan).doesNotContain("tableScan").contains("MOBILE_NUMBER >= '0800012'");
+    assertThat(clients).extracting(Client::getMobileNumber).hasSize(1000).allMatch(number -> number.startsWith("0800012"));
+  }
+
+  /**
+   * H2's plan for the native query of the repository method, with the given parameters bound in order.
+   */
+  private String explain(final String method, final Object... parameters) throws NoSuchMethodException {
+    var sql = JpaClientRepository.class.getMethod(method, String.class).getAnnotation(Query.class).value()
+        .replaceAll(":\\w+", "?");
+    return jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+  }
+}
@@ -0,0 +1,70 @@
+package com.assessment.ClientManagementSystem.api.repository;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + IdSequenceMigrationTest.URL,
+    "spring.jpa.hibernate.ddl-auto=update"})
+@DirtiesContext
+public class IdSequenceMigrationTest {
+
+  static final String URL = "jdbc:h2:mem:legacy-clients;DB_CLOSE_DELAY=-1";
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  static void createLegacyDatabase() throws SQLException {
+    try (var connection = DriverManager.getConnection(URL, "sa", ""); var statement = connection.createStatement()) {
+      statement.execute("create table client (client_id integer generated by default as identity,"
+          + " first_name varchar(255), last_name varchar(255), id_number varchar(255) unique,"
+          + " mobile_number varchar(255) unique, physical_address varchar(255), version bigint, primary key (client_id))");
+      statement.execute("create table client_change (sequence_number bigint generated by default as identity,"
+          + " type varchar(255), changed_at timestamp, client_id integer, version bigint, first_name varchar(255),"
+          + " last_name varchar(255), id_number varchar(255), mobile_number varchar(255),"
+          + " physical_address varchar(255), primary key (sequence_number))");
+      statement.execute("insert into client (client_id, first_name, last_name, id_number, mobile_number, version)"
+          + " values (100000, 'Legacy', 'Client', '7200000000000', '0720000000', null)");
+      statement.execute("insert into client_change (sequence_number, type, client_id, version)"
+          + " values (500, 'CREATED', 100000, 0)");
+    }
+  }
+
+  @Test
+  public void startupShouldContinueSequencesAfterExistingIds() {
+    //Given
+    var clients = ClientIdGenerationTest.clients("73", 2);
+
+    //When
+    clientRepository.insertBatch(clients);
+
+    //Then
+    assertThat(clients).extracting(Client::getClientId).containsExactly(100001, 100002);
+    assertThat(jdbcTemplate.queryForObject("select next value for client_change_seq", Long.class)).isEqualTo(501L);
+  }
+
+  @Test
+  public void startupShouldGiveLegacyClientsAVersion() {
+    //When
+    jdbcTemplate.update("insert into client (client_id, first_name, last_name, id_number, mobile_number)"
+        + " values (200000, 'Unversioned', 'Client', '7200000000109', '0720000001')");
+
+    //Then
+    assertThat(clientRepository.findVersionById(100000)).hasValue(0L);
+    assertThat(clientRepository.findVersionById(200000)).hasValue(0L);
+  }
+}
@@ -0,0 +1,318 @@
+package com.assessment.ClientManagementSystem.api.repository.log;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ClientLogTest {
+
+  @TempDir
+  Path directory;
+
+  private ClientLog clientLog;
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    clientLog.close();
+  }
+
+  @Test
+  public void writesShouldSurviveReopen() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, true);
+    var kept = client("id-1", "mobile-1");
+    var deleted = client("id-2", "mobile-2");
+    clientLog.insert(List.of(kept, deleted));
+    kept.setFirstName("Jon");
+    clientLog.update(List.of(kept));
+    clientLog.delete(deleted.getClientId());
+
+    //When
+    reopen();
+
+    //Then
+    assertThat(clientLog.find(kept.getClientId())).usingRecursiveComparison().isEqualTo(kept);
+    assertEquals(1L, clientLog.findVersion(kept.getClientId()));
+    assertNull(clientLog.find(deleted.getClientId()));
+    assertEquals(1, clientLog.size());
+    assertThat(clientLog.containsMobileNumber("mobile-2")).isFalse();
+    var next = client("id-3", "mobile-3");
+    clientLog.insert(List.of(next));
+    assertEquals(3, next.getClientId());
+  }
+
+  @Test
+  public void committedWriteMissingFromIndexShouldBeReapplied() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    var client = client("id-1", "mobile-1");
+    clientLog.insert(List.of(client));
+    clientLog.close();
+    var staleIndex = Files.copy(directory.resolve(ClientLog.INDEX_FILE), directory.resolve("stale.idx"));
+    clientLog = ClientLog.open(directory, false);
+    client.setFirstName("Jon");
+    clientLog.update(List.of(client));
+    clientLog.insert(List.of(client("id-2", "mobile-2")));
+    clientLog.close();
+
+    //When
+    Files.copy(staleIndex, directory.resolve(ClientLog.INDEX_FILE), REPLACE_EXISTING);
+    clientLog = ClientLog.open(directory, false);
+
+    //Then
+    assertEquals("Jon", clientLog.find(1).getFirstName());
+    assertEquals(1L, clientLog.findVersion(1));
+    assertEquals("mobile-2", clientLog.find(2).getMobileNumber());
+    assertEquals(2, clientLog.size());
+  }
+
+  @Test
+  public void appendedButUncommittedWriteShouldBeDiscarded() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    clientLog.insert(List.of(client("id-1", "mobile-1")));
+    var committed = readLong(ClientLog.LOG_FILE, ClientLog.LAST);
+    clientLog.insert(List.of(client("id-2", "mobile-2")));
+    clientLog.close();
+
+    //When
+    writeLong(ClientLog.LOG_FILE, ClientLog.LAST, committed);
+    clientLog = ClientLog.open(directory, false);
+
+    //Then
+    assertNull(clientLog.find(2));
+    assertEquals(1, clientLog.size());
+    assertThat(clientLog.containsIdNumber("id-2")).isFalse();
+    var next = client("id-2", "mobile-2");
+    clientLog.insert(List.of(next));
+    assertEquals(2, next.getClientId());
+    reopen();
+    assertEquals("mobile-2", clientLog.find(2).getMobileNumber());
+  }
+
+  @Test
+  public void tornTailShouldBeIgnoredAndOverwritten() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    clientLog.insert(List.of(client("id-1", "mobile-1")));
+    clientLog.close();
+    var garbage = ByteBuffer.allocate(512);
+    while (garbage.hasRemaining()) {
+      garbage.put((byte) 0x5A);
+    }
+    try (var channel = FileChannel.open(directory.resolve(ClientLog.LOG_FILE), WRITE)) {
+      channel.write(garbage.flip(), readLong(ClientLog.LOG_FILE, ClientLog.LAST) + 128);
+    }
+
+    //When
+    clientLog = ClientLog.open(directory, false);
+    clientLog.insert(List.of(client("id-2", "mobile-2"), client("id-3", "mobile-3")));
+    reopen();
+
+    //Then
+    assertEquals(3, clientLog.size());
+    assertEquals("mobile-1", clientLog.find(1).getMobileNumber());
+    assertEquals("mobile-3", clientLog.find(3).getMobileNumber());
+  }
+
+  @Test
+  public void missingIndexShouldBeRebuiltFromLog() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    clientLog.insert(List.of(client("id-1", "mobile-1"), client("id-2", "mobile-2")));
+    clientLog.delete(1);
+    clientLog.close();
+
+    //When
+    Files.delete(directory.resolve(ClientLog.INDEX_FILE));
+    clientLog = ClientLog.open(directory, false);
+
+    //Then
+    assertNull(clientLog.find(1));
+    assertEquals("mobile-2", clientLog.find(2).getMobileNumber());
+    assertEquals(1, clientLog.size());
+  }
+
+  @Test
+  public void indexFromPreviousGenerationShouldBeRebuilt() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    clientLog.insert(List.of(client("id-1", "mobile-1"), client("id-2", "mobile-2")));
+    clientLog.delete(1);
+    clientLog.close();
+    var previousIndex = Files.copy(directory.resolve(ClientLog.INDEX_FILE), directory.resolve("previous.idx"));
+    clientLog = ClientLog.open(directory, false);
+    clientLog.compact();
+    clientLog.close();
+
+    //When
+    Files.copy(previousIndex, directory.resolve(ClientLog.INDEX_FILE), REPLACE_EXISTING);
+    clientLog = ClientLog.open(directory, false);
+
+    //Then
+    assertNull(clientLog.find(1));
+    assertEquals("mobile-2", clientLog.find(2).getMobileNumber());
+  }
+
+  @Test
+  public void leftoverCompactionFilesShouldBeRemoved() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    clientLog.insert(List.of(client("id-1", "mobile-1")));
+    clientLog.close();
+    var leftover = Files.writeString(directory.resolve(ClientLog.LOG_FILE + ClientLog.COMPACTING), "partial");
+
+    //When
+    clientLog = ClientLog.open(directory, false);
+
+    //Then
+    assertThat(leftover).doesNotExist();
+    assertEquals("mobile-1", clientLog.find(1).getMobileNumber());
+  }
+
+  @Test
+  public void compactShouldKeepOnlyLatestRecords() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    var client = client("id-1", "mobile-1");
+    clientLog.insert(List.of(client, client("id-2", "mobile-2"), client("id-3", "mobile-3")));
+    client.setMobileNumber("mobile-4");
+    clientLog.update(List.of(client));
+    clientLog.delete(2);
+
+    //When
+    clientLog.compact();
+    clientLog.insert(List.of(client("id-5", "mobile-5")));
+    reopen();
+
+    //Then
+    assertEquals(1L, clientLog.findVersion(1));
+    assertEquals("mobile-4", clientLog.find(1).getMobileNumber());
+    assertNull(clientLog.find(2));
+    assertEquals("mobile-5", clientLog.find(4).getMobileNumber());
+    assertEquals(3, clientLog.size());
+    assertThat(clientLog.containsMobileNumber("mobile-1")).isFalse();
+  }
+
+  @Test
+  public void garbageShouldBeCountedAgainAfterReopen() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, true);
+    var client = client("id-1", "mobile-1");
+    clientLog.insert(List.of(client, client("id-2", "mobile-2"), client("id-3", "mobile-3")));
+    clientLog.garbage();
+    client.setFirstName("Jon");
+    clientLog.update(List.of(client));
+    clientLog.delete(2);
+    var garbage = clientLog.garbage();
+
+    //When
+    reopen();
+
+    //Then
+    assertThat(garbage).isPositive();
+    assertEquals(garbage, clientLog.garbage());
+    clientLog.compact();
+    assertEquals(0L, clientLog.garbage());
+  }
+
+  @Test
+  public void recordsShouldStartNewSegmentWhenTheyDoNotFit() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false, 9);
+    for (int i = 1; i <= 40; i++) {
+      clientLog.insert(List.of(client("id-" + i, "mobile-" + i)));
+    }
+    clientLog.close();
+
+    //When
+    Files.delete(directory.resolve(ClientLog.INDEX_FILE));
+    clientLog = ClientLog.open(directory, false, 9);
+
+    //Then
+    assertThat(Files.size(directory.resolve(ClientLog.LOG_FILE))).isGreaterThan(512);
+    assertEquals(40, clientLog.size());
+    for (int i = 1; i <= 40; i++) {
+      assertEquals("mobile-" + i, clientLog.find(i).getMobileNumber());
+    }
+  }
+
+  @Test
+  public void clearShouldKeepIdSequence() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    clientLog.insert(List.of(client("id-1", "mobile-1"), client("id-2", "mobile-2")));
+
+    //When
+    clientLog.clear();
+    var client = client("id-1", "mobile-1");
+    clientLog.insert(List.of(client));
+    reopen();
+
+    //Then
+    assertEquals(3, client.getClientId());
+    assertEquals(1, clientLog.size());
+    assertNull(clientLog.find(1));
+  }
+
+  @Test
+  public void insertWithTakenNumberShouldBeRejectedAfterReopen() throws IOException {
+    //Given
+    clientLog = ClientLog.open(directory, false);
+    clientLog.insert(List.of(client("id-1", "mobile-1")));
+    reopen();
+
+    //When
+    var thrown = catchThrowable(() -> clientLog.insert(List.of(client("id-2", "mobile-1"))));
+
+    //Then
+    assertThat(thrown).isInstanceOf(DataIntegrityViolationException.class);
+    assertEquals(1, clientLog.size());
+  }
+
+  private void reopen() throws IOException {
+    clientLog.close();
+    clientLog = ClientLog.open(directory, false);
+  }
+
+  private long readLong(final String file, final int offset) throws IOException {
+    try (var channel = FileChannel.open(directory.resolve(file), READ)) {
+      var buffer = ByteBuffer.allocate(Long.BYTES);
+      channel.read(buffer, offset);
+      return buffer.flip().getLong();
+    }
+  }
+
+  private void writeLong(final String file, final int offset, final long value) throws IOException {
+    try (var channel = FileChannel.open(directory.resolve(file), WRITE)) {
+      channel.write(ByteBuffer.allocate(Long.BYTES).putLong(value).flip(), offset);
+    }
+  }
+
+  private Client client(final String idNumber, final String mobileNumber) {
+    var client = new Client();
+    client.setFirstName("John");
+    client.setLastName("Snow");
+    client.setIdNumber(idNumber);
+    client.setMobileNumber(mobileNumber);
+    client.setPhysicalAddress("Home");
+    return client;
+  }
+}
@@ -0,0 +1,59 @@
+package com.assessment.ClientManagementSystem.api.repository.log;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "client.storage=log")
+@DirtiesContext
+public class LogClientRepositoryTest {
+
+  @TempDir
+  static Path directory;
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  @Autowired
+  private ClientService clientService;
+
+  @DynamicPropertySource
+  static void logDirectory(final DynamicPropertyRegistry registry) {
+    registry.add("client.log.directory", () -> directory.toString());
+  }
+
+  @Test
+  public void logStorageShouldServeAndPersistClients() throws Exception {
+    //Given
+    var request = new ClientCreateRequest();
+    request.setFirstName("John");
+    request.setLastName("Snow");
+    request.setIdNumber("8001015009087");
+    request.setMobileNumber("0820000001");
+    request.setPhysicalAddress("Home");
+
+    //When
+    var created = clientService.createClient(request);
+    request.setFirstName("Jon");
+    clientService.editClient(created.getClientId(), request);
+
+    //Then
+    assertThat(clientRepository).isInstanceOf(LogClientRepository.class);
+    try (var reopened = ClientLog.open(directory, false)) {
+      assertEquals("Jon", reopened.find(created.getClientId()).getFirstName());
+      assertEquals(1L, reopened.findVersion(created.getClientId()));
+    }
+  }
+}
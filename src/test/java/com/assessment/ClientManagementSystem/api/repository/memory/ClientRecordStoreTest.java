@@ -0,0 +1,178 @@
+package com.assessment.ClientManagementSystem.api.repository.memory;
+
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ClientRecordStoreTest {
+
+  private final ClientRecordStore store = new ClientRecordStore();
+
+  @Test
+  public void insertShouldAssignIdsAndStoreEveryField() {
+    //Given
+    var client = client("8001015009087", "0820000001");
+    client.setPhysicalAddress("12 Main Road, Kraaifontein");
+    client.setLastName(null);
+
+    //When
+    store.insert(List.of(client, client("8001015009186", "0820000002")));
+
+    //Then
+    var stored = store.find(1);
+    assertEquals(1, client.getClientId());
+    assertEquals(0L, client.getVersion());
+    assertThat(stored).usingRecursiveComparison().isEqualTo(client);
+    assertEquals(2, store.size());
+  }
+
+  @Test
+  public void insertWhenNumberIsTakenShouldInsertNothing() {
+    //Given
+    store.insert(List.of(client("8001015009087", "0820000001")));
+
+    //When
+    var thrown = catchThrowable(() -> store.insert(List.of(
+        client("8001015009186", "0820000002"),
+        client("9202204720182", "0820000001"))));
+
+    //Then
+    assertThat(thrown).isInstanceOf(DataIntegrityViolationException.class);
+    assertEquals(1, store.size());
+    assertThat(store.containsIdNumber("8001015009186")).isFalse();
+  }
+
+  @Test
+  public void findByIdNumberShouldFollowUpdates() {
+    //Given
+    var client = client("8001015009087", "0820000001");
+    store.insert(List.of(client, client("8001015009186", "0820000002")));
+    client.setIdNumber("9202204720182");
+    store.update(List.of(client));
+
+    //When
+    var moved = store.findByIdNumber("9202204720182");
+    var previous = store.findByIdNumber("8001015009087");
+
+    //Then
+    assertThat(moved).usingRecursiveComparison().isEqualTo(client);
+    assertNull(previous);
+    assertEquals(2, store.findByIdNumber("8001015009186").getClientId());
+  }
+
+  @Test
+  public void updateShouldCheckVersionAndMoveNumbers() {
+    //Given
+    var client = client("8001015009087", "0820000001");
+    store.insert(List.of(client));
+    var stale = store.find(1);
+    client.setMobileNumber("0820000002");
+
+    //When
+    var updated = store.update(List.of(client));
+    var lost = store.update(List.of(stale));
+
+    //Then
+    assertArrayEquals(new int[]{1}, updated);
+    assertArrayEquals(new int[]{0}, lost);
+    assertEquals(1L, store.findVersion(1));
+    assertThat(store.containsMobileNumber("0820000001")).isFalse();
+    assertThat(store.containsMobileNumber("0820000002")).isTrue();
+  }
+
+  @Test
+  public void updateWhenNumberBelongsToAnotherClientShouldFail() {
+    //Given
+    store.insert(List.of(client("8001015009087", "0820000001"), client("8001015009186", "0820000002")));
+    var client = store.find(2);
+    client.setIdNumber("8001015009087");
+
+    //When
+    var thrown = catchThrowable(() -> store.update(List.of(client)));
+
+    //Then
+    assertThat(thrown).isInstanceOf(DataIntegrityViolationException.class);
+    assertEquals("8001015009186", store.find(2).getIdNumber());
+  }
+
+  @Test
+  public void deleteShouldFreeIdAndNumbers() {
+    //Given
+    store.insert(List.of(client("8001015009087", "0820000001"), client("8001015009186", "0820000002")));
+
+    //When
+    store.delete(1);
+
+    //Then
+    assertNull(store.find(1));
+    assertThat(store.findAfter(0, 0, 10)).extracting(Client::getClientId).containsExactly(2);
+    assertThat(store.containsIdNumber("8001015009087")).isFalse();
+  }
+
+  @Test
+  public void manyUpdatesShouldCompactAndKeepLatestRecords() {
+    //Given
+    var clients = new ArrayList<Client>();
+    for (int i = 0; i < 1000; i++) {
+      clients.add(client(String.format("%013d", i), String.format("%010d", i)));
+    }
+    store.insert(clients);
+
+    //When
+    for (int round = 0; round < 300; round++) {
+      for (Client client : clients) {
+        client.setPhysicalAddress("Address " + round + " ".repeat(200));
+      }
+      store.update(clients);
+    }
+
+    //Then
+    assertEquals(300L, store.findVersion(1000));
+    assertThat(store.find(500).getPhysicalAddress()).startsWith("Address 299");
+    assertThat(store.containsIdNumber(String.format("%013d", 999))).isTrue();
+  }
+
+  @Test
+  public void snapshotShouldRestoreClientsAndIndexes(@TempDir final Path directory) throws Exception {
+    //Given
+    var path = directory.resolve("clients.snapshot");
+    store.insert(List.of(client("8001015009087", "0820000001"), client("8001015009186", "0820000002"),
+        client("9202204720182", "0820000003")));
+    store.delete(2);
+    store.writeSnapshot(path);
+
+    //When
+    var restored = new ClientRecordStore();
+    restored.readSnapshot(path);
+
+    //Then
+    assertEquals(2, restored.size());
+    assertThat(restored.find(3)).usingRecursiveComparison().isEqualTo(store.find(3));
+    assertThat(restored.containsMobileNumber("0820000001")).isTrue();
+    assertThat(restored.containsMobileNumber("0820000002")).isFalse();
+    var next = client("8001015009285", "0820000004");
+    restored.insert(List.of(next));
+    assertEquals(4, next.getClientId());
+  }
+
+  private Client client(final String idNumber, final String mobileNumber) {
+    var client = new Client();
+    client.setFirstName("John");
+    client.setLastName("Snow");
+    client.setIdNumber(idNumber);
+    client.setMobileNumber(mobileNumber);
+    client.setPhysicalAddress("Home");
+    return client;
+  }
+}
@@ -0,0 +1,150 @@
+package com.assessment.ClientManagementSystem.api.repository.memory;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("memory")
+@DirtiesContext
+public class InMemoryClientRepositoryTest {
+
+  @TempDir
+  static Path directory;
+
+  @Autowired
+  private ApplicationContext applicationContext;
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  @Autowired
+  private ClientService clientService;
+
+  @DynamicPropertySource
+  static void snapshotPath(final DynamicPropertyRegistry registry) {
+    registry.add("client.memory.snapshot-path", () -> directory.resolve("clients.snapshot").toString());
+  }
+
+  @Test
+  public void memoryProfileShouldServeClientsWithoutDatabase() throws Exception {
+    //Given
+    var request = request("8001015009087", "0820000001");
+
+    //When
+    var created = clientService.createClient(request);
+    request.setFirstName("Jon");
+    var edited = clientService.editClient(created.getClientId(), request);
+
+    //Then
+    assertThat(clientRepository).isInstanceOf(InMemoryClientRepository.class);
+    assertThat(applicationContext.getBeanNamesForType(DataSource.class)).isEmpty();
+    assertEquals(1L, edited.getVersion());
+    assertEquals("Jon", clientService.getClientById(created.getClientId()).getFirstName());
+  }
+
+  @Test
+  public void createClientWithTakenNumberShouldBeRejected() throws Exception {
+    //Given
+    clientService.createClient(request("8001015009186", "0820000002"));
+
+    //When
+    var thrown = catchThrowable(() -> clientService.createClient(request("9202204720182", "0820000002")));
+
+    //Then
+    assertThat(thrown).isInstanceOf(InvalidFieldException.class);
+  }
+
+  @Test
+  public void restartShouldRestoreClientsFromSnapshot() throws Exception {
+    //Given
+    var created = clientService.createClient(request("8001015100084", "0820000003"));
+    ((InMemoryClientRepository) clientRepository).snapshot();
+
+    //When
+    var restarted = new InMemoryClientRepository(directory.resolve("clients.snapshot"), Duration.ZERO);
+    restarted.start();
+
+    //Then
+    assertThat(restarted.findById(created.getClientId()))
+        .hasValueSatisfying(client -> assertEquals("0820000003", client.getMobileNumber()));
+    assertEquals(((InMemoryClientRepository) clientRepository).count(), restarted.count());
+  }
+
+  @Test
+  public void concurrentPatchesWithoutExpectedVersionShouldAllApply() throws Exception {
+    //Given
+    var created = clientService.createClient(request("8001015200082", "0820000004"));
+    var threads = 8;
+    var edits = 50;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    var start = new CountDownLatch(1);
+    var results = new ArrayList<Future<Integer>>();
+
+    //When
+    try {
+      for (int i = 0; i < threads; i++) {
+        var firstName = "Name" + i;
+        results.add(executor.submit(() -> {
+          start.await();
+          var applied = 0;
+          for (int edit = 0; edit < edits; edit++) {
+            var changes = new Client();
+            changes.setClientId(created.getClientId());
+            changes.setFirstName(firstName);
+            if (clientRepository.patch(changes, null).isPresent()) {
+              applied++;
+            }
+          }
+          return applied;
+        }));
+      }
+      start.countDown();
+      var applied = 0;
+      for (Future<Integer> result : results) {
+        applied += result.get(10, TimeUnit.SECONDS);
+      }
+
+      //Then
+      assertEquals(threads * edits, applied);
+      assertThat(clientRepository.findVersionById(created.getClientId())).hasValue((long) threads * edits);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private ClientCreateRequest request(final String idNumber, final String mobileNumber) {
+    var request = new ClientCreateRequest();
+    request.setFirstName("John");
+    request.setLastName("Snow");
+    request.setIdNumber(idNumber);
+    request.setMobileNumber(mobileNumber);
+    request.setPhysicalAddress("Home");
+    return request;
+  }
+}
@@ -0,0 +1,168 @@
+package com.assessment.ClientManagementSystem.api.service;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientImportResult;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.service.cache.ClientCache;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics;
+import com.assessment.ClientManagementSystem.api.service.search.ClientSearchIndex;
+import com.assessment.ClientManagementSystem.api.service.uniqueness.ClientUniquenessGuard;
+import com.assessment.ClientManagementSystem.api.service.validation.ClientValidator;
+import com.assessment.ClientManagementSystem.api.service.write.RepositoryClientWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.List.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+
+@SpringBootTest(
+    classes = {ClientImportService.class, ClientService.class, ClientSearchIndex.class, ClientCache.class, ClientValidator.class,
+        ClientMetrics.class, SimpleMeterRegistry.class, RepositoryClientWriter.class, ClientUniquenessGuard.class},
+    properties = "client.import.batch-size=2")
+public class ClientImportServiceTest {
+
+  @Autowired
+  private ClientImportService clientImportService;
+
+  @MockBean
+  private ClientRepository clientRepository;
+
+  @Test
+  public void importClientsShouldInsertInBatches() {
+    //Given
+    assignIdsOnInsert();
+
+    //When
+    var report = clientImportService.importClients(of(
+        request("8001015009087", "0820000001"),
+        request("8001015009186", "0820000002"),
+        request("9202204720182", "0820000003")).iterator());
+
+    //Then
+    assertEquals(3, report.getCreated());
+    assertEquals(0, report.getRejected());
+    assertThat(report.getResults())
+        .extracting(ClientImportResult::getRow)
+        .containsExactly(1, 2, 3);
+    then(clientRepository).should(times(2)).insertBatch(any());
+  }
+
+  @Test
+  public void importClientsShouldRejectInvalidAndDuplicateRows() {
+    //Given
+    assignIdsOnInsert();
+    given(clientRepository.findExistingMobileNumbers(anyCollection()))
+        .willReturn(java.util.Set.of("0820000009"));
+    var invalid = request("80010150090AA", "0820000001");
+
+    //When
+    var report = clientImportService.importClients(of(
+        request("8001015009087", "0820000002"),
+        request("8001015009087", "0820000003"),
+        invalid,
+        request("9202204720182", "0820000009")).iterator());
+
+    //Then
+    assertEquals(1, report.getCreated());
+    assertEquals(3, report.getRejected());
+    assertThat(report.getResults())
+        .extracting(ClientImportResult::getStatus)
+        .containsExactly(
+            ClientImportResult.Status.CREATED,
+            ClientImportResult.Status.REJECTED,
+            ClientImportResult.Status.REJECTED,
+            ClientImportResult.Status.REJECTED);
+    assertEquals("ID Number cannot contain alpha numerics", report.getResults().get(2).getMessage());
+  }
+
+  @Test
+  public void importClientsWhenBatchConflictsShouldRetryRowByRow() {
+    //Given
+    var ids = new AtomicInteger();
+    willThrow(new DataIntegrityViolationException("duplicate"))
+        .given(clientRepository).insertBatch(argThat(clients -> clients.size() > 1
+            || "0820000002".equals(clients.get(0).getMobileNumber())));
+    willAnswer(invocation -> {
+      List<Client> clients = invocation.getArgument(0);
+      clients.forEach(client -> client.setClientId(ids.incrementAndGet()));
+      return null;
+    }).given(clientRepository).insertBatch(argThat(clients -> clients.size() == 1
+        && !"0820000002".equals(clients.get(0).getMobileNumber())));
+
+    //When
+    var report = clientImportService.importClients(of(
+        request("8001015009087", "0820000001"),
+        request("8001015009186", "0820000002")).iterator());
+
+    //Then
+    assertThat(report.getResults())
+        .extracting(ClientImportResult::getStatus)
+        .containsExactly(ClientImportResult.Status.CREATED, ClientImportResult.Status.REJECTED);
+  }
+
+  @Test
+  public void importClientsWhenRecordCannotBeReadShouldStopAndReportRow() {
+    //Given
+    assignIdsOnInsert();
+    Iterator<ClientCreateRequest> records = new Iterator<>() {
+      private int read;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public ClientCreateRequest next() {
+        if (read++ == 0) {
+          return request("8001015009087", "0820000001");
+        }
+        throw new IllegalStateException("malformed");
+      }
+    };
+
+    //When
+    var report = clientImportService.importClients(records);
+
+    //Then
+    assertEquals(2, report.getTotal());
+    assertEquals("Record could not be read", report.getResults().get(1).getMessage());
+  }
+
+  private void assignIdsOnInsert() {
+    var ids = new AtomicInteger();
+    willAnswer(invocation -> {
+      List<Client> clients = invocation.getArgument(0);
+      clients.forEach(client -> client.setClientId(ids.incrementAndGet()));
+      return null;
+    }).given(clientRepository).insertBatch(any());
+  }
+
+  private ClientCreateRequest request(final String idNumber, final String mobileNumber) {
+    var request = new ClientCreateRequest();
+    request.setFirstName("John");
+    request.setLastName("Snow");
+    request.setIdNumber(idNumber);
+    request.setMobileNumber(mobileNumber);
+    request.setPhysicalAddress("Home");
+    return request;
+  }
+}
@@ -2,54 +2,124 @@ package com.assessment.ClientManagementSystem.api.service;
 
 import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
 import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
 import com.assessment.ClientManagementSystem.api.exception.DatabaseException;
 import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
 import com.assessment.ClientManagementSystem.api.exception.NotFoundException;
+import com.assessment.ClientManagementSystem.api.exception.PreconditionFailedException;
 import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
 import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.service.cache.ClientCache;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics;
+import com.assessment.ClientManagementSystem.api.service.search.ClientSearchIndex;
+import com.assessment.ClientManagementSystem.api.service.uniqueness.ClientUniquenessGuard;
+import com.assessment.ClientManagementSystem.api.service.validation.ClientValidator;
+import com.assessment.ClientManagementSystem.api.service.write.RepositoryClientWriter;
+import com.assessment.ClientManagementSystem.api.service.validation.FieldError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.util.List.of;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 
 @RunWith(SpringRunner.class)
-@SpringBootTest(classes = ClientService.class)
+@SpringBootTest(classes = {ClientService.class, ClientSearchIndex.class, ClientCache.class, ClientValidator.class,
+    ClientMetrics.class, SimpleMeterRegistry.class, RepositoryClientWriter.class, ClientUniquenessGuard.class},
+    properties = {"client.batch.chunk-size=2", "client.batch.max-size=5"})
 public class ClientServiceTest {
 
   @Autowired
   private ClientService clientService;
 
+  @Autowired
+  private ClientSearchIndex clientSearchIndex;
+
+  @Autowired
+  private ClientCache clientCache;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private ClientUniquenessGuard clientUniquenessGuard;
+
   @MockBean
   private ClientRepository clientRepository;
 
+  @BeforeEach
+  public void setUp() {
+    clientCache.invalidateAll();
+    clientUniquenessGuard.clear();
+    clientSearchIndex.clear();
+    given(clientRepository.save(any(Client.class)))
+        .willAnswer(invocation -> invocation.getArgument(0));
+  }
+
   @Test
-  public void getAllClientsShouldReturnListOfClients() {
+  public void getClientsShouldReturnPageOfClients() {
     //Given
-    var client = getDefaultClient();
-    var expected = of(new ClientModel(client));
+    var expected = of(getDefaultClientSummary(1));
 
-    given(clientRepository.findAll())
-        .willReturn(of(client));
+    given(clientRepository.findSummariesAfter(0, PageRequest.of(0, 10)))
+        .willReturn(expected);
 
     //When
-    var actual = clientService.getAllClients();
+    var actual = clientService.getClients(null, 10);
 
     //Then
-    assertEquals(expected.size(), actual.size());
-    assertThat(actual.get(0))
-        .usingRecursiveComparison()
-        .isEqualTo(expected.get(0));
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void getClientsShouldStartAfterCursor() {
+    //Given
+    given(clientRepository.findSummariesAfter(5, PageRequest.of(0, 10)))
+        .willReturn(of(getDefaultClientSummary(6)));
 
+    //When
+    var actual = clientService.getClients(5, 10);
+
+    //Then
+    assertEquals(1, actual.size());
+    assertEquals(6, actual.get(0).clientId());
+  }
+
+  @Test
+  public void forEachClientShouldReadAllBatches() {
+    //Given
+    given(clientRepository.findSummariesAfter(0, PageRequest.of(0, 2)))
+        .willReturn(of(getDefaultClientSummary(1), getDefaultClientSummary(2)));
+    given(clientRepository.findSummariesAfter(2, PageRequest.of(0, 2)))
+        .willReturn(of(getDefaultClientSummary(3)));
+
+    //When
+    var actual = new ArrayList<Integer>();
+    clientService.forEachClient(2, client -> actual.add(client.clientId()));
+
+    //Then
+    assertEquals(of(1, 2, 3), actual);
   }
 
   @Test
@@ -71,6 +141,47 @@ public class ClientServiceTest {
     assertEquals("Provided id does not exist", thrown.getMessage());
   }
 
+  @Test
+  public void getClientByIdShouldReadThroughCache() throws InvalidFieldException, NotFoundException {
+    //Given
+    var client = getDefaultClient();
+    given(clientRepository.findById(client.getClientId()))
+        .willReturn(Optional.of(client));
+
+    //When
+    var first = clientService.getClientById(client.getClientId());
+    var second = clientService.getClientById(client.getClientId());
+
+    //Then
+    assertThat(second)
+        .usingRecursiveComparison()
+        .isEqualTo(first);
+    then(clientRepository).should(times(1)).findById(client.getClientId());
+  }
+
+  @Test
+  public void editClientShouldRefreshCachedClient() throws NotFoundException, InvalidFieldException, DatabaseException, PreconditionFailedException {
+    //Given
+    var cached = getDefaultClient();
+    cached.setVersion(0L);
+    given(clientRepository.findById(cached.getClientId()))
+        .willReturn(Optional.of(cached));
+    given(clientRepository.patch(any(Client.class), any()))
+        .willReturn(Optional.of(cached));
+    clientService.getClientById(cached.getClientId());
+    var request = getDefaultClientCreateRequest();
+    request.setFirstName("Jon");
+
+    //When
+    clientService.editClient(cached.getClientId(), request);
+    var actual = clientService.getClientById(cached.getClientId());
+
+    //Then
+    assertEquals("Jon", actual.getFirstName());
+    assertEquals(1L, actual.getVersion());
+    then(clientRepository).should(times(1)).findById(cached.getClientId());
+  }
+
   @Test
   public void getClientByIdWhenValidationFailsShouldReturnInvalidField() {
 
@@ -197,6 +308,38 @@ public class ClientServiceTest {
     assertEquals("ID Number length should be 13", thrown.getMessage());
   }
 
+  @Test
+  public void createClientWhenIdNumberChecksumIsInvalidShouldReturnInvalidField() {
+    //Given
+    var request = getDefaultClientCreateRequest();
+    request.setIdNumber("8001015009088");
+
+    //When
+    var thrown = catchThrowable(() -> clientService.createClient(request));
+
+    //Then
+    assertThat(thrown).isInstanceOf(InvalidFieldException.class);
+    assertEquals("ID Number is not a valid South African ID number", thrown.getMessage());
+  }
+
+  @Test
+  public void createClientWhenSeveralFieldsAreInvalidShouldReportEveryField() {
+    //Given
+    var request = getDefaultClientCreateRequest();
+    request.setFirstName(null);
+    request.setMobileNumber("0000000A");
+
+    //When
+    var thrown = catchThrowable(() -> clientService.createClient(request));
+
+    //Then
+    assertThat(thrown).isInstanceOf(InvalidFieldException.class);
+    assertThat(((InvalidFieldException) thrown).getFieldErrors())
+        .extracting(FieldError::field)
+        .containsExactly(ClientValidator.FIRST_NAME, ClientValidator.MOBILE_NUMBER);
+    assertThat(thrown.getStackTrace()).isEmpty();
+  }
+
   @Test
   public void createClientWhenMobileNumberIsNullShouldReturnInvalidField() {
     //Given
@@ -245,6 +388,12 @@ public class ClientServiceTest {
     var client = getDefaultClient();
     var request = getDefaultClientCreateRequest();
     var expected = new ClientModel(client);
+    given(clientRepository.save(any(Client.class)))
+        .willAnswer(invocation -> {
+          Client saved = invocation.getArgument(0);
+          saved.setClientId(client.getClientId());
+          return saved;
+        });
 
     //When
     var actual = clientService.createClient( request);
@@ -257,6 +406,85 @@ public class ClientServiceTest {
         .isEqualTo(expected);
   }
 
+  @Test
+  public void createClientWhenNumberIsTakenShouldNotTouchRepository() {
+    //Given
+    var existing = getDefaultClient();
+    existing.setClientId(5);
+    clientUniquenessGuard.register(existing);
+    var request = getDefaultClientCreateRequest();
+    request.setMobileNumber("0820000001");
+
+    //When
+    var thrown = catchThrowable(() -> clientService.createClient(request));
+
+    //Then
+    assertThat(thrown).isInstanceOf(InvalidFieldException.class);
+    assertEquals("ID number or Mobile number that you have supplied already exists", thrown.getMessage());
+    then(clientRepository).should(never()).save(any());
+  }
+
+  @Test
+  public void createClientWhenInsertFailsShouldReleaseNumbers() {
+    //Given
+    given(clientRepository.save(any(Client.class)))
+        .willThrow(new DataIntegrityViolationException("duplicate"));
+    var request = getDefaultClientCreateRequest();
+    catchThrowable(() -> clientService.createClient(request));
+    given(clientRepository.save(any(Client.class)))
+        .willAnswer(invocation -> {
+          Client saved = invocation.getArgument(0);
+          saved.setClientId(1);
+          return saved;
+        });
+
+    //When
+    var thrown = catchThrowable(() -> clientService.createClient(request));
+
+    //Then
+    assertThat(thrown).isNull();
+  }
+
+  @Test
+  public void createClientShouldRecordOperationAndPhaseTimers() throws InvalidFieldException, DatabaseException {
+    //Given
+    var operations = operationCount("create");
+    var validations = phaseCount("create", "validation");
+    var repositoryCalls = phaseCount("create", "repository");
+    var mappings = phaseCount("create", "mapping");
+    given(clientRepository.save(any(Client.class)))
+        .willAnswer(invocation -> {
+          Client saved = invocation.getArgument(0);
+          saved.setClientId(1);
+          return saved;
+        });
+
+    //When
+    clientService.createClient(getDefaultClientCreateRequest());
+
+    //Then
+    assertEquals(operations + 1, operationCount("create"));
+    assertEquals(validations + 1, phaseCount("create", "validation"));
+    assertEquals(repositoryCalls + 1, phaseCount("create", "repository"));
+    assertEquals(mappings + 1, phaseCount("create", "mapping"));
+  }
+
+  @Test
+  public void createClientWhenValidationFailsShouldStillRecordOperation() {
+    //Given
+    var operations = operationCount("create");
+    var repositoryCalls = phaseCount("create", "repository");
+    var request = getDefaultClientCreateRequest();
+    request.setFirstName(null);
+
+    //When
+    catchThrowable(() -> clientService.createClient(request));
+
+    //Then
+    assertEquals(operations + 1, operationCount("create"));
+    assertEquals(repositoryCalls, phaseCount("create", "repository"));
+  }
+
   @Test
   public void editClientWhenIdIsNullShouldReturnInvalidField() {
     //Given
@@ -274,9 +502,8 @@ public class ClientServiceTest {
   public void editClientWhenIdDoesNotExistShouldReturnNotFound() {
     //Given
     var request = getDefaultClientCreateRequest();
-    var client = getDefaultClient();
-    given(clientRepository.findById(client.getClientId()))
-        .willReturn(Optional.of(client));
+    given(clientRepository.patch(any(Client.class), any()))
+        .willReturn(Optional.empty());
 
     //When
     var thrown = catchThrowable(() ->
@@ -289,13 +516,15 @@ public class ClientServiceTest {
   }
 
   @Test
-  public void editClientShouldReturnSuccess() throws NotFoundException, InvalidFieldException, DatabaseException {
+  public void editClientShouldReturnSuccess() throws NotFoundException, InvalidFieldException, DatabaseException, PreconditionFailedException {
     //Given
     var client = getDefaultClient();
-    given(clientRepository.findById(client.getClientId()))
+    client.setVersion(0L);
+    given(clientRepository.patch(any(Client.class), any()))
         .willReturn(Optional.of(client));
     var request = getDefaultClientCreateRequest();
     var expected = new ClientModel(client);
+    expected.setVersion(1L);
 
     //When
     var actual = clientService.editClient(client.getClientId(), request);
@@ -309,41 +538,314 @@ public class ClientServiceTest {
   }
 
   @Test
-  public void searchForClientsShouldReturnListOfClients() {
+  public void editClientShouldOnlyChangeSuppliedFieldsWithoutReadingClient() throws NotFoundException, InvalidFieldException, DatabaseException, PreconditionFailedException {
     //Given
     var client = getDefaultClient();
-    var expected = of(new ClientModel(client));
+    client.setVersion(3L);
+    given(clientRepository.patch(any(Client.class), any()))
+        .willReturn(Optional.of(client));
+    var request = new ClientCreateRequest();
+    request.setMobileNumber("0820000009");
+
+    //When
+    var actual = clientService.editClient(client.getClientId(), request, Set.of(3L));
+
+    //Then
+    assertEquals("John", actual.getFirstName());
+    assertEquals("8001015009087", actual.getIdNumber());
+    assertEquals("0820000009", actual.getMobileNumber());
+    assertEquals(4L, actual.getVersion());
+    then(clientRepository).should().patch(argThat(changes -> changes.getClientId() == 1
+        && "0820000009".equals(changes.getMobileNumber())
+        && changes.getFirstName() == null
+        && changes.getIdNumber() == null), eq(Set.of(3L)));
+    then(clientRepository).should(never()).findById(any());
+  }
 
-    given(clientRepository.findByKey("key"))
-        .willReturn(of(client));
+  @Test
+  public void editClientShouldReleasePreviousNumbers() throws NotFoundException, InvalidFieldException, DatabaseException, PreconditionFailedException {
+    //Given
+    var client = getDefaultClient();
+    client.setVersion(0L);
+    clientUniquenessGuard.register(client);
+    given(clientRepository.patch(any(Client.class), any()))
+        .willReturn(Optional.of(client));
+    var request = new ClientCreateRequest();
+    request.setIdNumber("9202204720182");
 
     //When
-    var actual = clientService.searchForClientByKey("key");
+    clientService.editClient(client.getClientId(), request);
 
     //Then
-    assertEquals(expected.size(), actual.size());
-    assertThat(actual.get(0))
-        .usingRecursiveComparison()
-        .isEqualTo(expected.get(0));
+    assertThat(clientUniquenessGuard.reserve("8001015009087", "0820000009")).isNotNull();
+    assertThat(clientUniquenessGuard.reserve("9202204720182", "0820000010")).isNull();
+  }
 
+  @Test
+  public void editClientWithoutFieldsShouldReturnInvalidField() {
+    //Given
+    var request = new ClientCreateRequest();
+
+    //When
+    var thrown = catchThrowable(() -> clientService.editClient(1, request));
+
+    //Then
+    assertThat(thrown).isInstanceOf(InvalidFieldException.class);
+    assertEquals("At least one field should be supplied", thrown.getMessage());
+    then(clientRepository).should(never()).patch(any(), any());
+  }
+
+  @Test
+  public void editClientWhenVersionDoesNotMatchShouldReturnPreconditionFailed() {
+    //Given
+    var client = getDefaultClient();
+    given(clientRepository.patch(any(Client.class), any()))
+        .willReturn(Optional.empty());
+    given(clientRepository.findVersionById(client.getClientId()))
+        .willReturn(Optional.of(4L));
+    var request = getDefaultClientCreateRequest();
+
+    //When
+    var thrown = catchThrowable(() -> clientService.editClient(client.getClientId(), request, Set.of(3L)));
+
+    //Then
+    assertThat(thrown).isInstanceOf(PreconditionFailedException.class);
+    assertEquals("Client has been modified since it was last read", thrown.getMessage());
+    then(clientRepository).should(never()).save(any());
+  }
+
+  @Test
+  public void editClientWhenVersionedClientDoesNotExistShouldReturnNotFound() {
+    //Given
+    given(clientRepository.patch(any(Client.class), any()))
+        .willReturn(Optional.empty());
+    given(clientRepository.findVersionById(999))
+        .willReturn(Optional.empty());
+    var request = getDefaultClientCreateRequest();
+
+    //When
+    var thrown = catchThrowable(() -> clientService.editClient(999, request, Set.of(3L)));
+
+    //Then
+    assertThat(thrown).isInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  public void getClientVersionShouldUseCachedClient() throws InvalidFieldException, NotFoundException {
+    //Given
+    var client = getDefaultClient();
+    client.setVersion(7L);
+    clientCache.put(client);
+
+    //When
+    var actual = clientService.getClientVersion(client.getClientId());
+
+    //Then
+    assertEquals(7L, actual);
+    then(clientRepository).should(never()).findVersionById(any());
+  }
+
+  @Test
+  public void getClientVersionWhenNotCachedShouldQueryVersionOnly() throws InvalidFieldException, NotFoundException {
+    //Given
+    given(clientRepository.findVersionById(1))
+        .willReturn(Optional.of(2L));
+
+    //When
+    var actual = clientService.getClientVersion(1);
+
+    //Then
+    assertEquals(2L, actual);
+    then(clientRepository).should(never()).findById(any());
+  }
+
+  @Test
+  public void getClientVersionWhenIdDoesNotExistShouldReturnNotFound() {
+    //Given
+    given(clientRepository.findVersionById(9))
+        .willReturn(Optional.empty());
+
+    //When
+    var thrown = catchThrowable(() -> clientService.getClientVersion(9));
+
+    //Then
+    assertThat(thrown).isInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  public void searchForClientsShouldReturnListOfClients() {
+    //Given
+    clientSearchIndex.index(getDefaultClient());
+    var expected = of(getDefaultClientSummary(1));
+
+    given(clientRepository.findSummariesByIds(of(1)))
+        .willReturn(expected);
+
+    //When
+    var actual = clientService.searchForClientByKey("Jo%");
+
+    //Then
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void searchForClientsShouldReadMatchesInChunks() {
+    //Given
+    clientSearchIndex.index(getDefaultClient());
+    clientSearchIndex.index(getClient(2, "8001015009186"));
+    clientSearchIndex.index(getClient(3, "8001015009285"));
+    given(clientRepository.findSummariesByIds(of(1, 2)))
+        .willReturn(of(getDefaultClientSummary(1), getDefaultClientSummary(2)));
+    given(clientRepository.findSummariesByIds(of(3)))
+        .willReturn(of(getDefaultClientSummary(3)));
+
+    //When
+    var actual = clientService.searchForClientByKey("8001015%");
+
+    //Then
+    assertThat(actual).extracting(ClientSummary::clientId).containsExactly(1, 2, 3);
+    then(clientRepository).should(times(2)).findSummariesByIds(any());
+  }
+
+  @Test
+  public void searchForClientsWhenNothingMatchesShouldNotQueryRepository() {
+    //Given
+    clientSearchIndex.index(getDefaultClient());
+
+    //When
+    var actual = clientService.searchForClientByKey("Arya");
+
+    //Then
+    assertThat(actual).isEmpty();
+    then(clientRepository).should(never()).findSummariesByIds(any());
+  }
+
+  @Test
+  public void searchRankedForClientsShouldKeepRankOrder() {
+    //Given
+    var johan = getClient(2, "8001015009186");
+    johan.setFirstName("Johan");
+    clientSearchIndex.index(johan);
+    clientSearchIndex.index(getDefaultClient());
+    given(clientRepository.findSummariesByIds(of(2, 1)))
+        .willReturn(of(getDefaultClientSummary(1), getDefaultClientSummary(2)));
+
+    //When
+    var actual = clientService.searchRankedForClientsByKey("johan", 10);
+
+    //Then
+    assertThat(actual).extracting(ClientSummary::clientId).containsExactly(2, 1);
+    assertEquals(1, operationCount("ranked_search"));
+  }
+
+  @Test
+  public void getClientsByIdsShouldReadCacheMissesInChunksAndReportMissingIds() throws Exception {
+    //Given
+    var cached = getClient(1, "8001015009087");
+    clientCache.put(cached);
+    given(clientRepository.findAllById(of(4, 2)))
+        .willReturn(of(getClient(4, "9202204720182"), getClient(2, "8001015009186")));
+    given(clientRepository.findAllById(of(3)))
+        .willReturn(of());
+    given(clientRepository.findByIdNumberIn(of("8001015100084")))
+        .willReturn(of());
+
+    //When
+    var actual = clientService.getClientsByIds(of(4, 1, 2, 3, 1), of("8001015100084"));
+
+    //Then
+    assertThat(actual.getClients()).extracting(ClientModel::getClientId).containsExactly(1, 2, 4);
+    assertEquals(of(3), actual.getMissingIds());
+    assertEquals(of("8001015100084"), actual.getMissingIdNumbers());
+    then(clientRepository).should(never()).findById(any());
+    assertThat(clientCache.getIfPresent(4)).isNotNull();
+  }
+
+  @Test
+  public void getClientsByIdsShouldFindClientsByIdNumber() throws Exception {
+    //Given
+    given(clientRepository.findByIdNumberIn(of("8001015009087")))
+        .willReturn(of(getDefaultClient()));
+
+    //When
+    var actual = clientService.getClientsByIds(null, of("8001015009087"));
+
+    //Then
+    assertThat(actual.getClients()).extracting(ClientModel::getClientId).containsExactly(1);
+    assertThat(actual.getMissingIds()).isEmpty();
+    assertThat(actual.getMissingIdNumbers()).isEmpty();
+  }
+
+  @Test
+  public void getClientsByIdsWhenBatchIsEmptyOrTooLargeShouldReturnInvalidField() {
+    //When
+    var empty = catchThrowable(() -> clientService.getClientsByIds(of(), null));
+    var tooLarge = catchThrowable(() -> clientService.getClientsByIds(of(1, 2, 3, 4, 5, 6), null));
+
+    //Then
+    assertThat(empty).isInstanceOf(InvalidFieldException.class);
+    assertThat(tooLarge).isInstanceOf(InvalidFieldException.class);
+    then(clientRepository).should(never()).findAllById(any());
+  }
+
+  @Test
+  public void searchForClientsByKeysShouldReadEveryMatchOnceInKeyOrder() throws Exception {
+    //Given
+    clientSearchIndex.index(getDefaultClient());
+    var arya = getClient(2, "8001015009186");
+    arya.setFirstName("Arya");
+    clientSearchIndex.index(arya);
+    given(clientRepository.findSummariesByIds(of(1, 2)))
+        .willReturn(of(getDefaultClientSummary(1), getDefaultClientSummary(2)));
+
+    //When
+    var actual = clientService.searchForClientsByKeys(of("Arya", "8001015%", "Bran"));
+
+    //Then
+    assertThat(actual.keySet()).containsExactly("Arya", "8001015%", "Bran");
+    assertThat(actual.get("Arya")).extracting(ClientSummary::clientId).containsExactly(2);
+    assertThat(actual.get("8001015%")).extracting(ClientSummary::clientId).containsExactly(1, 2);
+    assertThat(actual.get("Bran")).isEmpty();
+    then(clientRepository).should(times(1)).findSummariesByIds(any());
+  }
+
+  private long operationCount(final String operation) {
+    return meterRegistry.get("client.operation").tag("operation", operation).timer().count();
+  }
+
+  private long phaseCount(final String operation, final String phase) {
+    return meterRegistry.get("client.operation.phase").tag("operation", operation).tag("phase", phase).timer().count();
+  }
+
+  private ClientSummary getDefaultClientSummary(final Integer clientId) {
+    return new ClientSummary(clientId, "John", "Snow", "8001015009087", "000000", "Home");
   }
+
   private Client getDefaultClient() {
     var client = new Client();
     client.setClientId(1);
     client.setFirstName("John");
     client.setLastName("Snow");
     client.setMobileNumber("000000");
-    client.setIdNumber("1111111111111");
+    client.setIdNumber("8001015009087");
     client.setPhysicalAddress("Home");
     return client;
   }
 
+  private Client getClient(final Integer clientId, final String idNumber) {
+    var client = getDefaultClient();
+    client.setClientId(clientId);
+    client.setIdNumber(idNumber);
+    client.setMobileNumber("08200000" + clientId);
+    return client;
+  }
+
   private ClientCreateRequest getDefaultClientCreateRequest() {
     var client = new ClientCreateRequest();
     client.setFirstName("John");
     client.setLastName("Snow");
     client.setMobileNumber("000000");
-    client.setIdNumber("1111111111111");
+    client.setIdNumber("8001015009087");
     client.setPhysicalAddress("Home");
     return client;
   }
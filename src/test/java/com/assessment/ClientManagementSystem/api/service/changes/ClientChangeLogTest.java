@@ -0,0 +1,122 @@
+package com.assessment.ClientManagementSystem.api.service.changes;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.exception.PreconditionFailedException;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChange;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChangeType;
+import com.assessment.ClientManagementSystem.api.service.ClientImportService;
+import com.assessment.ClientManagementSystem.api.service.ClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:client-changes")
+public class ClientChangeLogTest {
+
+  @Autowired
+  private ClientChangeLog clientChangeLog;
+
+  @Autowired
+  private ClientService clientService;
+
+  @Autowired
+  private ClientImportService clientImportService;
+
+  @Test
+  public void createAndEditShouldRecordChangesInOrder() throws Exception {
+    //Given
+    var since = clientChangeLog.getLastSequenceNumber();
+    var created = clientService.createClient(request("8001015009087", "0820000001"));
+    var edit = request("8001015009087", "0820000001");
+    edit.setFirstName("Jon");
+    clientService.editClient(created.getClientId(), edit);
+
+    //When
+    var changes = clientChangeLog.changesAfter(since, 10, Duration.ZERO).get();
+
+    //Then
+    assertThat(changes).extracting(ClientChange::getType)
+        .containsExactly(ClientChangeType.CREATED, ClientChangeType.UPDATED);
+    assertThat(changes).extracting(ClientChange::getClientId).containsOnly(created.getClientId());
+    assertThat(changes).extracting(ClientChange::getVersion).containsExactly(0L, 1L);
+    assertEquals("Jon", changes.get(1).getFirstName());
+    assertThat(changes.get(1).getSequenceNumber()).isGreaterThan(changes.get(0).getSequenceNumber());
+    assertEquals(changes.get(1).getSequenceNumber(), clientChangeLog.getLastSequenceNumber());
+  }
+
+  @Test
+  public void failedEditShouldNotRecordChange() throws Exception {
+    //Given
+    var created = clientService.createClient(request("8001015009186", "0820000002"));
+    var since = clientChangeLog.getLastSequenceNumber();
+
+    //When
+    var thrown = catchThrowable(() -> clientService.editClient(created.getClientId(),
+        request("8001015009186", "0820000002"), Set.of(created.getVersion() + 1)));
+
+    //Then
+    assertThat(thrown).isInstanceOf(PreconditionFailedException.class);
+    assertThat(clientChangeLog.changesAfter(since, 10, Duration.ZERO).get()).isEmpty();
+  }
+
+  @Test
+  public void waitingShouldReturnOnceAChangeCommits() throws Exception {
+    //Given
+    var since = clientChangeLog.getLastSequenceNumber();
+    var changes = clientChangeLog.changesAfter(since, 10, Duration.ofSeconds(10));
+
+    //When
+    var created = clientService.createClient(request("9202204720182", "0820000003"));
+
+    //Then
+    assertThat(changes.get(5, TimeUnit.SECONDS)).extracting(ClientChange::getClientId)
+        .containsExactly(created.getClientId());
+  }
+
+  @Test
+  public void waitingWithoutChangesShouldReturnEmptyAfterWait() throws Exception {
+    //Given
+    var since = clientChangeLog.getLastSequenceNumber();
+
+    //When
+    var changes = clientChangeLog.changesAfter(since, 10, Duration.ofMillis(100));
+
+    //Then
+    assertThat(changes.get(5, TimeUnit.SECONDS)).isEmpty();
+  }
+
+  @Test
+  public void importShouldRecordEveryCreatedClient() throws Exception {
+    //Given
+    var since = clientChangeLog.getLastSequenceNumber();
+    var records = List.of(request("8001015100084", "0820000004"), request("8001015100183", "0820000005"));
+
+    //When
+    var report = clientImportService.importClients(records.iterator());
+
+    //Then
+    assertEquals(2, report.getCreated());
+    assertThat(clientChangeLog.changesAfter(since, 10, Duration.ZERO).get())
+        .extracting(ClientChange::getIdNumber)
+        .containsExactly("8001015100084", "8001015100183");
+  }
+
+  private ClientCreateRequest request(final String idNumber, final String mobileNumber) {
+    var request = new ClientCreateRequest();
+    request.setFirstName("John");
+    request.setLastName("Snow");
+    request.setIdNumber(idNumber);
+    request.setMobileNumber(mobileNumber);
+    request.setPhysicalAddress("Home");
+    return request;
+  }
+}
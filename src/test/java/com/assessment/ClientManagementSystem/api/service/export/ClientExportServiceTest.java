@@ -0,0 +1,116 @@
+package com.assessment.ClientManagementSystem.api.service.export;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest(
+    classes = ClientExportService.class,
+    properties = {"client.export.chunk-size=2", "client.export.parallelism=2"})
+public class ClientExportServiceTest {
+
+  private static final List<ClientSummary> CLIENTS = List.of(
+      client(1, "John"),
+      client(2, "Arya, the \"Brave\""),
+      client(4, "Sansa"),
+      client(7, "Bran"));
+
+  @Autowired
+  private ClientExportService clientExportService;
+
+  @MockBean
+  private ClientRepository clientRepository;
+
+  @BeforeEach
+  public void setUp() {
+    given(clientRepository.findMaxClientId()).willReturn(7);
+    given(clientRepository.findSummariesBetween(anyInt(), anyInt(), any())).willAnswer(invocation -> {
+      int after = invocation.getArgument(0);
+      int last = invocation.getArgument(1);
+      Pageable pageable = invocation.getArgument(2);
+      return CLIENTS.stream()
+          .filter(client -> client.clientId() > after && client.clientId() <= last)
+          .limit(pageable.getPageSize())
+          .collect(Collectors.toList());
+    });
+  }
+
+  @Test
+  public void exportAsCsvShouldWriteEveryClientInIdOrder() throws IOException {
+    //Given
+    var output = new ByteArrayOutputStream();
+
+    //When
+    var rows = clientExportService.export(ClientExportFormat.CSV, Channels.newChannel(output));
+
+    //Then
+    assertEquals(4, rows);
+    assertThat(gunzip(output.toByteArray())).isEqualTo(
+        "clientId,firstName,lastName,idNumber,mobileNumber,physicalAddress\n"
+            + "1,John,Snow,8001015009087,0820000001,Home\n"
+            + "2,\"Arya, the \"\"Brave\"\"\",Snow,8001015009087,0820000002,Home\n"
+            + "4,Sansa,Snow,8001015009087,0820000004,Home\n"
+            + "7,Bran,Snow,8001015009087,0820000007,Home\n");
+  }
+
+  @Test
+  public void exportAsNdjsonShouldWriteOneObjectPerLine() throws IOException {
+    //Given
+    var output = new ByteArrayOutputStream();
+
+    //When
+    clientExportService.export(ClientExportFormat.NDJSON, Channels.newChannel(output));
+
+    //Then
+    var lines = gunzip(output.toByteArray()).split("\n");
+    assertEquals(4, lines.length);
+    assertThat(lines[0]).isEqualTo("{\"clientId\":1,\"firstName\":\"John\",\"lastName\":\"Snow\","
+        + "\"idNumber\":\"8001015009087\",\"mobileNumber\":\"0820000001\",\"physicalAddress\":\"Home\"}");
+    assertThat(lines[3]).startsWith("{\"clientId\":7,");
+  }
+
+  @Test
+  public void exportOfEmptyTableShouldWriteOnlyCsvHeader() throws IOException {
+    //Given
+    given(clientRepository.findMaxClientId()).willReturn(0);
+    var output = new ByteArrayOutputStream();
+
+    //When
+    var rows = clientExportService.export(ClientExportFormat.CSV, Channels.newChannel(output));
+
+    //Then
+    assertEquals(0, rows);
+    assertThat(gunzip(output.toByteArray()))
+        .isEqualTo("clientId,firstName,lastName,idNumber,mobileNumber,physicalAddress\n");
+  }
+
+  private static String gunzip(final byte[] compressed) throws IOException {
+    try (var input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return new String(input.readAllBytes(), UTF_8);
+    }
+  }
+
+  private static ClientSummary client(final int clientId, final String firstName) {
+    return new ClientSummary(clientId, firstName, "Snow", "8001015009087", String.format("082%07d", clientId), "Home");
+  }
+}
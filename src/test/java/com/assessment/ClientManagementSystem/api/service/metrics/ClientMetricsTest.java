@@ -0,0 +1,70 @@
+package com.assessment.ClientManagementSystem.api.service.metrics;
+
+import com.assessment.ClientManagementSystem.api.controller.model.error.ApiErrorType;
+import com.assessment.ClientManagementSystem.api.exception.NotFoundException;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics.Operation;
+import com.assessment.ClientManagementSystem.api.service.metrics.ClientMetrics.Phase;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ClientMetricsTest {
+
+  private final MockClock clock = new MockClock();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+  private final ClientMetrics clientMetrics = new ClientMetrics(registry);
+
+  @Test
+  public void timingShouldRecordEachPhaseFromTheEndOfThePrevious() {
+    //Given
+    var timing = clientMetrics.start(Operation.CREATE);
+
+    //When
+    clock.add(2, TimeUnit.MILLISECONDS);
+    timing.phase(Phase.VALIDATION);
+    clock.add(5, TimeUnit.MILLISECONDS);
+    timing.phase(Phase.REPOSITORY);
+    clock.add(1, TimeUnit.MILLISECONDS);
+    timing.phase(Phase.MAPPING);
+    timing.stop();
+
+    //Then
+    assertEquals(2, phaseMillis("create", "validation"));
+    assertEquals(5, phaseMillis("create", "repository"));
+    assertEquals(1, phaseMillis("create", "mapping"));
+    assertEquals(8, registry.get("client.operation").tag("operation", "create").timer().totalTime(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void operationsShouldOnlyRegisterTheirOwnPhases() {
+    assertNull(registry.find("client.operation.phase").tag("operation", "list").tag("phase", "validation").timer());
+  }
+
+  @Test
+  public void recordErrorShouldCountByTypeAndException() {
+    //When
+    clientMetrics.recordError(ApiErrorType.NOT_FOUND_ERROR, new NotFoundException("missing"));
+    clientMetrics.recordError(ApiErrorType.NOT_FOUND_ERROR, new NotFoundException("missing"));
+
+    //Then
+    assertEquals(2, registry.get("client.api.errors")
+        .tag("type", "notFoundError")
+        .tag("exception", "NotFoundException")
+        .counter()
+        .count());
+  }
+
+  private double phaseMillis(final String operation, final String phase) {
+    return registry.get("client.operation.phase")
+        .tag("operation", operation)
+        .tag("phase", phase)
+        .timer()
+        .totalTime(TimeUnit.MILLISECONDS);
+  }
+}
@@ -0,0 +1,147 @@
+package com.assessment.ClientManagementSystem.api.service.ratelimit;
+
+import com.assessment.ClientManagementSystem.api.exception.TooManyRequestsException;
+import com.assessment.ClientManagementSystem.api.service.ratelimit.ClientRateLimiter.Limiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ClientRateLimiterTest {
+
+  private SimpleMeterRegistry registry;
+  private ClientRateLimitProperties properties;
+
+  @BeforeEach
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    properties = new ClientRateLimitProperties();
+    properties.setPerClient(new ClientRateLimitProperties.Rate(1, 2));
+    properties.getEndpoints().put("search", new ClientRateLimitProperties.Rate(1, 1));
+  }
+
+  @Test
+  public void clientOverItsRateShouldBeRejected() throws Exception {
+    //Given
+    var limiter = new ClientRateLimiter(properties, registry);
+    limiter.acquire("get", "batch-job").release();
+    limiter.acquire("get", "batch-job").release();
+
+    //When
+    var thrown = catchThrowable(() -> limiter.acquire("get", "batch-job"));
+
+    //Then
+    assertThat(thrown).isInstanceOf(TooManyRequestsException.class);
+    assertEquals(1, ((TooManyRequestsException) thrown).getRetryAfterSeconds());
+    assertThat(thrown.getStackTrace()).isEmpty();
+    limiter.acquire("get", "web").release();
+    assertEquals(1L, limiter.getRejections().get(Limiter.CLIENT));
+    assertEquals(1.0, registry.get("client.rate.limit.rejections").tag("limiter", "client").counter().count());
+  }
+
+  @Test
+  public void endpointOverItsRateShouldNotLimitOtherEndpoints() throws Exception {
+    //Given
+    var limiter = new ClientRateLimiter(properties, registry);
+    limiter.acquire("search", "batch-job").release();
+
+    //When
+    var thrown = catchThrowable(() -> limiter.acquire("search", "web"));
+
+    //Then
+    assertThat(thrown).isInstanceOf(TooManyRequestsException.class);
+    limiter.acquire("get", "web").release();
+    assertEquals(1L, limiter.getRejections().get(Limiter.ENDPOINT));
+    assertThat(limiter.getAvailableEndpointTokens().get("search")).isLessThan(1.0);
+  }
+
+  @Test
+  public void requestRejectedByEndpointShouldNotUseClientToken() throws Exception {
+    //Given
+    var limiter = new ClientRateLimiter(properties, registry);
+    limiter.acquire("search", "web").release();
+
+    //When
+    var thrown = catchThrowable(() -> limiter.acquire("search", "batch-job"));
+
+    //Then
+    assertThat(thrown).isInstanceOf(TooManyRequestsException.class);
+    limiter.acquire("get", "batch-job").release();
+    limiter.acquire("get", "batch-job").release();
+    assertEquals(0L, limiter.getRejections().get(Limiter.CLIENT));
+  }
+
+  @Test
+  public void requestsOverConcurrencyLimitShouldBeRejectedUntilOneCompletes() throws Exception {
+    //Given
+    properties.setPerClient(new ClientRateLimitProperties.Rate(100, 100));
+    properties.getConcurrency().setInitialLimit(2);
+    properties.getConcurrency().setMinLimit(2);
+    properties.getConcurrency().setMaxLimit(2);
+    var limiter = new ClientRateLimiter(properties, registry);
+    var first = limiter.acquire("get", "web");
+    limiter.acquire("get", "web");
+
+    //When
+    var thrown = catchThrowable(() -> limiter.acquire("get", "web"));
+    first.discard();
+
+    //Then
+    assertThat(thrown).isInstanceOf(TooManyRequestsException.class);
+    assertEquals(1L, limiter.getRejections().get(Limiter.CONCURRENCY));
+    limiter.acquire("get", "web");
+    assertEquals(2, limiter.getInFlight());
+    assertEquals(2.0, registry.get("client.rate.limit.in.flight").gauge().value());
+  }
+
+  @Test
+  public void concurrencyLimitShouldGrowWhileLatencyHoldsAndShrinkWhenItRises() {
+    //Given
+    var limit = new GradientConcurrencyLimit(50, 10, 500, 2.0, 0.2);
+    sample(limit, 200, TimeUnit.MILLISECONDS.toNanos(1));
+    var grown = limit.getLimit();
+
+    //When
+    sample(limit, 50, TimeUnit.MILLISECONDS.toNanos(50));
+
+    //Then
+    assertThat(grown).isGreaterThan(50);
+    assertThat(limit.getLimit()).isLessThan(grown / 2);
+    assertThat(limit.getLimit()).isGreaterThanOrEqualTo(10);
+  }
+
+  @Test
+  public void concurrencyLimitShouldHoldWhileLightlyUsed() {
+    //Given
+    var limit = new GradientConcurrencyLimit(50, 10, 500, 2.0, 0.2);
+
+    //When
+    for (int i = 0; i < 100; i++) {
+      limit.release(TimeUnit.MILLISECONDS.toNanos(1), limit.tryAcquire());
+    }
+
+    //Then
+    assertEquals(50, limit.getLimit());
+  }
+
+  @Test
+  public void endpointNameShouldBeKebabCaseMethodName() {
+    assertEquals("search-for-client-by-key", ClientRateLimiter.endpointName("searchForClientByKey"));
+    assertEquals("get-clients", ClientRateLimiter.endpointName("getClients"));
+  }
+
+  /**
+   * Completes {@code count} requests of the given latency, each started with the limit fully in use.
+   */
+  private static void sample(final GradientConcurrencyLimit limit, final int count, final long rttNanos) {
+    for (int i = 0; i < count; i++) {
+      limit.tryAcquire();
+      limit.release(rttNanos, limit.getLimit());
+    }
+  }
+}
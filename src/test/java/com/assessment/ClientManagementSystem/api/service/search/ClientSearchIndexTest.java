@@ -0,0 +1,124 @@
+package com.assessment.ClientManagementSystem.api.service.search;
+
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.List.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ClientSearchIndexTest {
+
+  private ClientSearchIndex clientSearchIndex;
+
+  @BeforeEach
+  public void setUp() {
+    clientSearchIndex = new ClientSearchIndex(mock(ClientRepository.class), 100, 1, 4);
+    clientSearchIndex.index(client(1, "John", "0821234567", "8001015009087"));
+    clientSearchIndex.index(client(2, "Johan", "0731112222", "9202204720183"));
+    clientSearchIndex.index(client(3, "Arya", "0829998888", "0001010000001"));
+  }
+
+  @Test
+  public void searchWithExactKeyShouldOnlyReturnExactMatches() {
+    assertThat(clientSearchIndex.search("John")).isEqualTo(of(1));
+    assertThat(clientSearchIndex.search("Joh")).isEmpty();
+  }
+
+  @Test
+  public void searchWithWildcardsShouldMatchLikeSemantics() {
+    assertThat(clientSearchIndex.search("Joh%")).isEqualTo(of(1, 2));
+    assertThat(clientSearchIndex.search("%082%")).isEqualTo(of(1, 3));
+    assertThat(clientSearchIndex.search("%5009087")).isEqualTo(of(1));
+    assertThat(clientSearchIndex.search("J_h_n")).isEqualTo(of(2));
+  }
+
+  @Test
+  public void searchWithShortKeyShouldFallBackToScan() {
+    assertThat(clientSearchIndex.search("%y%")).isEqualTo(of(3));
+  }
+
+  @Test
+  public void searchShouldHonourEscapedWildcards() {
+    clientSearchIndex.index(client(4, "100%", "0710000000", "1111111111111"));
+
+    assertThat(clientSearchIndex.search("100\\%")).isEqualTo(of(4));
+  }
+
+  @Test
+  public void indexShouldReplacePreviousValues() {
+    clientSearchIndex.index(client(1, "Jon", "0600000000", "8001015009087"));
+
+    assertThat(clientSearchIndex.search("John")).isEmpty();
+    assertThat(clientSearchIndex.search("Jon")).isEqualTo(of(1));
+    assertThat(clientSearchIndex.search("%082%")).isEqualTo(of(3));
+  }
+
+  @Test
+  public void removeShouldDropClientFromResults() {
+    clientSearchIndex.remove(2);
+
+    assertThat(clientSearchIndex.search("Joh%")).isEqualTo(of(1));
+    assertThat(clientSearchIndex.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void searchRankedShouldRankExactThenPrefixThenTypo() {
+    clientSearchIndex.index(client(4, "Johnathan", "0710000004", "1111111111114"));
+
+    assertThat(clientSearchIndex.searchRanked("john", 10)).isEqualTo(of(1, 4, 2));
+  }
+
+  @Test
+  public void searchRankedShouldTolerateTyposInLongWordsOnly() {
+    assertThat(clientSearchIndex.searchRanked("Arja", 10)).isEqualTo(of(3));
+    assertThat(clientSearchIndex.searchRanked("Jhon", 10)).isEqualTo(of(1));
+    assertThat(clientSearchIndex.searchRanked("Jon", 10)).isEmpty();
+  }
+
+  @Test
+  public void searchRankedShouldNotTolerateTyposInNumbers() {
+    assertThat(clientSearchIndex.searchRanked("0821234567", 10)).isEqualTo(of(1));
+    assertThat(clientSearchIndex.searchRanked("0821234568", 10)).isEmpty();
+  }
+
+  @Test
+  public void searchRankedShouldRequireEveryWordAcrossFields() {
+    var client = client(4, "Bran", "0710000004", "1111111111114");
+    client.setPhysicalAddress("12 Winterfell Road");
+    clientSearchIndex.index(client);
+
+    assertThat(clientSearchIndex.searchRanked("winterfel road", 10)).isEqualTo(of(4));
+    assertThat(clientSearchIndex.searchRanked("bran snow", 10)).isEqualTo(of(4));
+    assertThat(clientSearchIndex.searchRanked("john road", 10)).isEmpty();
+  }
+
+  @Test
+  public void searchRankedShouldKeepOnlyTheBestLimitMatches() {
+    assertThat(clientSearchIndex.searchRanked("snow", 2)).isEqualTo(of(1, 2));
+    assertThat(clientSearchIndex.searchRanked("082", 5)).isEqualTo(of(1, 3));
+    assertThat(clientSearchIndex.searchRanked("0", 5)).hasSize(3);
+  }
+
+  @Test
+  public void searchRankedShouldFollowReindexAndRemove() {
+    clientSearchIndex.index(client(1, "Bran", "0600000000", "8001015009087"));
+    clientSearchIndex.remove(3);
+
+    assertThat(clientSearchIndex.searchRanked("john", 10)).isEqualTo(of(2));
+    assertThat(clientSearchIndex.searchRanked("bran", 10)).isEqualTo(of(1));
+    assertThat(clientSearchIndex.searchRanked("arya", 10)).isEmpty();
+  }
+
+  private Client client(final int id, final String firstName, final String mobileNumber, final String idNumber) {
+    var client = new Client();
+    client.setClientId(id);
+    client.setFirstName(firstName);
+    client.setLastName("Snow");
+    client.setMobileNumber(mobileNumber);
+    client.setIdNumber(idNumber);
+    return client;
+  }
+}
@@ -0,0 +1,193 @@
+package com.assessment.ClientManagementSystem.api.service.uniqueness;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientSummary;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.List.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ClientUniquenessGuardTest {
+
+  private ClientRepository clientRepository;
+  private ClientUniquenessGuard clientUniquenessGuard;
+
+  @BeforeEach
+  public void setUp() {
+    clientRepository = mock(ClientRepository.class);
+    clientUniquenessGuard = new ClientUniquenessGuard(clientRepository, 2);
+    clientUniquenessGuard.register(client(1, "8001015009087", "0820000001"));
+  }
+
+  @Test
+  public void reserveWhenEitherNumberIsTakenShouldReturnNull() {
+    assertThat(clientUniquenessGuard.reserve("8001015009087", "0820000009")).isNull();
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000001")).isNull();
+    assertThat(clientUniquenessGuard.reserve(" 8001015009087 ", "0820000009")).isNull();
+  }
+
+  @Test
+  public void closeWithoutConfirmShouldReleaseNumbers() {
+    //Given
+    var reservation = clientUniquenessGuard.reserve("8001015009186", "0820000002");
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000003")).isNull();
+
+    //When
+    reservation.close();
+
+    //Then
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000003")).isNotNull();
+  }
+
+  @Test
+  public void confirmShouldKeepNumbersAfterClose() {
+    //Given
+    var reservation = clientUniquenessGuard.reserve("8001015009186", "0820000002");
+
+    //When
+    reservation.confirm(2);
+    reservation.close();
+
+    //Then
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000003")).isNull();
+  }
+
+  @Test
+  public void reserveForEditShouldKeepOwnNumbersAndReleasePreviousOnes() {
+    //Given
+    var client = client(1, "8001015009087", "0820000001");
+
+    //When
+    var reservation = clientUniquenessGuard.reserve(client.getClientId(), "8001015009087", "0820000002");
+    reservation.confirm(client);
+
+    //Then
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000001")).isNotNull();
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000002")).isNull();
+    assertThat(clientUniquenessGuard.reserve(2, "8001015009087", "0820000003")).isNull();
+  }
+
+  @Test
+  public void reserveForEditShouldSkipNumbersThatAreNotChanging() {
+    //Given
+    var client = client(1, "8001015009087", "0820000001");
+
+    //When
+    var reservation = clientUniquenessGuard.reserve(client.getClientId(), null, "0820000002");
+    reservation.confirm(client);
+
+    //Then
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000001")).isNotNull();
+    assertThat(clientUniquenessGuard.reserve("8001015009087", "0820000003")).isNull();
+    assertThat(clientUniquenessGuard.reserve(2, null, "0820000002")).isNull();
+  }
+
+  @Test
+  public void editsConfirmedOutOfOrderShouldReleaseNumbersMovedAwayFrom() {
+    //Given
+    var first = clientUniquenessGuard.reserve(1, "8001015009186", null);
+    var second = clientUniquenessGuard.reserve(1, "8001015009285", null);
+
+    //When
+    second.confirm(version(client(1, "8001015009186", "0820000001"), 1L));
+    first.confirm(version(client(1, "8001015009087", "0820000001"), 0L));
+
+    //Then
+    assertThat(clientUniquenessGuard.reserve("8001015009087", "0820000011")).isNotNull();
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000012")).isNotNull();
+    assertThat(clientUniquenessGuard.reserve("8001015009285", "0820000013")).isNull();
+  }
+
+  @Test
+  public void editsSwappingIdNumberBackConfirmedOutOfOrderShouldKeepTheLatest() {
+    //Given
+    var first = clientUniquenessGuard.reserve(1, "8001015009186", null);
+    var second = clientUniquenessGuard.reserve(1, "8001015009087", null);
+
+    //When
+    second.confirm(version(client(1, "8001015009186", "0820000001"), 1L));
+    first.confirm(version(client(1, "8001015009087", "0820000001"), 0L));
+
+    //Then
+    assertThat(clientUniquenessGuard.reserve("8001015009087", "0820000011")).isNull();
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000012")).isNotNull();
+  }
+
+  @Test
+  public void concurrentReservationsOfSameNumberShouldHaveOneWinner() throws Exception {
+    //Given
+    var threads = 16;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    var start = new CountDownLatch(1);
+    var results = new ArrayList<Future<Boolean>>();
+
+    //When
+    try {
+      for (int i = 0; i < threads; i++) {
+        var mobileNumber = String.format("08300000%02d", i);
+        results.add(executor.submit(() -> {
+          start.await();
+          return clientUniquenessGuard.reserve("9202204720182", mobileNumber) != null;
+        }));
+      }
+      start.countDown();
+      var winners = 0;
+      for (Future<Boolean> result : results) {
+        if (result.get(10, TimeUnit.SECONDS)) {
+          winners++;
+        }
+      }
+
+      //Then
+      assertThat(winners).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void loadShouldWalkTheTableInBatches() {
+    //Given
+    given(clientRepository.findSummariesAfter(0, PageRequest.of(0, 2)))
+        .willReturn(of(summary(3, "8001015009186", "0820000003"), summary(4, "9202204720182", "0820000004")));
+    given(clientRepository.findSummariesAfter(4, PageRequest.of(0, 2)))
+        .willReturn(of(summary(5, "8001015009285", "0820000005")));
+
+    //When
+    clientUniquenessGuard.load();
+
+    //Then
+    assertThat(clientUniquenessGuard.reserve("8001015009186", "0820000099")).isNull();
+    assertThat(clientUniquenessGuard.reserve("8001015009384", "0820000005")).isNull();
+    assertThat(clientUniquenessGuard.reserve("8001015009384", "0820000099")).isNotNull();
+  }
+
+  private Client client(final Integer clientId, final String idNumber, final String mobileNumber) {
+    var client = new Client();
+    client.setClientId(clientId);
+    client.setIdNumber(idNumber);
+    client.setMobileNumber(mobileNumber);
+    return client;
+  }
+
+  private Client version(final Client client, final Long version) {
+    client.setVersion(version);
+    return client;
+  }
+
+  private ClientSummary summary(final Integer clientId, final String idNumber, final String mobileNumber) {
+    return new ClientSummary(clientId, "John", "Snow", idNumber, mobileNumber, "Home");
+  }
+}
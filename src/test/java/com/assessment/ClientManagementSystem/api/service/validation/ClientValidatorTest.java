@@ -0,0 +1,81 @@
+package com.assessment.ClientManagementSystem.api.service.validation;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientValidatorTest {
+
+  private final ClientValidator clientValidator = new ClientValidator();
+
+  @Test
+  public void validateWhenRequestIsValidShouldReturnSharedValidResult() {
+    var result = clientValidator.validate(getDefaultClientCreateRequest());
+
+    assertTrue(result.isValid());
+    assertSame(ValidationResult.valid(), result);
+  }
+
+  @Test
+  public void validateShouldCollectOneErrorPerInvalidField() {
+    var request = new ClientCreateRequest();
+    request.setIdNumber("12345");
+    request.setMobileNumber("08A");
+
+    var result = clientValidator.validate(request);
+
+    assertFalse(result.isValid());
+    assertThat(result.getErrors()).containsExactly(
+        new FieldError(ClientValidator.FIRST_NAME, "Firstname cannot be null or empty"),
+        new FieldError(ClientValidator.LAST_NAME, "Lastname cannot be null or empty"),
+        new FieldError(ClientValidator.ID_NUMBER, "ID Number length should be 13"),
+        new FieldError(ClientValidator.MOBILE_NUMBER, "Mobile Number cannot contain alpha numerics"));
+    assertEquals("Firstname cannot be null or empty", result.getFirstMessage());
+  }
+
+  @Test
+  public void validatePatchShouldOnlyCheckSuppliedFields() {
+    var request = new ClientCreateRequest();
+    request.setLastName(" ");
+    request.setMobileNumber("08A");
+
+    var result = clientValidator.validatePatch(request);
+
+    assertThat(result.getErrors()).containsExactly(
+        new FieldError(ClientValidator.LAST_NAME, "Lastname cannot be null or empty"),
+        new FieldError(ClientValidator.MOBILE_NUMBER, "Mobile Number cannot contain alpha numerics"));
+  }
+
+  @Test
+  public void isDigitsShouldOnlyAcceptAsciiDigits() {
+    assertTrue(ClientValidator.isDigits("0123456789"));
+    assertFalse(ClientValidator.isDigits(""));
+    assertFalse(ClientValidator.isDigits("12 3"));
+    assertFalse(ClientValidator.isDigits("١٢٣"));
+  }
+
+  @Test
+  public void isValidSouthAfricanIdNumberShouldCheckDateCitizenshipAndLuhnDigit() {
+    assertTrue(ClientValidator.isValidSouthAfricanIdNumber("8001015009087"));
+    assertTrue(ClientValidator.isValidSouthAfricanIdNumber("9202204720182"));
+    assertFalse(ClientValidator.isValidSouthAfricanIdNumber("8001015009088"));
+    assertFalse(ClientValidator.isValidSouthAfricanIdNumber("8013015009087"));
+    assertFalse(ClientValidator.isValidSouthAfricanIdNumber("8002305009087"));
+    assertFalse(ClientValidator.isValidSouthAfricanIdNumber("8001015009285"));
+  }
+
+  private ClientCreateRequest getDefaultClientCreateRequest() {
+    var request = new ClientCreateRequest();
+    request.setFirstName("John");
+    request.setLastName("Snow");
+    request.setMobileNumber("0820000000");
+    request.setIdNumber("8001015009087");
+    request.setPhysicalAddress("Home");
+    return request;
+  }
+}
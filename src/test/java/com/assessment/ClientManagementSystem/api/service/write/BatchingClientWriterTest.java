@@ -0,0 +1,216 @@
+package com.assessment.ClientManagementSystem.api.service.write;
+
+import com.assessment.ClientManagementSystem.api.controller.model.ClientCreateRequest;
+import com.assessment.ClientManagementSystem.api.controller.model.ClientModel;
+import com.assessment.ClientManagementSystem.api.exception.InvalidFieldException;
+import com.assessment.ClientManagementSystem.api.repository.ClientRepository;
+import com.assessment.ClientManagementSystem.api.repository.entity.Client;
+import com.assessment.ClientManagementSystem.api.repository.entity.ClientChange;
+import com.assessment.ClientManagementSystem.api.service.ClientService;
+import com.assessment.ClientManagementSystem.api.service.changes.ClientChangeLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {
+    "client.write.mode=batched",
+    "client.write.batch-size=10",
+    "client.write.max-delay=200ms"})
+public class BatchingClientWriterTest {
+
+  @Autowired
+  private ClientService clientService;
+
+  @Autowired
+  private ClientRepository clientRepository;
+
+  @Autowired
+  private BatchingClientWriter batchingClientWriter;
+
+  @Autowired
+  private ClientChangeLog clientChangeLog;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  public void concurrentCreatesShouldBeCommittedTogether() throws Exception {
+    //Given
+    var requests = new ArrayList<ClientCreateRequest>();
+    for (int i = 0; i < 10; i++) {
+      requests.add(request(100 + i));
+    }
+
+    //When
+    var results = createConcurrently(requests);
+
+    //Then
+    var ids = new ArrayList<Integer>();
+    for (Future<ClientModel> result : results) {
+      ids.add(result.get().getClientId());
+    }
+    assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+    assertThat(clientRepository.findAllById(ids)).hasSize(10);
+    assertThat(meterRegistry.get("client.write.batch.size").summary().max()).isGreaterThan(1.0);
+  }
+
+  @Test
+  public void duplicateInBatchShouldOnlyFailItsOwnCaller() throws Exception {
+    //Given
+    var first = request(200);
+    var duplicate = request(201);
+    duplicate.setIdNumber(first.getIdNumber());
+    var other = request(202);
+
+    //When
+    var results = createConcurrently(List.of(first, duplicate, other));
+
+    //Then
+    var failures = 0;
+    for (Future<ClientModel> result : results) {
+      try {
+        result.get();
+      } catch (ExecutionException e) {
+        assertThat(e.getCause()).isInstanceOf(InvalidFieldException.class);
+        failures++;
+      }
+    }
+    assertEquals(1, failures);
+    assertThat(clientRepository.findExistingMobileNumbers(List.of(other.getMobileNumber()))).hasSize(1);
+  }
+
+  @Test
+  public void patchShouldKeepOmittedFieldsAndRecordItsChange() throws Exception {
+    //Given
+    var created = clientService.createClient(request(500));
+    var since = clientChangeLog.getLastSequenceNumber();
+    var changes = new Client();
+    changes.setClientId(created.getClientId());
+    changes.setLastName("Stark");
+
+    //When
+    var patched = batchingClientWriter.patch(changes, List.of(created.getVersion())).orElseThrow();
+    var stale = batchingClientWriter.patch(changes, List.of(created.getVersion()));
+
+    //Then
+    assertEquals("Snow", patched.previous().getLastName());
+    assertEquals("John", patched.updated().getFirstName());
+    assertEquals("Stark", patched.updated().getLastName());
+    assertEquals(created.getVersion() + 1, patched.updated().getVersion());
+    assertThat(stale).isEmpty();
+    assertThat(clientChangeLog.changesAfter(since, 10, Duration.ZERO).get())
+        .extracting(ClientChange::getClientId, ClientChange::getVersion)
+        .containsExactly(tuple(created.getClientId(), created.getVersion() + 1));
+  }
+
+  @Test
+  public void committedBatchShouldRecordItsChanges() throws Exception {
+    //Given
+    var since = clientChangeLog.getLastSequenceNumber();
+    var requests = List.of(request(400), request(401), request(402));
+
+    //When
+    var results = createConcurrently(requests);
+
+    //Then
+    var ids = new ArrayList<Integer>();
+    for (Future<ClientModel> result : results) {
+      ids.add(result.get().getClientId());
+    }
+    assertThat(clientChangeLog.changesAfter(since, 10, Duration.ZERO).get())
+        .extracting(ClientChange::getClientId)
+        .containsExactlyInAnyOrderElementsOf(ids);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void batchedModeWithLogStorageShouldBeRefused() {
+    //Given
+    ObjectProvider<PlatformTransactionManager> transactionManager = mock(ObjectProvider.class);
+    given(transactionManager.getIfAvailable()).willReturn(mock(PlatformTransactionManager.class));
+
+    //When
+    var thrown = catchThrowable(() -> new BatchingClientWriter(clientRepository, mock(ObjectProvider.class),
+        transactionManager, meterRegistry, "log", 10, Duration.ofMillis(200), 100));
+
+    //Then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageContaining("client.storage=database");
+  }
+
+  private List<Future<ClientModel>> createConcurrently(final List<ClientCreateRequest> requests) {
+    var executor = Executors.newFixedThreadPool(requests.size());
+    try {
+      var start = new CountDownLatch(1);
+      var results = new ArrayList<Future<ClientModel>>();
+      for (ClientCreateRequest request : requests) {
+        Callable<ClientModel> create = () -> {
+          start.await();
+          return clientService.createClient(request);
+        };
+        results.add(executor.submit(create));
+      }
+      start.countDown();
+      return results;
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private ClientCreateRequest request(final int i) {
+    var request = new ClientCreateRequest();
+    request.setFirstName("John");
+    request.setLastName("Snow");
+    request.setIdNumber(idNumber(i));
+    request.setMobileNumber(String.format("082%07d", i));
+    request.setPhysicalAddress("Home");
+    return request;
+  }
+
+  /**
+   * A valid South African ID number for 1 January 1980 with sequence number {@code i}.
+   */
+  private static String idNumber(final int i) {
+    var prefix = String.format("800101%04d08", i);
+    for (int check = 0; check < 10; check++) {
+      var candidate = prefix + check;
+      if (luhnSum(candidate) % 10 == 0) {
+        return candidate;
+      }
+    }
+    throw new IllegalStateException();
+  }
+
+  private static int luhnSum(final String digits) {
+    var sum = 0;
+    for (int i = 0; i < digits.length(); i++) {
+      var d = digits.charAt(digits.length() - 1 - i) - '0';
+      if ((i & 1) == 1) {
+        d *= 2;
+        if (d > 9) {
+          d -= 9;
+        }
+      }
+      sum += d;
+    }
+    return sum;
+  }
+}